@@ -7,7 +7,12 @@
 package org.hibernate.search.backend.jgroups.impl;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
 
+import org.hibernate.search.backend.jgroups.logging.impl.Log;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
 import org.jgroups.Address;
 import org.jgroups.Message;
 import org.jgroups.View;
@@ -22,11 +27,25 @@
  * <p>Limitation: make sure all nodes in the group are having the same application running
  * and use the same configuration, or the master might ignore incoming messages.</p>
  *
+ * <p>Each shard of a sharded index has its own selector, so different shards are usually owned
+ * by different nodes. By default the master is picked by the hash of the index name modulo the
+ * amount of members other than the coordinator, which moves most indexes to another master on each
+ * view change; with the {@code consistent} selection, rendezvous hashing over all members, the coordinator
+ * included, keeps the master of an index unless it left the cluster, or unless a joining node takes it over.</p>
+ *
+ * @see JGroupsBackendQueueProcessor#MASTER_SELECTION
+ *
  * @author Sanne Grinovero (C) 2012 Red Hat Inc.
  */
 public class AutoNodeSelector implements NodeSelectorStrategy {
 
+	private static final Log log = LoggerFactory.make( Log.class );
+
+	private static final String MODULO_SELECTION = "modulo";
+	private static final String CONSISTENT_SELECTION = "consistent";
+
 	private final String indexName;
+	private volatile boolean consistent;
 	private volatile Address localAddress;
 	private volatile Address masterAddress;
 
@@ -47,10 +66,30 @@ public void setLocalAddress(Address address) {
 		localAddress = address;
 	}
 
+	@Override
+	public void configure(Properties jgroupsProperties) {
+		String selection = ConfigurationParseHelper.getString( jgroupsProperties,
+				JGroupsBackendQueueProcessor.MASTER_SELECTION, MODULO_SELECTION ).trim().toLowerCase( Locale.ROOT );
+		if ( CONSISTENT_SELECTION.equals( selection ) ) {
+			consistent = true;
+		}
+		else if ( MODULO_SELECTION.equals( selection ) ) {
+			consistent = false;
+		}
+		else {
+			throw log.unknownMasterSelection( selection, indexName );
+		}
+	}
+
 	@Override
 	public void viewAccepted(View view) {
 		List<Address> members = view.getMembers();
-		if ( members.size() == 1 ) {
+		if ( consistent ) {
+			// the coordinator is a candidate too: excluding it would move its shards when it leaves
+			// and the next member becomes the coordinator
+			masterAddress = highestWeightMember( members );
+		}
+		else if ( members.size() == 1 ) {
 			masterAddress = members.get( 0 );
 		}
 		else if ( members.size() == 2 ) {
@@ -65,9 +104,44 @@ else if ( members.size() == 2 ) {
 		}
 	}
 
+	/**
+	 * Rendezvous hashing: each member gets a pseudo-random weight for this index,
+	 * and the member with the highest weight owns it.
+	 */
+	private Address highestWeightMember(List<Address> candidates) {
+		final int indexHash = indexName.hashCode();
+		Address selected = null;
+		long selectedWeight = 0;
+		for ( Address candidate : candidates ) {
+			long weight = weight( indexHash, candidate.hashCode() );
+			if ( selected == null || weight > selectedWeight
+					|| weight == selectedWeight && candidate.compareTo( selected ) > 0 ) {
+				selected = candidate;
+				selectedWeight = weight;
+			}
+		}
+		return selected;
+	}
+
+	private static long weight(int indexHash, int memberHash) {
+		// finalizer of MurmurHash3, so that close hashes get unrelated weights
+		long h = ( (long) indexHash << 32 ) | ( memberHash & 0xFFFFFFFFL );
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
 	@Override
 	public Message createMessage(byte[] data) {
 		return new Message( null, localAddress, data );
 	}
 
+	@Override
+	public Address getMasterAddress() {
+		return masterAddress;
+	}
+
 }
@@ -51,12 +51,22 @@ public final class DispatchMessageSender implements MessageSenderService, Starta
 	public static final String CLASSLOADER = JGROUPS_PREFIX + "classloader";
 	public static final String MUX_ID = JGROUPS_PREFIX + "mux_id";
 
+	/**
+	 * When set to a positive value, the master node applies the works received from slaves
+	 * on a dedicated thread per index rather than on the JGroups delivery thread, queueing
+	 * up to this amount of messages per index. When the queue of an index is full, the delivery
+	 * of further messages waits for room in the queue.
+	 * Disabled by default.
+	 */
+	public static final String APPLY_QUEUE_SIZE = JGROUPS_PREFIX + "apply_queue_size";
+
 	private static final String DEFAULT_JGROUPS_CONFIGURATION_FILE = "flush-udp.xml";
 	private static final String DEFAULT_CLUSTER_NAME = "Hibernate Search Cluster";
 
 	private ChannelContainer channelContainer;
 	private ServiceManager serviceManager;
 	private MessageDispatcher dispatcher;
+	private MasterApplyQueues applyQueues;
 
 	@Override
 	public Address getAddress() {
@@ -106,7 +116,12 @@ public void start(Properties props, BuildContext context) {
 
 		NodeSelectorService masterNodeSelector = serviceManager.requestService( NodeSelectorService.class );
 		LuceneWorkSerializer luceneWorkSerializer = serviceManager.requestService( LuceneWorkSerializer.class );
-		JGroupsMasterMessageListener listener = new JGroupsMasterMessageListener( context, masterNodeSelector, luceneWorkSerializer );
+		ClassLoader cl = props == null ? null : (ClassLoader) props.get( CLASSLOADER );
+		int applyQueueSize = props == null ? 0 : ConfigurationParseHelper.getIntValue( props, APPLY_QUEUE_SIZE, 0 );
+		if ( applyQueueSize > 0 ) {
+			applyQueues = new MasterApplyQueues( applyQueueSize, cl );
+		}
+		JGroupsMasterMessageListener listener = new JGroupsMasterMessageListener( context, masterNodeSelector, luceneWorkSerializer, applyQueues );
 
 		JChannel channel = channelContainer.getChannel();
 
@@ -122,14 +137,16 @@ public void start(Properties props, BuildContext context) {
 				throw log.jGroupsMuxIdAlreadyTaken( muxId );
 			}
 
-			ClassLoader cl = (ClassLoader) props.get( CLASSLOADER );
 			MessageListener wrapper = ( cl != null ) ? new ClassloaderMessageListener( listener, cl ) : listener;
-			MessageListenerToRequestHandlerAdapter adapter = new MessageListenerToRequestHandlerAdapter( wrapper );
-			dispatcher = new MuxMessageDispatcher( muxId, channel, wrapper, listener, adapter );
+			MasterRequestHandler requestHandler = new MasterRequestHandler( wrapper, listener );
+			dispatcher = new MuxMessageDispatcher( muxId, channel, wrapper, listener, requestHandler );
 		}
 		else {
-			MessageListenerToRequestHandlerAdapter adapter = new MessageListenerToRequestHandlerAdapter( listener );
-			dispatcher = new MessageDispatcher( channel, listener, listener, adapter );
+			MasterRequestHandler requestHandler = new MasterRequestHandler( listener, listener );
+			dispatcher = new MessageDispatcher( channel, listener, listener, requestHandler );
+		}
+		if ( applyQueues != null ) {
+			dispatcher.asyncDispatching( true );
 		}
 
 		masterNodeSelector.setLocalAddress( channel.getAddress() );
@@ -144,10 +161,16 @@ public void start(Properties props, BuildContext context) {
 
 	@Override
 	public void stop() {
+		// stop the delivery of messages first, so that no more works are submitted to the apply queues
+		dispatcher.stop();
+		// the queued works are still applied with the serializer: release it afterwards
+		if ( applyQueues != null ) {
+			applyQueues.stop();
+			applyQueues = null;
+		}
 		serviceManager.releaseService( NodeSelectorService.class );
 		serviceManager.releaseService( LuceneWorkSerializer.class );
 		serviceManager = null;
-		dispatcher.stop();
 		try {
 			if ( channelContainer != null ) {
 				channelContainer.close();
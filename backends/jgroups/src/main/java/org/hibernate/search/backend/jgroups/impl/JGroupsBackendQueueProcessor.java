@@ -73,6 +73,53 @@ public class JGroupsBackendQueueProcessor implements BackendQueueProcessor {
 	 */
 	public static final int DEFAULT_MESSAGE_TIMEOUT = 20000;
 
+	/**
+	 * When set to a positive value, slave nodes coalesce the works of the transactions
+	 * targeting this index during the given time window into a single message to the master.
+	 * When the backend blocks waiting for acknowledgements, each transaction waits
+	 * for the batch it belongs to to be acknowledged. Value interpreted in milliseconds.
+	 */
+	public static final String BATCH_WINDOW_MS = "batch_window";
+
+	/**
+	 * Default value for the {@link #BATCH_WINDOW_MS} configuration property: batching is disabled.
+	 */
+	public static final int DEFAULT_BATCH_WINDOW = 0;
+
+	/**
+	 * The amount of works which, once reached, triggers the sending of a batch
+	 * before the end of its time window. Only relevant when {@link #BATCH_WINDOW_MS} is set.
+	 */
+	public static final String BATCH_MAX_WORKS = "batch_max_works";
+
+	/**
+	 * Default value for the {@link #BATCH_MAX_WORKS} configuration property.
+	 */
+	public static final int DEFAULT_BATCH_MAX_WORKS = 1000;
+
+	/**
+	 * When set to a positive value, slave nodes keep the works they sent during this time window,
+	 * and send them again when the master node of the index changes, as the former master might not
+	 * have applied them. Works are dropped as soon as the master acknowledges them, so replay requires
+	 * {@link #BLOCK_WAITING_ACK} to be enabled. Value interpreted in milliseconds.
+	 */
+	public static final String REPLAY_WINDOW_MS = "replay_window";
+
+	/**
+	 * Default value for the {@link #REPLAY_WINDOW_MS} configuration property: replay is disabled.
+	 */
+	public static final int DEFAULT_REPLAY_WINDOW = 0;
+
+	/**
+	 * How the {@code jgroups} backend picks the master node of each index, or of each shard of a sharded index:
+	 * {@code modulo} or {@code consistent}. With {@code consistent}, the index is assigned by rendezvous hashing
+	 * over the members of the cluster, so that only the indexes owned by a node leaving the cluster,
+	 * or a fair share of indexes for a node joining it, change master. All nodes must use the same value.
+	 *
+	 * @see AutoNodeSelector
+	 */
+	public static final String MASTER_SELECTION = "master_selection";
+
 	private static final Log log = LoggerFactory.make( Log.class );
 
 	private final NodeSelectorStrategy selectionStrategy;
@@ -84,7 +131,12 @@ public class JGroupsBackendQueueProcessor implements BackendQueueProcessor {
 	private ServiceManager serviceManager;
 
 	private JGroupsBackendQueueTask jgroupsProcessor;
-	private BackendQueueProcessor delegatedBackend;
+	private volatile BackendQueueProcessor delegatedBackend;
+
+	//needed to create the delegated backend when the ownership of the index is gained
+	private Properties props;
+	private WorkerBuildContext context;
+	private IndexManager indexManager;
 
 	public JGroupsBackendQueueProcessor(NodeSelectorStrategy selectionStrategy) {
 		this.selectionStrategy = selectionStrategy;
@@ -93,37 +145,73 @@ public JGroupsBackendQueueProcessor(NodeSelectorStrategy selectionStrategy) {
 	@Override
 	public void initialize(Properties props, WorkerBuildContext context, IndexManager indexManager) {
 		this.indexName = indexManager.getIndexName();
+		this.props = props;
+		this.context = context;
+		this.indexManager = indexManager;
 		assertLegacyOptionsNotUsed( props, indexName );
 		serviceManager = context.getServiceManager();
 		this.messageSender = serviceManager.requestService( MessageSenderService.class );
+		final Properties jgroupsProperties = new MaskedProperty( props, JGROUPS_CONFIGURATION_SPACE );
+		selectionStrategy.configure( jgroupsProperties );
 		NodeSelectorService masterNodeSelector = serviceManager.requestService( NodeSelectorService.class );
 		masterNodeSelector.setNodeSelectorStrategy( indexName, selectionStrategy );
 		selectionStrategy.viewAccepted( messageSender.getView() ); // set current view?
 
 		final boolean sync = BackendFactory.isConfiguredAsSync( props );
-		final Properties jgroupsProperties = new MaskedProperty( props, JGROUPS_CONFIGURATION_SPACE );
 		final boolean block = ConfigurationParseHelper.getBooleanValue( jgroupsProperties, BLOCK_WAITING_ACK, sync );
 
 		final long messageTimeout = ConfigurationParseHelper.getLongValue( jgroupsProperties, MESSAGE_TIMEOUT_MS, DEFAULT_MESSAGE_TIMEOUT );
+		final long batchWindow = ConfigurationParseHelper.getLongValue( jgroupsProperties, BATCH_WINDOW_MS, DEFAULT_BATCH_WINDOW );
+		final int batchMaxWorks = ConfigurationParseHelper.getIntValue( jgroupsProperties, BATCH_MAX_WORKS, DEFAULT_BATCH_MAX_WORKS );
+		final long replayWindow = ConfigurationParseHelper.getLongValue( jgroupsProperties, REPLAY_WINDOW_MS, DEFAULT_REPLAY_WINDOW );
+		if ( replayWindow > 0 && !block ) {
+			throw log.replayRequiresBlockingForAck( indexName );
+		}
 
 		log.jgroupsBlockWaitingForAck( indexName, block );
 		LuceneWorkSerializer luceneWorkSerializer = serviceManager.requestService( LuceneWorkSerializer.class );
 
-		jgroupsProcessor = new JGroupsBackendQueueTask( this, indexManager, masterNodeSelector, luceneWorkSerializer, block, messageTimeout );
+		jgroupsProcessor = new JGroupsBackendQueueTask( this, indexManager, masterNodeSelector, luceneWorkSerializer, block, messageTimeout,
+				batchWindow, batchMaxWorks, replayWindow );
 
 		if ( selectionStrategy.isIndexOwnerLocal() ) {
-			String backend = ConfigurationParseHelper.getString( jgroupsProperties, DELEGATE_BACKEND, "local" );
-			delegatedBackend = BackendFactory.createBackend( backend, indexManager, context, props );
+			delegatedBackend = createDelegatedBackend();
+		}
+	}
+
+	private BackendQueueProcessor createDelegatedBackend() {
+		final Properties jgroupsProperties = new MaskedProperty( props, JGROUPS_CONFIGURATION_SPACE );
+		String backend = ConfigurationParseHelper.getString( jgroupsProperties, DELEGATE_BACKEND, "local" );
+		return BackendFactory.createBackend( backend, indexManager, context, props );
+	}
+
+	/**
+	 * @return the backend applying the works locally, created on first use when
+	 * the local node became the master after a view change
+	 */
+	private BackendQueueProcessor getOrCreateDelegatedBackend() {
+		BackendQueueProcessor backend = delegatedBackend;
+		if ( backend == null ) {
+			synchronized ( this ) {
+				backend = delegatedBackend;
+				if ( backend == null ) {
+					log.becameIndexOwner( indexName );
+					backend = createDelegatedBackend();
+					delegatedBackend = backend;
+				}
+			}
 		}
+		return backend;
 	}
 
 	@Override
 	public void close() {
+		jgroupsProcessor.close();
 		serviceManager.releaseService( NodeSelectorService.class );
 		serviceManager.releaseService( MessageSenderService.class );
 		serviceManager.releaseService( LuceneWorkSerializer.class );
 
-		if ( selectionStrategy.isIndexOwnerLocal() ) {
+		if ( delegatedBackend != null ) {
 			//TODO verify all delegates have been closed when ownership was lost before [HSEARCH-2060]
 			delegatedBackend.close();
 		}
@@ -148,7 +236,7 @@ public Address getAddress() {
 	@Override
 	public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
 		if ( selectionStrategy.isIndexOwnerLocal() ) {
-			delegatedBackend.applyWork( workList, monitor );
+			getOrCreateDelegatedBackend().applyWork( workList, monitor );
 		}
 		else {
 			if ( workList == null ) {
@@ -161,7 +249,7 @@ public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
 	@Override
 	public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
 		if ( selectionStrategy.isIndexOwnerLocal() ) {
-			delegatedBackend.applyStreamWork( singleOperation, monitor );
+			getOrCreateDelegatedBackend().applyStreamWork( singleOperation, monitor );
 		}
 		else {
 			//TODO optimize for single operation?
@@ -8,14 +8,24 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.OptimizeLuceneWork;
 import org.hibernate.search.backend.jgroups.logging.impl.Log;
+import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
 import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.impl.WorkListBatcher;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 import org.jgroups.Message;
+import org.jgroups.View;
 
 /**
  * Responsible for sending Lucene works from slave nodes to master node
@@ -34,15 +44,47 @@ public class JGroupsBackendQueueTask {
 	private final LuceneWorkSerializer luceneWorkSerializer;
 	private final boolean blockForACK; //true by default if this backend is synchronous
 	private final long messageTimeout;
+	private final WorkListBatcher batcher; //null when batching is disabled
+
+	//all null when replay is disabled
+	private final ReplayBuffer replayBuffer;
+	private final ReentrantReadWriteLock replayLock;
+	private final ScheduledExecutorService replayChecker;
 
 	public JGroupsBackendQueueTask(JGroupsBackendQueueProcessor factory, IndexManager indexManager,
 			NodeSelectorService masterNodeSelector, LuceneWorkSerializer luceneWorkSerializer, boolean blockForACK, long messageTimeout) {
+		this( factory, indexManager, masterNodeSelector, luceneWorkSerializer, blockForACK, messageTimeout, 0, 0, 0 );
+	}
+
+	public JGroupsBackendQueueTask(JGroupsBackendQueueProcessor factory, IndexManager indexManager,
+			NodeSelectorService masterNodeSelector, LuceneWorkSerializer luceneWorkSerializer, boolean blockForACK, long messageTimeout,
+			long batchWindowMs, int batchMaxWorks, long replayWindowMs) {
 		this.factory = factory;
 		this.blockForACK = blockForACK;
 		this.messageTimeout = messageTimeout;
 		this.indexName = indexManager.getIndexName();
 		this.masterNodeSelector = masterNodeSelector.getMasterNodeSelector( indexName );
 		this.luceneWorkSerializer = luceneWorkSerializer;
+		if ( batchWindowMs > 0 && batchMaxWorks > 1 ) {
+			this.batcher = new WorkListBatcher( this::sendBatch, "JGroups batching for index " + indexName, batchWindowMs, batchMaxWorks );
+		}
+		else {
+			this.batcher = null;
+		}
+		if ( replayWindowMs > 0 ) {
+			this.replayBuffer = new ReplayBuffer( indexName, this.masterNodeSelector, replayWindowMs );
+			this.replayBuffer.start( currentView() );
+			this.replayLock = new ReentrantReadWriteLock();
+			// don't wait for the next transaction to notice a new master, as the works might expire by then
+			this.replayChecker = Executors.newScheduledThreadPool( "JGroups replay for index " + indexName );
+			long checkPeriod = Math.max( replayWindowMs / 10, 10 );
+			this.replayChecker.scheduleWithFixedDelay( this::replayStaleWorks, checkPeriod, checkPeriod, TimeUnit.MILLISECONDS );
+		}
+		else {
+			this.replayBuffer = null;
+			this.replayLock = null;
+			this.replayChecker = null;
+		}
 	}
 
 	public void sendLuceneWorkList(List<LuceneWork> queue) {
@@ -71,6 +113,101 @@ public void sendLuceneWorkList(List<LuceneWork> queue) {
 			}
 			return;
 		}
+		if ( batcher == null ) {
+			send( filteredQueue );
+		}
+		else {
+			CompletableFuture<Void> sent = batcher.enqueue( filteredQueue );
+			if ( blockForACK ) {
+				awaitBatch( sent );
+			}
+		}
+	}
+
+	private void sendBatch(List<LuceneWork> batch) {
+		try {
+			send( batch );
+		}
+		catch (RuntimeException e) {
+			if ( !blockForACK ) {
+				// nobody is waiting for this batch: don't lose the failure
+				log.unableToSendBatchViaJGroups( batch.size(), indexName, e );
+			}
+			throw e;
+		}
+	}
+
+	void send(List<LuceneWork> filteredQueue) {
+		if ( replayBuffer == null ) {
+			sendMessage( filteredQueue );
+			return;
+		}
+		Lock lock = replayLock.readLock();
+		lock.lock();
+		try {
+			// works sent to the former master go first, to preserve the order of the works
+			while ( replayBuffer.isStale( currentView() ) ) {
+				lock.unlock();
+				lock = null;
+				replayStaleWorks();
+				lock = replayLock.readLock();
+				lock.lock();
+			}
+			sendRecorded( filteredQueue );
+		}
+		finally {
+			if ( lock != null ) {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Sends the works which may not have been applied by the former master to the new one.
+	 */
+	private void replayStaleWorks() {
+		// checked periodically: don't make the senders wait for the write lock when the view didn't change
+		if ( !replayBuffer.isStale( currentView() ) ) {
+			return;
+		}
+		replayLock.writeLock().lock();
+		try {
+			// the stale works are not in the buffer anymore: don't let a failure skip the next ones
+			for ( List<LuceneWork> works : replayBuffer.takeStale( currentView() ) ) {
+				log.replayingWorks( works.size(), indexName );
+				try {
+					sendRecorded( works );
+				}
+				catch (RuntimeException e) {
+					log.unableToReplayWorks( works.size(), indexName, e );
+				}
+			}
+		}
+		finally {
+			replayLock.writeLock().unlock();
+		}
+	}
+
+	private void sendRecorded(List<LuceneWork> works) {
+		ReplayBuffer.Entry entry = replayBuffer.record( works, currentView() );
+		try {
+			sendMessage( works );
+		}
+		catch (SearchException e) {
+			if ( replayBuffer.isSentToFormerMaster( entry, currentView() ) ) {
+				// kept in the buffer, to be sent to the new master
+				log.unableToSendWorksWillReplay( indexName, e );
+				return;
+			}
+			// the master is still there and failed to apply or rejected the works: report it
+			replayBuffer.acknowledge( entry );
+			throw e;
+		}
+		replayBuffer.acknowledge( entry );
+	}
+
+	private void sendMessage(List<LuceneWork> filteredQueue) {
+		boolean trace = log.isTraceEnabled();
 		byte[] data = luceneWorkSerializer.toSerializedModel( filteredQueue );
 		data = MessageSerializationHelper.prependString( indexName, data );
 
@@ -86,6 +223,39 @@ public void sendLuceneWorkList(List<LuceneWork> queue) {
 		}
 	}
 
+	private View currentView() {
+		return factory.getMessageSenderService().getView();
+	}
+
+	private void awaitBatch(CompletableFuture<Void> sent) {
+		try {
+			sent.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw log.unableToSendWorkViaJGroups( e );
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof SearchException ) {
+				throw (SearchException) cause;
+			}
+			throw log.unableToSendWorkViaJGroups( cause );
+		}
+	}
+
+	/**
+	 * Sends the works still waiting to be batched, if any.
+	 */
+	public void close() {
+		if ( batcher != null ) {
+			batcher.close();
+		}
+		if ( replayChecker != null ) {
+			replayChecker.shutdownNow();
+		}
+	}
+
 	public boolean blocksForACK() {
 		return blockForACK;
 	}
@@ -8,6 +8,7 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.hibernate.search.backend.LuceneWork;
@@ -21,6 +22,7 @@
 import org.jgroups.Message;
 import org.jgroups.Receiver;
 import org.jgroups.View;
+import org.jgroups.blocks.Response;
 
 /**
  * A {@link Receiver} that listens for messages from slave nodes and apply them.
@@ -37,11 +39,18 @@ public class JGroupsMasterMessageListener implements Receiver {
 	private final BuildContext context;
 	private final NodeSelectorService selector;
 	private final LuceneWorkSerializer luceneWorkSerializer;
+	private final MasterApplyQueues applyQueues; //null when works are applied on the delivery thread
 
 	public JGroupsMasterMessageListener(BuildContext context, NodeSelectorService masterNodeSelector, LuceneWorkSerializer luceneWorkSerializer) {
+		this( context, masterNodeSelector, luceneWorkSerializer, null );
+	}
+
+	JGroupsMasterMessageListener(BuildContext context, NodeSelectorService masterNodeSelector, LuceneWorkSerializer luceneWorkSerializer,
+			MasterApplyQueues applyQueues) {
 		this.context = context;
 		this.selector = masterNodeSelector;
 		this.luceneWorkSerializer = luceneWorkSerializer;
+		this.applyQueues = applyQueues;
 	}
 
 	@Override
@@ -50,22 +59,101 @@ public void receive(Message message) {
 		final int bufferLength = message.getLength();
 		final byte[] rawBuffer = message.getRawBuffer();
 		final String indexName = MessageSerializationHelper.extractIndexName( offset, rawBuffer );
+		if ( isIndexOwnerLocal( indexName ) ) {
+			ByteBuffer serializedQueue = MessageSerializationHelper.wrapSerializedQueue( offset, bufferLength, rawBuffer );
+			applySerializedQueue( indexName, serializedQueue, message.getSrc() );
+		}
+		else {
+			ignoreMessage( indexName, message.getSrc() );
+		}
+	}
+
+	/**
+	 * Receives a message without blocking the delivery thread when the apply queues are enabled:
+	 * the response is only sent once the works have been applied, so that slaves waiting for
+	 * an acknowledgement keep the same guarantees. When the queue of the targeted index is full,
+	 * the delivery thread waits for room in the queue. Messages are only rejected once the master
+	 * is stopping, in which case the slave receives an exception in response.
+	 *
+	 * @param message the message received from a slave
+	 * @param response the response to send once the message has been handled, or {@code null} if the slave
+	 * doesn't wait for one
+	 */
+	void receive(Message message, Response response) {
+		if ( applyQueues == null ) {
+			try {
+				receive( message );
+				reply( response, null, false );
+			}
+			catch (RuntimeException e) {
+				reply( response, e, true );
+			}
+			return;
+		}
+		final int offset = message.getOffset();
+		final byte[] rawBuffer = message.getRawBuffer();
+		final String indexName = MessageSerializationHelper.extractIndexName( offset, rawBuffer );
+		if ( !isIndexOwnerLocal( indexName ) ) {
+			ignoreMessage( indexName, message.getSrc() );
+			reply( response, null, false );
+			return;
+		}
+		// the message owns its buffer, so it can still be read in place on the apply thread
+		final ByteBuffer serializedQueue = MessageSerializationHelper.wrapSerializedQueue( offset, message.getLength(), rawBuffer );
+		final Address source = message.getSrc();
+		boolean accepted = applyQueues.submit( indexName, () -> {
+			try {
+				applySerializedQueue( indexName, serializedQueue, source );
+				reply( response, null, false );
+			}
+			catch (RuntimeException e) {
+				reply( response, e, true );
+			}
+		} );
+		if ( !accepted ) {
+			log.masterStoppingWorksRejected( indexName, source );
+			reply( response, log.masterStopping( indexName ), true );
+		}
+	}
+
+	/**
+	 * Slaves which don't wait for an acknowledgement send their messages asynchronously,
+	 * in which case JGroups doesn't provide any response.
+	 */
+	private static void reply(Response response, Object reply, boolean isException) {
+		if ( response != null ) {
+			response.send( reply, isException );
+		}
+	}
+
+	private boolean isIndexOwnerLocal(String indexName) {
 		final NodeSelectorStrategy nodeSelector = selector.getMasterNodeSelector( indexName );
+		//nodeSelector can be null if we receive the message during shutdown
+		return nodeSelector != null && nodeSelector.isIndexOwnerLocal();
+	}
+
+	/**
+	 * Slaves broadcast their works, so the owner of the index receives them as well.
+	 * Works missed because the ownership moved while they were in flight are sent again
+	 * by the slaves when they notice the new master.
+	 *
+	 * @see JGroupsBackendQueueProcessor#REPLAY_WINDOW_MS
+	 */
+	private void ignoreMessage(String indexName, Address source) {
+		if ( log.isTraceEnabled() ) {
+			log.tracef( "Ignoring the works for index '%s' received from %s: the local node is not the master", indexName, source );
+		}
+	}
+
+	private void applySerializedQueue(String indexName, ByteBuffer serializedQueue, Address source) {
 		try {
-			//nodeSelector can be null if we receive the message during shutdown
-			if ( nodeSelector != null && nodeSelector.isIndexOwnerLocal() ) {
-				byte[] serializedQueue = MessageSerializationHelper.extractSerializedQueue( offset, bufferLength, rawBuffer );
-				final BackendQueueProcessor backendQueueProcessor = context.getAllIndexesManager().getBackendQueueProcessor( indexName );
-				if ( backendQueueProcessor != null ) {
-					final List<LuceneWork> queue = luceneWorkSerializer.toLuceneWorks( serializedQueue );
-					applyLuceneWorkLocally( queue, backendQueueProcessor, message );
-				}
-				else {
-					log.messageReceivedForUndefinedIndex( indexName );
-				}
+			final BackendQueueProcessor backendQueueProcessor = context.getAllIndexesManager().getBackendQueueProcessor( indexName );
+			if ( backendQueueProcessor != null ) {
+				final List<LuceneWork> queue = luceneWorkSerializer.toLuceneWorks( serializedQueue );
+				applyLuceneWorkLocally( queue, backendQueueProcessor, source );
 			}
 			else {
-				//TODO forward to new owner or log error
+				log.messageReceivedForUndefinedIndex( indexName );
 			}
 		}
 		catch (ClassCastException e) {
@@ -76,13 +164,13 @@ public void receive(Message message) {
 		}
 	}
 
-	private void applyLuceneWorkLocally(List<LuceneWork> queue, BackendQueueProcessor backendQueueProcessor, Message message) {
+	private void applyLuceneWorkLocally(List<LuceneWork> queue, BackendQueueProcessor backendQueueProcessor, Address source) {
 		if ( queue != null && !queue.isEmpty() ) {
 			if ( log.isDebugEnabled() ) {
 				log.debugf(
 						"There are %d Lucene docs received from slave node %s to be processed by master",
 						(Integer) queue.size(),
-						message.getSrc()
+						source
 				);
 			}
 			backendQueueProcessor.applyWork( queue, null );
@@ -0,0 +1,127 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.util.impl.SearchThreadFactory;
+
+/**
+ * Bounded queues of works received by the master node, one per index, each drained
+ * by a dedicated thread: a slow index no longer stalls the delivery of messages
+ * for the other indexes, and the order of the messages is preserved per index.
+ * <p>
+ * When the queue of an index is full, the thread submitting further tasks blocks until
+ * the queue has room again: the JGroups delivery thread then stops reading the messages
+ * of the slaves, which slows them down instead of losing their works.
+ *
+ * @see DispatchMessageSender#APPLY_QUEUE_SIZE
+ */
+final class MasterApplyQueues {
+
+	private final int queueSize;
+	private final ClassLoader classLoader; //null if the context class loader doesn't need to be set
+	private final ConcurrentMap<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+	private volatile boolean stopped = false;
+
+	MasterApplyQueues(int queueSize, ClassLoader classLoader) {
+		this.queueSize = queueSize;
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Blocks while the queue of the index is full.
+	 *
+	 * @param indexName the index targeted by the task
+	 * @param task the task applying the works to the index
+	 * @return {@code false} if the task was rejected because the queues are being stopped,
+	 * or because the current thread was interrupted while waiting for room in the queue
+	 */
+	boolean submit(String indexName, Runnable task) {
+		if ( stopped ) {
+			return false;
+		}
+		ThreadPoolExecutor executor = executors.computeIfAbsent( indexName, this::createExecutor );
+		try {
+			executor.execute( classLoader == null ? task : () -> runWithClassLoader( task ) );
+			return true;
+		}
+		catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	private ThreadPoolExecutor createExecutor(String indexName) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor( 1, 1, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>( queueSize ),
+				new SearchThreadFactory( "JGroups master apply for index " + indexName ),
+				MasterApplyQueues::waitForRoom );
+		// tasks might be added to the queue directly: make sure a thread drains it
+		executor.prestartAllCoreThreads();
+		return executor;
+	}
+
+	/**
+	 * Invoked by the executor when its queue is full.
+	 */
+	private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+		if ( executor.isShutdown() ) {
+			throw new RejectedExecutionException();
+		}
+		final BlockingQueue<Runnable> queue = executor.getQueue();
+		try {
+			queue.put( task );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException( e );
+		}
+		// the thread draining the queue might have ended if the queues were stopped in the meantime
+		if ( executor.isShutdown() && queue.remove( task ) ) {
+			throw new RejectedExecutionException();
+		}
+	}
+
+	private void runWithClassLoader(Runnable task) {
+		final Thread currentThread = Thread.currentThread();
+		final ClassLoader previous = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader( classLoader );
+		try {
+			task.run();
+		}
+		finally {
+			currentThread.setContextClassLoader( previous );
+		}
+	}
+
+	/**
+	 * Applies the queued works, then releases the threads.
+	 */
+	void stop() {
+		stopped = true;
+		for ( ThreadPoolExecutor executor : executors.values() ) {
+			executor.shutdown();
+		}
+		for ( ThreadPoolExecutor executor : executors.values() ) {
+			try {
+				executor.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		executors.clear();
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import org.jgroups.Message;
+import org.jgroups.MessageListener;
+import org.jgroups.blocks.AsyncRequestHandler;
+import org.jgroups.blocks.Response;
+
+/**
+ * Request handler of the master node, handing the received works off to the
+ * {@link MasterApplyQueues} when the dispatcher is configured for asynchronous dispatching.
+ *
+ * @see JGroupsMasterMessageListener#receive(Message, Response)
+ */
+final class MasterRequestHandler implements AsyncRequestHandler {
+
+	private final MessageListener synchronousDelegate;
+	private final JGroupsMasterMessageListener listener;
+
+	/**
+	 * @param synchronousDelegate the listener to use when the dispatching is synchronous, possibly wrapping {@code listener}
+	 * @param listener the master listener
+	 */
+	MasterRequestHandler(MessageListener synchronousDelegate, JGroupsMasterMessageListener listener) {
+		this.synchronousDelegate = synchronousDelegate;
+		this.listener = listener;
+	}
+
+	@Override
+	public Object handle(Message msg) throws Exception {
+		synchronousDelegate.receive( msg );
+		return null;
+	}
+
+	@Override
+	public void handle(Message request, Response response) throws Exception {
+		listener.receive( request, response );
+	}
+
+}
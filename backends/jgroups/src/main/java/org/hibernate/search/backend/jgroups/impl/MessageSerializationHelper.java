@@ -6,6 +6,7 @@
  */
 package org.hibernate.search.backend.jgroups.impl;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import org.hibernate.search.exception.SearchException;
@@ -76,6 +77,21 @@ public static byte[] extractSerializedQueue(final int startingOffset, final int
 		return serializedQueue;
 	}
 
+	/**
+	 * Same as {@link #extractSerializedQueue(int, int, byte[])}, but returns a view
+	 * over the original buffer rather than a copy.
+	 *
+	 * @param startingOffset the starting offset of our message in the larger network buffer
+	 * @param bufferLength we won't attempt to access the buffer beyond this index
+	 * @param rawBuffer an array of byte.
+	 * @return a buffer whose remaining bytes are the serialized queue
+	 */
+	public static ByteBuffer wrapSerializedQueue(final int startingOffset, final int bufferLength, final byte[] rawBuffer) {
+		final int indexNameByteLength = fromByteToInt( rawBuffer[startingOffset] );
+		final int relevantStartingOffset = startingOffset + 1 + indexNameByteLength;
+		return ByteBuffer.wrap( rawBuffer, relevantStartingOffset, bufferLength - 1 - indexNameByteLength );
+	}
+
 	public static int fromByteToInt(byte b) {
 		return b & 0xFF;
 	}
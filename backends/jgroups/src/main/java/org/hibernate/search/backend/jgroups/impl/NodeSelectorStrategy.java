@@ -6,6 +6,8 @@
  */
 package org.hibernate.search.backend.jgroups.impl;
 
+import java.util.Properties;
+
 import org.jgroups.Address;
 import org.jgroups.Message;
 import org.jgroups.View;
@@ -57,4 +59,22 @@ public interface NodeSelectorStrategy {
 	 */
 	Message createMessage(byte[] data);
 
+	/**
+	 * Invoked once before the strategy is used, with the configuration of the JGroups backend of the index,
+	 * so that strategies can be tuned for each index or shard.
+	 *
+	 * @param jgroupsProperties the configuration properties of the backend, without the {@code jgroups.} prefix
+	 */
+	default void configure(Properties jgroupsProperties) {
+		//nothing to configure by default
+	}
+
+	/**
+	 * @return the address of the node currently selected to apply changes to the index,
+	 * or {@code null} if it is not known to this strategy
+	 */
+	default Address getMasterAddress() {
+		return null;
+	}
+
 }
@@ -0,0 +1,193 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.hibernate.search.backend.jgroups.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+import org.jgroups.Address;
+import org.jgroups.View;
+
+/**
+ * Keeps the works recently sent by a slave node for an index, so that they can be sent
+ * again when the master node changes before they have been applied: the previous master
+ * might have left the cluster, or might have ignored them because it lost the ownership
+ * of the index before receiving them.
+ * <p>
+ * Works are dropped as soon as the master acknowledges them, so only the works the previous master
+ * didn't acknowledge are sent again: replay thus requires the backend to block for acknowledgements,
+ * as works the previous master already applied would otherwise be sent again after the newer works
+ * other slaves sent to the new master meanwhile, reverting their changes. Works sent again are made
+ * idempotent, additions being turned into updates, as the previous master might have applied them
+ * without acknowledging them before leaving.
+ * <p>
+ * Works are considered sent to a master which is gone when the master selected at that time
+ * differs from the current one or, if the master is unknown to the node selector,
+ * when a member of the view at that time has left the cluster.
+ *
+ * @see JGroupsBackendQueueProcessor#REPLAY_WINDOW_MS
+ */
+final class ReplayBuffer {
+
+	private static final Log log = LoggerFactory.make( Log.class );
+
+	private final String indexName;
+	private final NodeSelectorStrategy masterNodeSelector;
+	private final long windowNanos;
+
+	//guarded by this
+	private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+	//guarded by this
+	private View lastView;
+
+	/**
+	 * @param indexName the name of the index
+	 * @param masterNodeSelector the node selector of the index
+	 * @param windowMs how long the works are kept, in milliseconds
+	 */
+	ReplayBuffer(String indexName, NodeSelectorStrategy masterNodeSelector, long windowMs) {
+		this.indexName = indexName;
+		this.masterNodeSelector = masterNodeSelector;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos( windowMs );
+	}
+
+	/**
+	 * @param works the works about to be sent
+	 * @param view the current view of the cluster
+	 * @return the entry to acknowledge once the master applied the works
+	 */
+	synchronized Entry record(List<LuceneWork> works, View view) {
+		expire( System.nanoTime() );
+		Entry entry = new Entry( works, masterNodeSelector.getMasterAddress(), view );
+		entries.addLast( entry );
+		return entry;
+	}
+
+	synchronized void acknowledge(Entry entry) {
+		entries.remove( entry );
+	}
+
+	/**
+	 * @param entry an entry whose works could not be sent
+	 * @param view the current view of the cluster
+	 * @return {@code true} if the works of the entry were sent to a master node which is gone,
+	 * and will thus be sent again to the new one
+	 */
+	boolean isSentToFormerMaster(Entry entry, View view) {
+		return view != null && entry.isSentToFormerMaster( masterNodeSelector.getMasterAddress(), view );
+	}
+
+	/**
+	 * @param view the current view of the cluster
+	 * @return {@code true} if the view changed since the last call to {@link #takeStale(View)}
+	 */
+	synchronized boolean isStale(View view) {
+		return view != null && lastView != null && !lastView.getViewId().equals( view.getViewId() );
+	}
+
+	/**
+	 * Removes the works which were sent to a master node which is gone, along with the expired ones.
+	 *
+	 * @param view the current view of the cluster
+	 * @return the lists of works to send again, in the order they were first sent
+	 */
+	synchronized List<List<LuceneWork>> takeStale(View view) {
+		expire( System.nanoTime() );
+		if ( view == null ) {
+			return Collections.emptyList();
+		}
+		if ( lastView == null || lastView.getViewId().equals( view.getViewId() ) ) {
+			lastView = view;
+			return Collections.emptyList();
+		}
+		lastView = view;
+		final Address currentMaster = masterNodeSelector.getMasterAddress();
+		final List<List<LuceneWork>> stale = new ArrayList<>();
+		Iterator<Entry> iterator = entries.iterator();
+		while ( iterator.hasNext() ) {
+			Entry entry = iterator.next();
+			if ( entry.isSentToFormerMaster( currentMaster, view ) ) {
+				iterator.remove();
+				stale.add( toIdempotentWorks( entry.works ) );
+			}
+		}
+		return stale;
+	}
+
+	/**
+	 * @param view the view of the cluster once the node joined it
+	 */
+	synchronized void start(View view) {
+		lastView = view;
+	}
+
+	private void expire(long now) {
+		int lost = 0;
+		Entry entry = entries.peekFirst();
+		while ( entry != null && now - entry.sentAt > windowNanos ) {
+			entries.pollFirst();
+			lost += entry.works.size();
+			entry = entries.peekFirst();
+		}
+		if ( lost > 0 ) {
+			log.replayWindowExpired( lost, indexName );
+		}
+	}
+
+	private static List<LuceneWork> toIdempotentWorks(List<LuceneWork> works) {
+		List<LuceneWork> idempotentWorks = new ArrayList<>( works.size() );
+		for ( LuceneWork work : works ) {
+			if ( work instanceof AddLuceneWork ) {
+				idempotentWorks.add( new UpdateLuceneWork( work.getTenantId(), work.getId(), work.getIdInString(),
+						work.getEntityClass(), work.getDocument(), work.getFieldToAnalyzerMap() ) );
+			}
+			else {
+				idempotentWorks.add( work );
+			}
+		}
+		return idempotentWorks;
+	}
+
+	static final class Entry {
+
+		private final List<LuceneWork> works;
+		private final Address master;
+		private final View view;
+		private final long sentAt = System.nanoTime();
+
+		private Entry(List<LuceneWork> works, Address master, View view) {
+			this.works = works;
+			this.master = master;
+			this.view = view;
+		}
+
+		private boolean isSentToFormerMaster(Address currentMaster, View currentView) {
+			if ( master != null ) {
+				return !master.equals( currentMaster );
+			}
+			if ( view == null ) {
+				return true;
+			}
+			for ( Address member : view.getMembers() ) {
+				if ( !currentView.containsMember( member ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+}
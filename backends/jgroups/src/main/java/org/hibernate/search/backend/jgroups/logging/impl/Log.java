@@ -121,4 +121,42 @@ public interface Log extends org.hibernate.search.util.logging.impl.Log {
 	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 23, value = "JGroups channel configuration should be specified in the global section [hibernate.search.services.jgroups.], " +
 			"not as an IndexManager property for index '%1$s'. See http://docs.jboss.org/hibernate/search/5.0/reference/en-US/html_single/#jgroups-backend")
 	SearchException legacyJGroupsConfigurationDefined(String indexName);
+
+	@LogMessage(level = ERROR)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 24, value = "Unable to send a batch of %1$d Lucene works for index '%2$s' to the master node")
+	void unableToSendBatchViaJGroups(int size, String indexName, @Cause Throwable e);
+
+	@LogMessage(level = WARN)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 25, value = "The master node is stopping: the works for index '%1$s' received from %2$s have not been applied")
+	void masterStoppingWorksRejected(String indexName, Address source);
+
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 26, value = "The master node is stopping: the works for index '%1$s' have not been applied")
+	SearchException masterStopping(String indexName);
+
+	@LogMessage(level = WARN)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 27, value = "Unable to send Lucene works for index '%1$s' to the master node: they will be sent again once a new master is elected")
+	void unableToSendWorksWillReplay(String indexName, @Cause Throwable e);
+
+	@LogMessage(level = INFO)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 28, value = "The master node of index '%2$s' changed: sending again %1$d Lucene works which might not have been applied")
+	void replayingWorks(int size, String indexName);
+
+	@LogMessage(level = ERROR)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 29, value = "%1$d Lucene works for index '%2$s' have not been acknowledged by a master node within the replay window and are lost")
+	void replayWindowExpired(int size, String indexName);
+
+	@LogMessage(level = INFO)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 30, value = "The local node is now the master node of index '%1$s'")
+	void becameIndexOwner(String indexName);
+
+	@LogMessage(level = ERROR)
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 31, value = "Unable to send again %1$d Lucene works for index '%2$s' to the new master node: they are lost")
+	void unableToReplayWorks(int size, String indexName, @Cause Throwable e);
+
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 32, value = "Unknown master selection '%1$s' for index '%2$s': use 'modulo' or 'consistent'")
+	SearchException unknownMasterSelection(String value, String indexName);
+
+	@Message(id = JGROUPS_BACKEND_MESSAGES_START_ID + 33, value = "The replay window of index '%1$s' requires 'block_waiting_ack' to be enabled:"
+			+ " without acknowledgements, works sent again could revert the changes other slaves sent meanwhile")
+	SearchException replayRequiresBlockingForAck(String indexName);
 }
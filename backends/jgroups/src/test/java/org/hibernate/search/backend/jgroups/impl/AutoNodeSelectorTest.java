@@ -6,10 +6,12 @@
  */
 package org.hibernate.search.backend.jgroups.impl;
 
+import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.testsupport.TestForIssue;
 import org.jgroups.Address;
 import org.jgroups.Global;
 import org.jgroups.View;
+import org.jgroups.util.UUID;
 import org.junit.Test;
 
 import java.io.DataInput;
@@ -17,8 +19,11 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -84,6 +89,94 @@ private void performTest(String index) {
 		}
 	}
 
+	@Test
+	public void testConsistentSelectionKeepsMastersWhenAMemberLeaves() {
+		List<Address> members = members( 6 );
+		List<AutoNodeSelector> shards = consistentShards( members );
+
+		// shards are spread over the members
+		Set<Address> masters = new HashSet<Address>();
+		for ( AutoNodeSelector selector : shards ) {
+			masters.add( selector.getMasterAddress() );
+		}
+		Assert.assertTrue( masters.size() > 1 );
+
+		Address leaving = null;
+		for ( AutoNodeSelector selector : shards ) {
+			if ( !members.get( 0 ).equals( selector.getMasterAddress() ) ) {
+				leaving = selector.getMasterAddress();
+			}
+		}
+		assertOnlyShardsOfLeavingMemberMove( shards, members, leaving );
+	}
+
+	@Test
+	public void testConsistentSelectionKeepsMastersWhenTheCoordinatorLeaves() {
+		List<Address> members = members( 6 );
+		// make sure the coordinator owns some shards: the selection doesn't depend on the order of the members
+		Address coordinator = consistentShards( members ).get( 0 ).getMasterAddress();
+		members.remove( coordinator );
+		members.add( 0, coordinator );
+		List<AutoNodeSelector> shards = consistentShards( members );
+		Assert.assertEquals( coordinator, shards.get( 0 ).getMasterAddress() );
+
+		// the next member becomes the coordinator: it keeps its own shards
+		assertOnlyShardsOfLeavingMemberMove( shards, members, coordinator );
+	}
+
+	private void assertOnlyShardsOfLeavingMemberMove(List<AutoNodeSelector> shards, List<Address> members, Address leaving) {
+		List<Address> previousMasters = new LinkedList<Address>();
+		for ( AutoNodeSelector selector : shards ) {
+			previousMasters.add( selector.getMasterAddress() );
+		}
+		List<Address> remaining = new LinkedList<Address>( members );
+		remaining.remove( leaving );
+		for ( int i = 0; i < shards.size(); i++ ) {
+			AutoNodeSelector selector = shards.get( i );
+			selector.viewAccepted( view( remaining ) );
+			if ( !leaving.equals( previousMasters.get( i ) ) ) {
+				Assert.assertEquals( previousMasters.get( i ), selector.getMasterAddress() );
+			}
+			Assert.assertNotEquals( leaving, selector.getMasterAddress() );
+		}
+	}
+
+	private static List<Address> members(int count) {
+		List<Address> members = new LinkedList<Address>();
+		for ( int i = 0; i < count; i++ ) {
+			members.add( UUID.randomUUID() );
+		}
+		return members;
+	}
+
+	private List<AutoNodeSelector> consistentShards(List<Address> members) {
+		List<AutoNodeSelector> shards = new LinkedList<AutoNodeSelector>();
+		for ( int shard = 0; shard < 40; shard++ ) {
+			AutoNodeSelector selector = new AutoNodeSelector( "test.Book." + shard );
+			selector.configure( consistentSelection() );
+			selector.viewAccepted( view( members ) );
+			shards.add( selector );
+		}
+		return shards;
+	}
+
+	@Test(expected = SearchException.class)
+	public void testUnknownSelectionIsRejected() {
+		Properties properties = new Properties();
+		properties.setProperty( JGroupsBackendQueueProcessor.MASTER_SELECTION, "random" );
+		new AutoNodeSelector( "test.Book" ).configure( properties );
+	}
+
+	private static Properties consistentSelection() {
+		Properties properties = new Properties();
+		properties.setProperty( JGroupsBackendQueueProcessor.MASTER_SELECTION, "consistent" );
+		return properties;
+	}
+
+	private View view(List<Address> members) {
+		return new View( members.get( 0 ), NEXT_VIEW_ID.incrementAndGet(), members );
+	}
+
 	private View createView(int size) {
 		List<Address> addressList = new LinkedList<Address>();
 		while ( size-- > 0 ) {
@@ -62,6 +62,19 @@ public void acceptConfigurationFile() throws Throwable {
 		bootConfiguration( cfg );
 	}
 
+	@Test
+	public void refuseReplayWithoutBlockingForAck() throws Throwable {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest()
+			.addProperty( "hibernate.search.dvds.worker.backend", "jgroupsSlave" )
+			.addProperty( "hibernate.search.dvds.jgroups.replay_window", "1000" )
+			.addProperty( "hibernate.search.dvds.jgroups.block_waiting_ack", "false" )
+			.addProperty( "hibernate.search.services.jgroups.configurationFile", "testing-flush-loopback.xml" )
+			;
+		error.expect( SearchException.class );
+		error.expectMessage( "requires 'block_waiting_ack' to be enabled" );
+		bootConfiguration( cfg );
+	}
+
 	/**
 	 * Attempts to start a SearchIntegrator, and make sure we close it if it happens to start
 	 * correctly.
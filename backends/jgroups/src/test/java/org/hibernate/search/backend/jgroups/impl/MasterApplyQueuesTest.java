@@ -0,0 +1,78 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that the master node waits for room in a full apply queue instead of dropping works.
+ */
+public class MasterApplyQueuesTest {
+
+	private static final int QUEUE_SIZE = 2;
+	private static final int TASKS = 20;
+
+	@Test
+	public void fullQueueBlocksInsteadOfRejecting() throws Exception {
+		MasterApplyQueues queues = new MasterApplyQueues( QUEUE_SIZE, null );
+		List<Integer> applied = Collections.synchronizedList( new ArrayList<Integer>() );
+		CountDownLatch slowIndex = new CountDownLatch( 1 );
+		CountDownLatch submitted = new CountDownLatch( 1 );
+
+		Thread delivery = new Thread( () -> {
+			for ( int i = 0; i < TASKS; i++ ) {
+				final int task = i;
+				Assert.assertTrue( queues.submit( "index", () -> {
+					awaitQuietly( slowIndex );
+					applied.add( task );
+				} ) );
+			}
+			submitted.countDown();
+		} );
+		delivery.start();
+
+		Assert.assertFalse( "The delivery thread should wait for room in the full queue",
+				submitted.await( 200, TimeUnit.MILLISECONDS ) );
+		Assert.assertTrue( applied.isEmpty() );
+
+		slowIndex.countDown();
+		Assert.assertTrue( submitted.await( 10, TimeUnit.SECONDS ) );
+		delivery.join();
+		queues.stop();
+
+		List<Integer> expected = new ArrayList<>();
+		for ( int i = 0; i < TASKS; i++ ) {
+			expected.add( i );
+		}
+		Assert.assertEquals( "All works should be applied, in order", expected, applied );
+	}
+
+	@Test
+	public void stoppedQueuesRejectTasks() {
+		MasterApplyQueues queues = new MasterApplyQueues( QUEUE_SIZE, null );
+		Assert.assertTrue( queues.submit( "index", () -> { } ) );
+		queues.stop();
+		Assert.assertFalse( queues.submit( "index", () -> { } ) );
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.jgroups.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests which works are sent again by slaves when the master node changes.
+ */
+public class ReplayBufferTest {
+
+	private final Address slave = UUID.randomUUID();
+	private final Address coordinator = UUID.randomUUID();
+	private final Address firstMaster = UUID.randomUUID();
+	private final Address secondMaster = UUID.randomUUID();
+
+	@Test
+	public void unacknowledgedWorksAreReplayedToTheNewMaster() {
+		AutoNodeSelector selector = new AutoNodeSelector( "index" );
+		View initialView = view( 1, coordinator, firstMaster, slave );
+		selector.viewAccepted( initialView );
+		Assert.assertEquals( firstMaster, selector.getMasterAddress() );
+		ReplayBuffer buffer = new ReplayBuffer( "index", selector, 60_000 );
+		buffer.start( initialView );
+
+		ReplayBuffer.Entry acknowledged = buffer.record( Collections.<LuceneWork>singletonList( delete( "1" ) ), initialView );
+		buffer.acknowledge( acknowledged );
+		buffer.record( Arrays.<LuceneWork>asList( add( "2" ), delete( "3" ) ), initialView );
+
+		// the first master leaves the cluster
+		View newView = view( 2, coordinator, secondMaster, slave );
+		selector.viewAccepted( newView );
+		Assert.assertEquals( secondMaster, selector.getMasterAddress() );
+		Assert.assertTrue( buffer.isStale( newView ) );
+
+		List<List<LuceneWork>> stale = buffer.takeStale( newView );
+		Assert.assertEquals( 1, stale.size() );
+		List<LuceneWork> replayed = stale.get( 0 );
+		Assert.assertEquals( 2, replayed.size() );
+		// additions are made idempotent
+		Assert.assertTrue( replayed.get( 0 ) instanceof UpdateLuceneWork );
+		Assert.assertEquals( "2", replayed.get( 0 ).getIdInString() );
+		Assert.assertTrue( replayed.get( 1 ) instanceof DeleteLuceneWork );
+
+		Assert.assertFalse( buffer.isStale( newView ) );
+		Assert.assertTrue( buffer.takeStale( newView ).isEmpty() );
+	}
+
+	@Test
+	public void worksAreNotReplayedWhenTheMasterIsUnchanged() {
+		AutoNodeSelector selector = new AutoNodeSelector( "index" );
+		View initialView = view( 1, coordinator, firstMaster );
+		selector.viewAccepted( initialView );
+		ReplayBuffer buffer = new ReplayBuffer( "index", selector, 60_000 );
+		buffer.start( initialView );
+
+		buffer.record( Collections.<LuceneWork>singletonList( add( "1" ) ), initialView );
+
+		View newView = view( 2, coordinator, firstMaster, slave );
+		selector.viewAccepted( newView );
+		Assert.assertEquals( firstMaster, selector.getMasterAddress() );
+		Assert.assertTrue( buffer.takeStale( newView ).isEmpty() );
+	}
+
+	@Test
+	public void failuresAreOnlyReplayedWhenTheMasterLeft() {
+		AutoNodeSelector selector = new AutoNodeSelector( "index" );
+		View initialView = view( 1, coordinator, firstMaster, slave );
+		selector.viewAccepted( initialView );
+		ReplayBuffer buffer = new ReplayBuffer( "index", selector, 60_000 );
+		buffer.start( initialView );
+
+		ReplayBuffer.Entry entry = buffer.record( Collections.<LuceneWork>singletonList( add( "1" ) ), initialView );
+		// e.g. the master rejected the works: the failure must be reported
+		Assert.assertFalse( buffer.isSentToFormerMaster( entry, initialView ) );
+
+		View newView = view( 2, coordinator, secondMaster, slave );
+		selector.viewAccepted( newView );
+		Assert.assertTrue( buffer.isSentToFormerMaster( entry, newView ) );
+	}
+
+	@Test
+	public void worksAreReplayedWhenAMemberLeftAndTheMasterIsUnknown() {
+		SlaveNodeSelector selector = new SlaveNodeSelector();
+		View initialView = view( 1, coordinator, firstMaster, slave );
+		ReplayBuffer buffer = new ReplayBuffer( "index", selector, 60_000 );
+		buffer.start( initialView );
+
+		buffer.record( Collections.<LuceneWork>singletonList( add( "1" ) ), initialView );
+
+		View joinedView = view( 2, coordinator, firstMaster, slave, secondMaster );
+		Assert.assertTrue( buffer.takeStale( joinedView ).isEmpty() );
+
+		View leftView = view( 3, coordinator, slave, secondMaster );
+		Assert.assertEquals( 1, buffer.takeStale( leftView ).size() );
+	}
+
+	@Test
+	public void expiredWorksAreNotReplayed() throws InterruptedException {
+		AutoNodeSelector selector = new AutoNodeSelector( "index" );
+		View initialView = view( 1, coordinator, firstMaster, slave );
+		selector.viewAccepted( initialView );
+		ReplayBuffer buffer = new ReplayBuffer( "index", selector, 1 );
+		buffer.start( initialView );
+
+		buffer.record( Collections.<LuceneWork>singletonList( add( "1" ) ), initialView );
+		Thread.sleep( 10 );
+
+		View newView = view( 2, coordinator, secondMaster, slave );
+		selector.viewAccepted( newView );
+		Assert.assertTrue( buffer.takeStale( newView ).isEmpty() );
+	}
+
+	private View view(long id, Address... members) {
+		return new View( members[0], id, Arrays.asList( members ) );
+	}
+
+	private static LuceneWork add(String id) {
+		return new AddLuceneWork( id, id, Object.class, new Document() );
+	}
+
+	private static LuceneWork delete(String id) {
+		return new DeleteLuceneWork( id, id, Object.class );
+	}
+}
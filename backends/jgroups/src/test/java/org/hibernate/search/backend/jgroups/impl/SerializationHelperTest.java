@@ -7,6 +7,7 @@
 package org.hibernate.search.backend.jgroups.impl;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.hibernate.search.exception.SearchException;
@@ -54,4 +55,19 @@ public void partialBufferEncoding() throws UnsupportedEncodingException {
 		Assert.assertTrue( Arrays.equals( someRandom, MessageSerializationHelper.extractSerializedQueue( offset, buffer.length, mixed ) ) );
 	}
 
+	@Test
+	public void partialBufferWrapping() throws UnsupportedEncodingException {
+		byte[] someRandom = "Some random string to test payload".getBytes( "UTF-8" );
+		String indexName = "this is my favourite index";
+		byte[] buffer = MessageSerializationHelper.prependString( indexName, someRandom );
+		byte[] mixed = new byte[ buffer.length + 7 ];
+		final int offset = 2;
+		System.arraycopy( buffer, 0, mixed, offset, buffer.length );
+		ByteBuffer serializedQueue = MessageSerializationHelper.wrapSerializedQueue( offset, buffer.length, mixed );
+		Assert.assertSame( mixed, serializedQueue.array() );
+		byte[] content = new byte[ serializedQueue.remaining() ];
+		serializedQueue.get( content );
+		Assert.assertTrue( Arrays.equals( someRandom, content ) );
+	}
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.jgroups.slave;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.backend.jgroups.impl.JGroupsBackendQueueProcessor;
+import org.hibernate.search.test.jgroups.common.JGroupsCommonTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that a Slave node configured with a batching window sends the works
+ * of several transactions in a single message.
+ */
+public class JGroupsSlaveBatchingTest extends JGroupsSlaveTest {
+
+	@Test
+	public void testTransactionsAreBatched() throws Exception {
+		JGroupsReceiver.reset();
+
+		for ( int i = 0; i < 3; i++ ) {
+			try ( Session s = openSession() ) {
+				Transaction tx = s.beginTransaction();
+				TShirt ts = new TShirt();
+				ts.setLogo( "Logo " + i );
+				ts.setSize( "L" );
+				ts.setLength( 23.3d );
+				s.persist( ts );
+				tx.commit();
+			}
+		}
+
+		boolean failed = true;
+		for ( int i = 0; i < JGroupsCommonTest.MAX_WAITS; i++ ) {
+			Thread.sleep( JGroupsCommonTest.NETWORK_WAIT_MILLISECONDS );
+			if ( JGroupsReceiver.works == 3 ) { //the condition we're waiting for
+				failed = false;
+				break; //enough time wasted
+			}
+		}
+		if ( failed ) {
+			Assert.fail( "Message not received after waiting for long!" );
+		}
+		Assert.assertEquals( "The works of the three transactions should have been sent in a single message",
+				1, JGroupsReceiver.queues );
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		super.configure( cfg );
+		// otherwise each transaction waits for its batch to be sent before the next one starts
+		cfg.put( "hibernate.search.default.jgroups." + JGroupsBackendQueueProcessor.BLOCK_WAITING_ACK, "false" );
+		// large enough for the three transactions to be committed within the same window
+		cfg.put( "hibernate.search.default.jgroups." + JGroupsBackendQueueProcessor.BATCH_WINDOW_MS, "2000" );
+	}
+
+}
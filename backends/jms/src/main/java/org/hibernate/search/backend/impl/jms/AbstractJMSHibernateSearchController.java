@@ -6,12 +6,21 @@
  */
 package org.hibernate.search.backend.impl.jms;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.jms.JMSException;
 import javax.jms.Message;
+import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.ObjectMessage;
+import javax.jms.Session;
 
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.cfg.Environment;
@@ -31,6 +40,13 @@ public abstract class AbstractJMSHibernateSearchController implements MessageLis
 
 	private static final Log log = LoggerFactory.make();
 
+	/**
+	 * Ids of the messages whose works were applied by {@link #drain(Session, MessageConsumer, int, long)},
+	 * but which were rolled back because the works of another index failed: they are skipped when redelivered.
+	 */
+	private final RolledBackMessageIds appliedRolledBackMessageIds = new RolledBackMessageIds(
+			RolledBackMessageIds.DEFAULT_MAX_SIZE, RolledBackMessageIds.DEFAULT_RETENTION_MS );
+
 	protected abstract SearchIntegrator getSearchIntegrator();
 
 	/**
@@ -39,7 +55,8 @@ public abstract class AbstractJMSHibernateSearchController implements MessageLis
 	 *
 	 * This is invoked once by {@link #onMessage(Message)} after processing
 	 * each Message, provided the type of the Message is {@link ObjectMessage}
-	 * as expected.
+	 * as expected. When several messages are processed together, it is invoked
+	 * once per such Message after all of them were processed.
 	 */
 	protected void afterMessage() {
 		// No-op by default: you can override this if needed.
@@ -50,39 +67,129 @@ protected void afterMessage() {
 	 */
 	@Override
 	public void onMessage(Message message) {
-		if ( !( message instanceof ObjectMessage ) ) {
-			log.incorrectMessageType( message.getClass() );
-			return;
+		onMessages( Collections.singletonList( message ) );
+	}
+
+	/**
+	 * Receives the messages available from a consumer, waiting for the first one, and applies
+	 * the works of all the received messages as a single changeset per index. Then commits the
+	 * session if it is transacted, or rolls it back if applying the works failed.
+	 * <p>
+	 * When the changeset of an index fails after the changesets of other indexes were applied,
+	 * the messages of the applied changesets are redelivered too, as the session is rolled back:
+	 * they are remembered by their message id and skipped once redelivered, so that their works are
+	 * not applied twice. Works sent in messages without an id, redelivered to another controller,
+	 * or redelivered more than ten minutes later, can still be applied twice in this case. At most
+	 * ten thousand ids are remembered, so that messages which are never redelivered here, e.g. because
+	 * they were moved to a dead letter queue, are eventually forgotten.
+	 * <p>
+	 * This is an alternative to registering this controller as a {@link MessageListener}:
+	 * applying the works of many messages at once reduces the amount of index commits on the master.
+	 *
+	 * @param session the session of the consumer
+	 * @param consumer the consumer of the queue the slave nodes send their works to
+	 * @param maxMessages the maximum amount of messages to receive
+	 * @param timeoutMs how long to wait for the first message, in milliseconds
+	 * @return the amount of messages received
+	 * @throws JMSException if receiving the messages or committing the session failed
+	 */
+	public int drain(Session session, MessageConsumer consumer, int maxMessages, long timeoutMs) throws JMSException {
+		final List<Message> messages = new ArrayList<>();
+		Message message = consumer.receive( timeoutMs );
+		while ( message != null ) {
+			messages.add( message );
+			message = messages.size() < maxMessages ? consumer.receiveNoWait() : null;
 		}
-		final ObjectMessage objectMessage = (ObjectMessage) message;
-		final String indexName;
-		final List<LuceneWork> queue;
-		final IndexManager indexManager;
-		SearchIntegrator integrator = getSearchIntegrator();
+		if ( messages.isEmpty() ) {
+			return 0;
+		}
+		final boolean transacted = session.getTransacted();
+		final MessageIds messageIds = transacted ? new MessageIds() : null;
 		try {
-			indexName = extractIndexName( objectMessage );
-			if ( log.isDebugEnabled() ) {
-				logMessageDetails( objectMessage, indexName );
-			}
-			indexManager = integrator.getIndexManager( indexName );
-			if ( indexManager == null ) {
-				log.messageReceivedForUndefinedIndex( indexName );
-				return;
+			onMessages( messages, messageIds );
+		}
+		catch (RuntimeException e) {
+			if ( transacted ) {
+				appliedRolledBackMessageIds.addAll( messageIds.applied );
+				session.rollback();
 			}
-
-			queue = getSearchIntegrator().getWorkSerializer().toLuceneWorks( (byte[]) objectMessage.getObject() );
-			indexManager.performOperations( queue, null );
+			throw e;
 		}
-		catch (JMSException e) {
-			log.unableToRetrieveObjectFromMessage( message.getClass(), e );
-			return;
+		if ( transacted ) {
+			session.commit();
+			// only forget them once their redelivery is acknowledged
+			appliedRolledBackMessageIds.removeAll( messageIds.skipped );
 		}
-		catch (ClassCastException e) {
-			log.illegalObjectRetrievedFromMessage( e );
-			return;
+		return messages.size();
+	}
+
+	/**
+	 * Process the Hibernate Search work queues received in several messages,
+	 * applying the works targeting the same index as a single changeset.
+	 *
+	 * @param messages the messages received, in the order they were received
+	 */
+	protected void onMessages(List<? extends Message> messages) {
+		onMessages( messages, null );
+	}
+
+	/**
+	 * @param messageIds collects the ids of the messages whose works were applied or skipped, or {@code null}
+	 * if the messages can't be redelivered
+	 */
+	private void onMessages(List<? extends Message> messages, MessageIds messageIds) {
+		final Map<IndexManager, Changeset> changesets = new LinkedHashMap<>();
+		int processedMessages = 0;
+		SearchIntegrator integrator = getSearchIntegrator();
+		try {
+			for ( Message message : messages ) {
+				if ( !( message instanceof ObjectMessage ) ) {
+					log.incorrectMessageType( message.getClass() );
+					continue;
+				}
+				processedMessages++;
+				final ObjectMessage objectMessage = (ObjectMessage) message;
+				try {
+					final String indexName = extractIndexName( objectMessage );
+					if ( log.isDebugEnabled() ) {
+						logMessageDetails( objectMessage, indexName );
+					}
+					final IndexManager indexManager = integrator.getIndexManager( indexName );
+					if ( indexManager == null ) {
+						log.messageReceivedForUndefinedIndex( indexName );
+						continue;
+					}
+					final String messageId = messageIds == null ? null : objectMessage.getJMSMessageID();
+					if ( messageId != null && objectMessage.getJMSRedelivered() && appliedRolledBackMessageIds.contains( messageId ) ) {
+						log.debugf( "Skipping redelivered message '%s': its works were already applied to index '%s'", messageId, indexName );
+						messageIds.skipped.add( messageId );
+						continue;
+					}
+					final List<LuceneWork> queue = integrator.getWorkSerializer().toLuceneWorks( (byte[]) objectMessage.getObject() );
+					final Changeset changeset = changesets.computeIfAbsent( indexManager, k -> new Changeset() );
+					changeset.works.addAll( queue );
+					if ( messageId != null ) {
+						changeset.messageIds.add( messageId );
+					}
+				}
+				catch (JMSException e) {
+					log.unableToRetrieveObjectFromMessage( message.getClass(), e );
+				}
+				catch (ClassCastException e) {
+					log.illegalObjectRetrievedFromMessage( e );
+				}
+			}
+			for ( Map.Entry<IndexManager, Changeset> changeset : changesets.entrySet() ) {
+				changeset.getKey().performOperations( changeset.getValue().works, null );
+				if ( messageIds != null ) {
+					messageIds.applied.addAll( changeset.getValue().messageIds );
+				}
+			}
 		}
 		finally {
-			afterMessage();
+			for ( int i = 0; i < processedMessages; i++ ) {
+				afterMessage();
+			}
 		}
 	}
 
@@ -100,4 +207,70 @@ private String extractIndexName(ObjectMessage objectMessage) throws JMSException
 		return name;
 	}
 
+	private static final class Changeset {
+		private final List<LuceneWork> works = new ArrayList<>();
+		private final List<String> messageIds = new ArrayList<>();
+	}
+
+	/**
+	 * A bounded set of message ids: the ids are forgotten once their retention time elapsed,
+	 * or once too many ids are kept, the oldest ones first.
+	 */
+	static final class RolledBackMessageIds {
+
+		static final int DEFAULT_MAX_SIZE = 10_000;
+		static final long DEFAULT_RETENTION_MS = TimeUnit.MINUTES.toMillis( 10 );
+
+		private final int maxSize;
+		private final long retentionNanos;
+
+		//guarded by this; in the order the ids were added, mapped to the time they were added
+		private final LinkedHashMap<String, Long> addedAt = new LinkedHashMap<>();
+
+		RolledBackMessageIds(int maxSize, long retentionMs) {
+			this.maxSize = maxSize;
+			this.retentionNanos = TimeUnit.MILLISECONDS.toNanos( retentionMs );
+		}
+
+		synchronized void addAll(Collection<String> ids) {
+			final long now = System.nanoTime();
+			expire( now );
+			for ( String id : ids ) {
+				// keep the map ordered by time
+				addedAt.remove( id );
+				addedAt.put( id, now );
+			}
+			Iterator<String> oldest = addedAt.keySet().iterator();
+			while ( addedAt.size() > maxSize ) {
+				oldest.next();
+				oldest.remove();
+			}
+		}
+
+		synchronized boolean contains(String id) {
+			expire( System.nanoTime() );
+			return addedAt.containsKey( id );
+		}
+
+		synchronized void removeAll(Collection<String> ids) {
+			addedAt.keySet().removeAll( ids );
+		}
+
+		synchronized int size() {
+			return addedAt.size();
+		}
+
+		private void expire(long now) {
+			Iterator<Long> oldest = addedAt.values().iterator();
+			while ( oldest.hasNext() && now - oldest.next() > retentionNanos ) {
+				oldest.remove();
+			}
+		}
+	}
+
+	private static final class MessageIds {
+		private final List<String> applied = new ArrayList<>();
+		private final List<String> skipped = new ArrayList<>();
+	}
+
 }
@@ -9,6 +9,8 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.jms.JMSException;
 import javax.jms.Queue;
@@ -20,9 +22,12 @@
 import org.hibernate.search.backend.spi.BackendQueueProcessor;
 import org.hibernate.search.cfg.Environment;
 import org.hibernate.search.engine.service.spi.ServiceManager;
+import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.spi.SearchIntegrator;
 import org.hibernate.search.spi.WorkerBuildContext;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.WorkListBatcher;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -50,11 +55,36 @@ public abstract class JmsBackendQueueProcessor implements BackendQueueProcessor,
 	public static final String JMS_CONNECTION_LOGIN = Environment.WORKER_PREFIX + "jms.login";
 	public static final String JMS_CONNECTION_PASSWORD = Environment.WORKER_PREFIX + "jms.password";
 
+	/**
+	 * When set to a positive value, the works of the transactions targeting this index during
+	 * the given time window are sent as a single JMS message; each transaction waits
+	 * for the message holding its works to be sent. Ignored when the messages are sent as part
+	 * of the current transaction. Value interpreted in milliseconds.
+	 */
+	public static final String JMS_BATCH_WINDOW_MS = Environment.WORKER_PREFIX + "jms.batch_window";
+
+	/**
+	 * Default value for the {@link #JMS_BATCH_WINDOW_MS} configuration property: batching is disabled.
+	 */
+	public static final int DEFAULT_BATCH_WINDOW = 0;
+
+	/**
+	 * The amount of works which, once reached, triggers the sending of a batch
+	 * before the end of its time window. Only relevant when {@link #JMS_BATCH_WINDOW_MS} is set.
+	 */
+	public static final String JMS_BATCH_MAX_WORKS = Environment.WORKER_PREFIX + "jms.batch_max_works";
+
+	/**
+	 * Default value for the {@link #JMS_BATCH_MAX_WORKS} configuration property.
+	 */
+	public static final int DEFAULT_BATCH_MAX_WORKS = 1000;
+
 	private static final Log log = LoggerFactory.make();
 
 	private Properties props = null;
 	private boolean isTransactional;
 	private ServiceManager serviceManager;
+	private WorkListBatcher batcher; //null when batching is disabled
 
 	@Override
 	public void initialize(Properties props, WorkerBuildContext context, IndexManager indexManager) {
@@ -70,6 +100,13 @@ public void initialize(Properties props, WorkerBuildContext context, IndexManage
 			// if we are not transactional, we can eagerly initialize the queue and connection
 			this.jmsQueue = initializeJMSQueue( factory, props );
 			this.connection = initializeJMSConnection( factory, props );
+
+			// batches can't be part of the transactions of the works they hold
+			final long batchWindow = ConfigurationParseHelper.getLongValue( props, JMS_BATCH_WINDOW_MS, DEFAULT_BATCH_WINDOW );
+			if ( batchWindow > 0 ) {
+				final int batchMaxWorks = ConfigurationParseHelper.getIntValue( props, JMS_BATCH_MAX_WORKS, DEFAULT_BATCH_MAX_WORKS );
+				this.batcher = new WorkListBatcher( this::send, "JMS batching for index " + indexName, batchWindow, batchMaxWorks );
+			}
 		}
 	}
 
@@ -89,10 +126,36 @@ public void applyWork(List<LuceneWork> workList, IndexingMonitor monitor) {
 			throw new IllegalArgumentException( "workList should not be null" );
 		}
 
+		if ( batcher == null ) {
+			send( workList );
+		}
+		else {
+			awaitBatch( batcher.enqueue( workList ) );
+		}
+	}
+
+	private void send(List<LuceneWork> workList) {
 		Runnable operation = new JmsBackendQueueTask( indexName, workList, this, integrator.getWorkSerializer() );
 		operation.run();
 	}
 
+	private void awaitBatch(CompletableFuture<Void> sent) {
+		try {
+			sent.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw log.unableToSendJMSWork( indexName, jmsQueueName, e );
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof SearchException ) {
+				throw (SearchException) cause;
+			}
+			throw log.unableToSendJMSWork( indexName, jmsQueueName, cause );
+		}
+	}
+
 	@Override
 	public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
 		applyWork( Collections.singletonList( singleOperation ), monitor );
@@ -129,6 +192,10 @@ public void releaseJMSConnection(QueueConnection queueConnection) {
 
 	@Override
 	public void close() {
+		if ( batcher != null ) {
+			// the connection is needed to send the pending works
+			batcher.close();
+		}
 		try {
 			if ( connection != null ) {
 				connection.close();
@@ -0,0 +1,195 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.impl.jms;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jms.MessageConsumer;
+import javax.jms.ObjectMessage;
+import javax.jms.Session;
+
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that draining several messages doesn't apply the works of an index twice
+ * when the changeset of another index fails.
+ */
+public class JMSHibernateSearchControllerDrainTest {
+
+	private final Map<String, IndexManager> indexManagers = new HashMap<>();
+	private final Map<String, List<String>> appliedIds = new HashMap<>();
+	private final List<String> failingIndexes = new ArrayList<>();
+	private final Deque<ObjectMessage> queue = new ArrayDeque<>();
+	private final List<String> sessionOutcomes = new ArrayList<>();
+
+	private final AbstractJMSHibernateSearchController controller = new AbstractJMSHibernateSearchController() {
+		@Override
+		protected SearchIntegrator getSearchIntegrator() {
+			return proxy( SearchIntegrator.class, (method, args) -> {
+				switch ( method ) {
+					case "getIndexManager":
+						return indexManagers.computeIfAbsent( (String) args[0], k -> indexManager( k ) );
+					case "getWorkSerializer":
+						return serializer();
+					default:
+						throw new UnsupportedOperationException( method );
+				}
+			} );
+		}
+	};
+
+	@Test
+	public void appliedChangesetsAreSkippedWhenRedelivered() throws Exception {
+		failingIndexes.add( "books" );
+		queue.add( message( "m1", "dvds", false ) );
+		queue.add( message( "m2", "books", false ) );
+		try {
+			controller.drain( session(), consumer(), 10, 0 );
+			Assert.fail( "The failure of the books changeset should have been propagated" );
+		}
+		catch (SearchException e) {
+			// expected
+		}
+		Assert.assertEquals( Collections.singletonList( "rollback" ), sessionOutcomes );
+		Assert.assertEquals( Collections.singletonList( "m1" ), appliedIds.get( "dvds" ) );
+
+		failingIndexes.clear();
+		queue.add( message( "m1", "dvds", true ) );
+		queue.add( message( "m2", "books", true ) );
+		Assert.assertEquals( 2, controller.drain( session(), consumer(), 10, 0 ) );
+		Assert.assertEquals( Arrays.asList( "rollback", "commit" ), sessionOutcomes );
+		Assert.assertEquals( "dvds works should not be applied again", Collections.singletonList( "m1" ), appliedIds.get( "dvds" ) );
+		Assert.assertEquals( Collections.singletonList( "m2" ), appliedIds.get( "books" ) );
+	}
+
+	@Test
+	public void rolledBackMessageIdsAreBounded() throws Exception {
+		AbstractJMSHibernateSearchController.RolledBackMessageIds ids =
+				new AbstractJMSHibernateSearchController.RolledBackMessageIds( 2, 60_000 );
+		ids.addAll( Arrays.asList( "m1", "m2" ) );
+		ids.addAll( Collections.singletonList( "m3" ) );
+		Assert.assertEquals( 2, ids.size() );
+		Assert.assertFalse( "The oldest id should have been forgotten", ids.contains( "m1" ) );
+		Assert.assertTrue( ids.contains( "m3" ) );
+
+		AbstractJMSHibernateSearchController.RolledBackMessageIds expiring =
+				new AbstractJMSHibernateSearchController.RolledBackMessageIds( 10, 1 );
+		expiring.addAll( Collections.singletonList( "m1" ) );
+		Thread.sleep( 10 );
+		Assert.assertFalse( "The id should have expired", expiring.contains( "m1" ) );
+		Assert.assertEquals( 0, expiring.size() );
+	}
+
+	private IndexManager indexManager(String indexName) {
+		return proxy( IndexManager.class, (method, args) -> {
+			if ( !"performOperations".equals( method ) ) {
+				throw new UnsupportedOperationException( method );
+			}
+			if ( failingIndexes.contains( indexName ) ) {
+				throw new SearchException( "Unable to apply the works of " + indexName );
+			}
+			@SuppressWarnings("unchecked")
+			List<LuceneWork> works = (List<LuceneWork>) args[0];
+			for ( LuceneWork work : works ) {
+				appliedIds.computeIfAbsent( indexName, k -> new ArrayList<>() ).add( work.getIdInString() );
+			}
+			return null;
+		} );
+	}
+
+	private LuceneWorkSerializer serializer() {
+		return proxy( LuceneWorkSerializer.class, (method, args) -> {
+			if ( !"toLuceneWorks".equals( method ) ) {
+				throw new UnsupportedOperationException( method );
+			}
+			String id = new String( (byte[]) args[0], "UTF-8" );
+			return Collections.<LuceneWork>singletonList( new DeleteLuceneWork( id, id, Object.class ) );
+		} );
+	}
+
+	private ObjectMessage message(String messageId, String indexName, boolean redelivered) throws Exception {
+		byte[] payload = messageId.getBytes( "UTF-8" );
+		return proxy( ObjectMessage.class, (method, args) -> {
+			switch ( method ) {
+				case "getJMSMessageID":
+					return messageId;
+				case "getJMSRedelivered":
+					return redelivered;
+				case "getObject":
+					return payload;
+				case "getStringProperty":
+					return Environment.INDEX_NAME_JMS_PROPERTY.equals( args[0] ) ? indexName : null;
+				default:
+					throw new UnsupportedOperationException( method );
+			}
+		} );
+	}
+
+	private MessageConsumer consumer() {
+		return proxy( MessageConsumer.class, (method, args) -> {
+			if ( "receive".equals( method ) || "receiveNoWait".equals( method ) ) {
+				return queue.poll();
+			}
+			throw new UnsupportedOperationException( method );
+		} );
+	}
+
+	private Session session() {
+		return proxy( Session.class, (method, args) -> {
+			switch ( method ) {
+				case "getTransacted":
+					return true;
+				case "commit":
+				case "rollback":
+					sessionOutcomes.add( method );
+					return null;
+				default:
+					throw new UnsupportedOperationException( method );
+			}
+		} );
+	}
+
+	private static <T> T proxy(Class<T> type, Stub stub) {
+		return type.cast( Proxy.newProxyInstance(
+				JMSHibernateSearchControllerDrainTest.class.getClassLoader(),
+				new Class<?>[] { type },
+				(proxy, method, args) -> {
+					switch ( method.getName() ) {
+						// proxies are used as map keys
+						case "hashCode":
+							return System.identityHashCode( proxy );
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return type.getSimpleName();
+						default:
+							return stub.invoke( method.getName(), args );
+					}
+				}
+		) );
+	}
+
+	private interface Stub {
+		Object invoke(String method, Object[] args) throws Exception;
+	}
+}
@@ -13,6 +13,7 @@
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.spi.Work;
 import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.impl.ParallelDocumentBuilding;
 import org.hibernate.search.engine.spi.EntityIndexBinding;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
 import org.hibernate.search.store.IndexShardingStrategy;
@@ -33,11 +34,14 @@ public class BatchedQueueingProcessor implements QueueingProcessor {
 	private final int batchSize;
 	private final Map<Class<?>, EntityIndexBinding> entityIndexBindings;
 	private final TransactionalOperationExecutorSelector executorSelector;
+	// null unless documents are built in parallel
+	private final ParallelDocumentBuilding parallelDocumentBuilding;
 
 	public BatchedQueueingProcessor(Map<Class<?>, EntityIndexBinding> entityIndexBindings, Properties properties, IndexManagerHolder indexManagerHolder) {
 		this.entityIndexBindings = entityIndexBindings;
 		batchSize = ConfigurationParseHelper.getIntValue( properties, Environment.QUEUEINGPROCESSOR_BATCHSIZE, 0 );
 		this.executorSelector = new TransactionalOperationExecutorSelector( indexManagerHolder );
+		this.parallelDocumentBuilding = ParallelDocumentBuilding.create( properties );
 	}
 
 	@Override
@@ -54,7 +58,7 @@ public void add(Work work, WorkQueue workQueue) {
 
 	@Override
 	public void prepareWorks(WorkQueue workQueue) {
-		workQueue.prepareWorkPlan();
+		workQueue.prepareWorkPlan( parallelDocumentBuilding );
 	}
 
 	@Override
@@ -88,4 +92,11 @@ public void cancelWorks(WorkQueue workQueue) {
 		workQueue.clear();
 	}
 
+	@Override
+	public void close() {
+		if ( parallelDocumentBuilding != null ) {
+			parallelDocumentBuilding.close();
+		}
+	}
+
 }
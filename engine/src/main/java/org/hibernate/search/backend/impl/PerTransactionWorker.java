@@ -174,6 +174,9 @@ public void initialize(Properties props, WorkerBuildContext context, QueueingPro
 
 	@Override
 	public void close() {
+		if ( queueingProcessor != null ) {
+			queueingProcessor.close();
+		}
 	}
 
 	@Override
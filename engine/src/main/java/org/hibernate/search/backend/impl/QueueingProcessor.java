@@ -44,4 +44,10 @@ public interface QueueingProcessor {
 	 */
 	void cancelWorks(WorkQueue workQueue);
 
+	/**
+	 * Release the resources held by the processor
+	 */
+	default void close() {
+	}
+
 }
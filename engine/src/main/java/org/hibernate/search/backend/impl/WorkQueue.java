@@ -11,6 +11,7 @@
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.spi.Work;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.impl.ParallelDocumentBuilding;
 import org.hibernate.search.engine.impl.WorkPlan;
 import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.util.logging.impl.Log;
@@ -109,9 +110,19 @@ public int size() {
 	 * storing the list of lucene operations to be performed in the sealedQueue.
 	 */
 	public void prepareWorkPlan() {
+		prepareWorkPlan( null );
+	}
+
+	/**
+	 * Compiles the work collected so far in an optimal execution plan,
+	 * storing the list of lucene operations to be performed in the sealedQueue.
+	 *
+	 * @param parallelDocumentBuilding builds the documents in parallel, or {@code null} to build them on the current thread
+	 */
+	public void prepareWorkPlan(ParallelDocumentBuilding parallelDocumentBuilding) {
 		if ( !sealedAndUnchanged ) {
 			plan.processContainedInAndPrepareExecution();
-			List<LuceneWork> luceneWorkPlan = plan.getPlannedLuceneWork();
+			List<LuceneWork> luceneWorkPlan = plan.getPlannedLuceneWork( parallelDocumentBuilding );
 			setSealedQueue( luceneWorkPlan );
 		}
 	}
@@ -108,6 +108,13 @@ public void closeIndexWriter() {
 		writerHolder.closeIndexWriter();
 	}
 
+	/**
+	 * @param journal the journal to notify of the commits of the index
+	 */
+	void setWorkJournal(WorkJournal journal) {
+		writerHolder.setWorkJournal( journal );
+	}
+
 	@Override
 	public IndexWriter getIndexWriter() {
 		return writerHolder.getIndexWriter();
@@ -28,9 +28,17 @@ final class AsyncWorkProcessor implements WorkProcessor {
 	private static final Log log = LoggerFactory.make();
 
 	private volatile LuceneBackendResources resources;
+	private final WorkJournal journal; //null when the works are not journaled
+	private volatile boolean journalReplayed;
 
 	public AsyncWorkProcessor(LuceneBackendResources resources) {
+		this( resources, null );
+	}
+
+	AsyncWorkProcessor(LuceneBackendResources resources, WorkJournal journal) {
 		this.resources = resources;
+		this.journal = journal;
+		this.journalReplayed = journal == null;
 	}
 
 	@Override
@@ -51,10 +59,15 @@ public void submit(List<LuceneWork> workList, IndexingMonitor monitor) {
 			// skip that work
 			return;
 		}
+		replayJournal();
+		// the works must be durable before the submitter considers them done
+		long journalSequence = journal == null ? 0 : journal.append( workList );
 		LuceneBackendQueueTask luceneBackendQueueProcessor = new LuceneBackendQueueTask(
 				workList,
 				resources,
-				monitor
+				monitor,
+				journal,
+				journalSequence
 		);
 		resources.submitToAsyncIndexingExecutor( luceneBackendQueueProcessor );
 	}
@@ -62,6 +75,32 @@ public void submit(List<LuceneWork> workList, IndexingMonitor monitor) {
 	@Override
 	public void updateResources(LuceneBackendResources resources) {
 		this.resources = resources;
+		// invoked once the search factory is bound, which is needed to read the journal
+		replayJournal();
+	}
+
+	/**
+	 * Enqueues the works left in the journal by a previous run, before any new work.
+	 */
+	private void replayJournal() {
+		if ( journalReplayed ) {
+			return;
+		}
+		synchronized ( this ) {
+			if ( journalReplayed ) {
+				return;
+			}
+			List<WorkJournal.Record> records = journal.takePending();
+			if ( !records.isEmpty() ) {
+				log.replayingWorkJournal( records.size(), resources.getIndexName() );
+			}
+			for ( WorkJournal.Record record : records ) {
+				resources.submitToAsyncIndexingExecutor(
+						new LuceneBackendQueueTask( journal.readWorks( record ), resources, null, journal, record.getSequence() )
+				);
+			}
+			journalReplayed = true;
+		}
 	}
 
 }
@@ -63,6 +63,11 @@ class IndexWriterHolder {
 
 	private final LuceneIndexingParameters luceneParameters;
 
+	/**
+	 * Notified of the commits, so that it can discard the works they cover; {@code null} when disabled.
+	 */
+	private volatile WorkJournal journal;
+
 
 	IndexWriterHolder(ErrorHandler errorHandler, DirectoryBasedIndexManager indexManager) {
 		this.errorHandler = errorHandler;
@@ -145,9 +150,15 @@ private IndexWriterConfig createWriterConfig() {
 	public void commitIndexWriter(ErrorContextBuilder errorContextBuilder) {
 		IndexWriter indexWriter = writer.get();
 		if ( indexWriter != null ) {
+			final WorkJournal journal = this.journal;
+			// works applied after this point might not be covered by the commit
+			final long appliedSequence = journal == null ? 0 : journal.getAppliedSequence();
 			try {
 				indexWriter.commit();
 				log.trace( "Index changes committed." );
+				if ( journal != null ) {
+					journal.committed( appliedSequence );
+				}
 			}
 			catch (IOException ioe) {
 				handleIOException( ioe, errorContextBuilder );
@@ -168,9 +179,15 @@ public void commitIndexWriter() {
 	public void closeIndexWriter() {
 		final IndexWriter toClose = writer.getAndSet( null );
 		if ( toClose != null ) {
+			final WorkJournal journal = this.journal;
+			final long appliedSequence = journal == null ? 0 : journal.getAppliedSequence();
 			try {
+				// commits the pending changes
 				toClose.close();
 				log.trace( "IndexWriter closed" );
+				if ( journal != null ) {
+					journal.committed( appliedSequence );
+				}
 			}
 			catch (IOException ioe) {
 				forceLockRelease();
@@ -179,6 +196,10 @@ public void closeIndexWriter() {
 		}
 	}
 
+	void setWorkJournal(WorkJournal journal) {
+		this.journal = journal;
+	}
+
 	/**
 	 * Forces release of Directory lock. Should be used only to cleanup as error recovery.
 	 */
@@ -31,21 +31,36 @@ final class LuceneBackendQueueTask implements Runnable {
 	private final LuceneBackendResources resources;
 	private final Iterable<LuceneWork> workList;
 	private final IndexingMonitor monitor;
+	private final WorkJournal journal; //null when the works are not journaled
+	private final long journalSequence;
 
 	LuceneBackendQueueTask(Iterable<LuceneWork> workList, LuceneBackendResources resources, IndexingMonitor monitor) {
+		this( workList, resources, monitor, null, 0 );
+	}
+
+	/**
+	 * @param journal the journal recording the works, or {@code null}
+	 * @param journalSequence the sequence number of the journal record holding the works
+	 */
+	LuceneBackendQueueTask(Iterable<LuceneWork> workList, LuceneBackendResources resources, IndexingMonitor monitor,
+			WorkJournal journal, long journalSequence) {
 		this.workList = workList;
 		this.resources = resources;
 		this.monitor = monitor;
 		this.modificationLock = resources.getParallelModificationLock();
+		this.journal = journal;
+		this.journalSequence = journalSequence;
 	}
 
 	@Override
 	public void run() {
+		boolean interrupted = false;
 		modificationLock.lock();
 		try {
 			applyUpdates();
 		}
 		catch (InterruptedException e) {
+			interrupted = true;
 			log.interruptedWhileWaitingForIndexActivity( e );
 			Thread.currentThread().interrupt();
 			handleException( e );
@@ -56,6 +71,11 @@ public void run() {
 		}
 		finally {
 			modificationLock.unlock();
+			// failures were reported to the error handler: applying the works again wouldn't help;
+			// works not applied because of an interruption stay in the journal, to be applied on the next start
+			if ( journal != null && !interrupted ) {
+				journal.applied( journalSequence );
+			}
 		}
 	}
 
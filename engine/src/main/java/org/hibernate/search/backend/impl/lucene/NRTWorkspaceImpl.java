@@ -26,8 +26,10 @@
 import org.hibernate.search.backend.impl.CommitPolicy;
 import org.hibernate.search.backend.spi.DeleteByQueryLuceneWork;
 import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.indexes.impl.IndexReaderWarming;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
 import org.hibernate.search.spi.WorkerBuildContext;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -74,6 +76,8 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 	private final ReentrantLock writeLock = new ReentrantLock();
 	private final AtomicReference<DirectoryReader> currentReader = new AtomicReference<DirectoryReader>();
 	private final CommitPolicy commitPolicy = new NRTCommitPolicy( writerHolder );
+	private final String indexName;
+	private final IndexReaderWarmer readerWarmer;
 
 	/**
 	 * Visits {@code LuceneWork} types and applies the required kind of index flushing
@@ -123,6 +127,8 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 
 	public NRTWorkspaceImpl(DirectoryBasedIndexManager indexManager, WorkerBuildContext buildContext, Properties cfg) {
 		super( indexManager, buildContext, cfg );
+		this.indexName = indexManager.getIndexName();
+		this.readerWarmer = indexManager.getIndexReaderWarmer();
 	}
 
 	@Override
@@ -174,6 +180,9 @@ private synchronized DirectoryReader refreshReaders() {
 		final long openingGen = Math.max( readerGenRequiringFlushDeletes, readerGenRequiringFlushWrites );
 
 		final DirectoryReader newIndexReader = writerHolder.openNRTIndexReader( flushDeletes );
+		if ( newIndexReader != null ) {
+			IndexReaderWarming.warm( readerWarmer, indexName, newIndexReader, currentReader.get() );
+		}
 		final DirectoryReader oldReader = currentReader.getAndSet( newIndexReader );
 		this.currentReaderGen = openingGen;
 		try {
@@ -219,6 +228,7 @@ private DirectoryReader openIndexReader(final boolean needRefresh) {
 				indexReader = currentReader.get();
 				if ( indexReader == null ) {
 					indexReader = writerHolder.openDirectoryIndexReader();
+					IndexReaderWarming.warm( readerWarmer, indexName, indexReader, null );
 					currentReader.set( indexReader );
 				}
 			}
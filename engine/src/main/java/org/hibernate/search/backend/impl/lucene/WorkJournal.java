@@ -0,0 +1,446 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Append-only journal of the work lists submitted to the asynchronous backend of an index,
+ * so that the works which were enqueued but not committed to the index yet are not lost on a crash.
+ * <p>
+ * Work lists are appended in their serialized form and forced to disk before being enqueued;
+ * threads appending concurrently share a single fsync. Each record is identified by a sequence number:
+ * once the async executor applied a record and all the records before it, and an index commit covering
+ * them succeeded, the record is discarded. As the records are not necessarily applied in sequence order,
+ * a record applied before an earlier one is kept until the earlier one is applied too.
+ * The journal is split in segments, so that committed records can be discarded by deleting whole files;
+ * the current segment is truncated instead when all its records are committed.
+ * <p>
+ * On startup, the records still present are applied again. As some of them might have been committed
+ * already, additions are turned into updates so that no document is duplicated.
+ *
+ * @see org.hibernate.search.cfg.Environment#WORKER_JOURNAL_DIRECTORY
+ */
+final class WorkJournal {
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final String FILE_SUFFIX = ".journal";
+	private static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+	// length, sequence, checksum
+	private static final int HEADER_SIZE = 4 + 8 + 4;
+
+	private final Path directory;
+	private final String indexName;
+	private final String filePrefix;
+	private final LuceneWorkSerializer serializer;
+
+	private final ReentrantLock writeLock = new ReentrantLock();
+	//guarded by writeLock; the last one is the current segment
+	private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+	//guarded by writeLock
+	private Segment current;
+	//guarded by writeLock
+	private long lastSequence;
+
+	private final ReentrantLock syncLock = new ReentrantLock();
+	private final Condition synced = syncLock.newCondition();
+	//guarded by syncLock
+	private long durableSequence;
+	//guarded by syncLock
+	private boolean syncing;
+
+	//guarded by itself: the sequence numbers of the records not applied to the index yet
+	private final TreeSet<Long> unapplied = new TreeSet<>();
+	//guarded by unapplied
+	private long recordedSequence;
+
+	//guarded by this
+	private List<Record> pending;
+
+	private WorkJournal(Path directory, String indexName, LuceneWorkSerializer serializer) {
+		this.directory = directory;
+		this.indexName = indexName;
+		this.filePrefix = indexName.replaceAll( "[^A-Za-z0-9_\\-]", "_" ) + "-" + Integer.toHexString( indexName.hashCode() ) + ".";
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Opens the journal of an index, reading the records left by a previous run.
+	 *
+	 * @param directory the directory containing the journals
+	 * @param indexName the name of the index
+	 * @param serializer the serializer of the works
+	 * @return the journal
+	 */
+	static WorkJournal open(String directory, String indexName, LuceneWorkSerializer serializer) {
+		WorkJournal journal = new WorkJournal( Paths.get( directory ), indexName, serializer );
+		try {
+			journal.load();
+		}
+		catch (IOException | RuntimeException e) {
+			throw log.unableToOpenWorkJournal( directory, indexName, e );
+		}
+		return journal;
+	}
+
+	private void load() throws IOException {
+		Files.createDirectories( directory );
+		TreeMap<Long, Path> existingFiles = new TreeMap<>();
+		try ( DirectoryStream<Path> stream = Files.newDirectoryStream( directory, filePrefix + "*" + FILE_SUFFIX ) ) {
+			for ( Path file : stream ) {
+				String fileName = file.getFileName().toString();
+				String number = fileName.substring( filePrefix.length(), fileName.length() - FILE_SUFFIX.length() );
+				try {
+					existingFiles.put( Long.parseLong( number ), file );
+				}
+				catch (NumberFormatException e) {
+					// not one of our files
+				}
+			}
+		}
+		List<Record> records = new ArrayList<>();
+		long segmentNumber = 0;
+		for ( Map.Entry<Long, Path> file : existingFiles.entrySet() ) {
+			segmentNumber = file.getKey();
+			Segment segment = new Segment( segmentNumber, file.getValue(), lastSequence );
+			readSegment( segment, records );
+			segments.addLast( segment );
+		}
+		pending = records;
+		for ( Record record : records ) {
+			unapplied.add( record.sequence );
+		}
+		recordedSequence = lastSequence;
+		durableSequence = lastSequence;
+		current = createSegment( segmentNumber + 1 );
+		segments.addLast( current );
+	}
+
+	private void readSegment(Segment segment, List<Record> records) throws IOException {
+		ByteBuffer content = ByteBuffer.wrap( Files.readAllBytes( segment.path ) );
+		segment.size = content.limit();
+		CRC32 checksum = new CRC32();
+		while ( content.remaining() >= HEADER_SIZE ) {
+			int position = content.position();
+			int length = content.getInt();
+			long sequence = content.getLong();
+			int expectedChecksum = content.getInt();
+			if ( length < 0 || length > content.remaining() ) {
+				log.ignoringCorruptedJournalRecord( segment.path.toString(), position );
+				return;
+			}
+			byte[] data = new byte[length];
+			content.get( data );
+			checksum.reset();
+			checksum.update( data, 0, length );
+			if ( (int) checksum.getValue() != expectedChecksum ) {
+				log.ignoringCorruptedJournalRecord( segment.path.toString(), position );
+				return;
+			}
+			records.add( new Record( sequence, data ) );
+			segment.lastSequence = sequence;
+			lastSequence = Math.max( lastSequence, sequence );
+		}
+		if ( content.hasRemaining() ) {
+			log.ignoringCorruptedJournalRecord( segment.path.toString(), content.position() );
+		}
+	}
+
+	private Segment createSegment(long number) throws IOException {
+		Path path = directory.resolve( filePrefix + String.format( Locale.ROOT, "%019d", number ) + FILE_SUFFIX );
+		Segment segment = new Segment( number, path, lastSequence );
+		segment.channel = FileChannel.open( path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE );
+		return segment;
+	}
+
+	/**
+	 * Appends a work list to the journal, returning once it is durable.
+	 *
+	 * @param works the works to record
+	 * @return the sequence number of the record
+	 */
+	long append(List<LuceneWork> works) {
+		byte[] data = serializer.toSerializedModel( works );
+		CRC32 checksum = new CRC32();
+		checksum.update( data, 0, data.length );
+		ByteBuffer record = ByteBuffer.allocate( HEADER_SIZE + data.length );
+		final long sequence;
+		writeLock.lock();
+		try {
+			if ( current.size >= MAX_SEGMENT_SIZE ) {
+				roll();
+			}
+			sequence = lastSequence + 1;
+			record.putInt( data.length ).putLong( sequence ).putInt( (int) checksum.getValue() ).put( data );
+			record.flip();
+			try {
+				while ( record.hasRemaining() ) {
+					current.channel.write( record );
+				}
+			}
+			catch (IOException e) {
+				// don't leave a partial record before the next ones
+				current.channel.truncate( current.size );
+				throw e;
+			}
+			current.size += record.limit();
+			current.lastSequence = sequence;
+			lastSequence = sequence;
+			synchronized ( unapplied ) {
+				unapplied.add( sequence );
+				recordedSequence = sequence;
+			}
+		}
+		catch (IOException e) {
+			throw log.unableToWriteWorkJournal( indexName, e );
+		}
+		finally {
+			writeLock.unlock();
+		}
+		awaitDurable( sequence );
+		return sequence;
+	}
+
+	/**
+	 * Waits for the given record to be forced to disk: the first waiting thread forces
+	 * all the records appended so far while the others wait for it.
+	 */
+	private void awaitDurable(long sequence) {
+		syncLock.lock();
+		try {
+			while ( durableSequence < sequence ) {
+				if ( syncing ) {
+					synced.awaitUninterruptibly();
+					continue;
+				}
+				syncing = true;
+				long target = -1;
+				syncLock.unlock();
+				try {
+					target = sync();
+				}
+				finally {
+					syncLock.lock();
+					syncing = false;
+					durableSequence = Math.max( durableSequence, target );
+					synced.signalAll();
+				}
+			}
+		}
+		finally {
+			syncLock.unlock();
+		}
+	}
+
+	private long sync() {
+		final long target;
+		final Segment segment;
+		final FileChannel channel;
+		writeLock.lock();
+		try {
+			target = lastSequence;
+			segment = current;
+			channel = current.channel;
+		}
+		finally {
+			writeLock.unlock();
+		}
+		try {
+			channel.force( false );
+		}
+		catch (ClosedChannelException e) {
+			if ( !isRolled( segment ) ) {
+				// closed by close() or by an interruption, without being forced
+				throw log.unableToWriteWorkJournal( indexName, e );
+			}
+			// the segment was rolled meanwhile, and forced before being closed
+		}
+		catch (IOException e) {
+			throw log.unableToWriteWorkJournal( indexName, e );
+		}
+		return target;
+	}
+
+	private boolean isRolled(Segment segment) {
+		writeLock.lock();
+		try {
+			return segment != current;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void roll() throws IOException {
+		current.channel.force( false );
+		current.channel.close();
+		current.channel = null;
+		current = createSegment( current.number + 1 );
+		segments.addLast( current );
+	}
+
+	/**
+	 * @param sequence the sequence number of a record applied to the index
+	 */
+	void applied(long sequence) {
+		synchronized ( unapplied ) {
+			unapplied.remove( sequence );
+		}
+	}
+
+	/**
+	 * @return the sequence number of the last record such that it and all the records before it
+	 * were applied to the index
+	 */
+	long getAppliedSequence() {
+		synchronized ( unapplied ) {
+			return unapplied.isEmpty() ? recordedSequence : unapplied.first() - 1;
+		}
+	}
+
+	/**
+	 * Discards the records up to the given one, as a commit of the index covering them succeeded.
+	 *
+	 * @param sequence the value of {@link #getAppliedSequence()} before the commit
+	 */
+	void committed(long sequence) {
+		writeLock.lock();
+		try {
+			Iterator<Segment> iterator = segments.iterator();
+			while ( iterator.hasNext() ) {
+				Segment segment = iterator.next();
+				if ( segment.lastSequence > sequence ) {
+					break;
+				}
+				if ( segment == current ) {
+					if ( segment.size > 0 ) {
+						segment.channel.truncate( 0 );
+						segment.size = 0;
+					}
+				}
+				else {
+					Files.deleteIfExists( segment.path );
+					iterator.remove();
+				}
+			}
+		}
+		catch (IOException e) {
+			log.unableToTruncateWorkJournal( indexName, e );
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * @return the records left by a previous run, the first time this method is invoked; an empty list afterwards
+	 */
+	synchronized List<Record> takePending() {
+		List<Record> records = pending;
+		pending = Collections.emptyList();
+		return records;
+	}
+
+	/**
+	 * @param record a record left by a previous run
+	 * @return the works of the record, made safe to apply again
+	 */
+	List<LuceneWork> readWorks(Record record) {
+		List<LuceneWork> works = serializer.toLuceneWorks( record.data );
+		List<LuceneWork> idempotentWorks = new ArrayList<>( works.size() );
+		for ( LuceneWork work : works ) {
+			if ( work instanceof AddLuceneWork ) {
+				idempotentWorks.add( new UpdateLuceneWork( work.getTenantId(), work.getId(), work.getIdInString(),
+						work.getEntityClass(), work.getDocument(), work.getFieldToAnalyzerMap() ) );
+			}
+			else {
+				idempotentWorks.add( work );
+			}
+		}
+		return idempotentWorks;
+	}
+
+	/**
+	 * Closes the journal, removing the current segment if it holds no record.
+	 */
+	void close() {
+		writeLock.lock();
+		try {
+			current.channel.close();
+			if ( current.size == 0 ) {
+				Files.deleteIfExists( current.path );
+				segments.removeLast();
+			}
+		}
+		catch (IOException e) {
+			log.unableToTruncateWorkJournal( indexName, e );
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	static final class Record {
+
+		private final long sequence;
+		private final byte[] data;
+
+		private Record(long sequence, byte[] data) {
+			this.sequence = sequence;
+			this.data = data;
+		}
+
+		long getSequence() {
+			return sequence;
+		}
+	}
+
+	private static final class Segment {
+
+		private final long number;
+		private final Path path;
+		// null once the segment is not the current one anymore
+		private FileChannel channel;
+		private long size;
+		private long lastSequence;
+
+		private Segment(long number, Path path, long lastSequence) {
+			this.number = number;
+			this.path = path;
+			this.lastSequence = lastSequence;
+		}
+	}
+
+}
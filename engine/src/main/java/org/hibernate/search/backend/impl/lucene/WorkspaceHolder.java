@@ -13,6 +13,7 @@
 import org.hibernate.search.backend.BackendFactory;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.cfg.Environment;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.spi.WorkerBuildContext;
@@ -38,6 +39,7 @@ public class WorkspaceHolder {
 	private AbstractWorkspaceImpl workspaceOverride;
 	private LuceneBackendTaskStreamer streamWorker;
 	private WorkProcessor workProcessor;
+	private WorkJournal journal;
 
 	public void initialize(Properties props, WorkerBuildContext context, IndexManager indexManager) {
 		sync = BackendFactory.isConfiguredAsSync( props );
@@ -56,7 +58,12 @@ public void initialize(Properties props, WorkerBuildContext context, IndexManage
 			workProcessor = batchSyncProcessor;
 		}
 		else {
-			workProcessor = new AsyncWorkProcessor( resources );
+			String journalDirectory = props.getProperty( Environment.WORKER_JOURNAL_DIRECTORY );
+			if ( journalDirectory != null ) {
+				journal = WorkJournal.open( journalDirectory, indexName, indexManager.getSerializer() );
+				workspaceOverride.setWorkJournal( journal );
+			}
+			workProcessor = new AsyncWorkProcessor( resources, journal );
 			log.luceneBackendInitializedAsynchronously( indexName );
 		}
 	}
@@ -65,6 +72,9 @@ public void close() {
 		//The order is important! The work processor uses the resources.
 		workProcessor.shutdown();
 		resources.shutdown();
+		if ( journal != null ) {
+			journal.close();
+		}
 	}
 
 	public void applyStreamWork(LuceneWork singleOperation, IndexingMonitor monitor) {
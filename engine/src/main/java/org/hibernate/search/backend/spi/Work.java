@@ -21,6 +21,7 @@ public class Work {
 	private final WorkType type;
 	private final boolean identifierWasRolledBack;
 	private final String tenantIdentifier;
+	private final String[] dirtyPropertyNames;
 
 	public Work(Object entity, Serializable id, WorkType type) {
 		this( null, entity, null, id, type, false );
@@ -46,6 +47,20 @@ public Work(String tenantId, Object entity, Serializable id, WorkType type, bool
 		this( tenantId, entity, null, id, type, identifierRollbackEnabled );
 	}
 
+	/**
+	 * @param tenantId the tenant identifier, {@code null} if there is none
+	 * @param entity the changed entity
+	 * @param id the identifier of the entity
+	 * @param type the type of work
+	 * @param identifierRollbackEnabled whether the identifier of deleted entities is rolled back
+	 * @param dirtyPropertyNames the names of the changed properties of an updated entity, {@code null} if unknown.
+	 * When known, the entities embedding the changed entity are only reindexed if they embed a changed property.
+	 */
+	public Work(String tenantId, Object entity, Serializable id, WorkType type, boolean identifierRollbackEnabled,
+			String[] dirtyPropertyNames) {
+		this( tenantId, entity, null, id, type, identifierRollbackEnabled, dirtyPropertyNames );
+	}
+
 	public Work(String tenantId, Class<?> entityType, Serializable id, WorkType type) {
 		this( tenantId, null, entityType, id, type, false );
 	}
@@ -56,12 +71,18 @@ public Work(String tenantId, Object entity, WorkType type) {
 
 	private Work(String tenantId, Object entity, Class<?> entityClass, Serializable id,
 			WorkType type, boolean identifierWasRolledBack) {
+		this( tenantId, entity, entityClass, id, type, identifierWasRolledBack, null );
+	}
+
+	private Work(String tenantId, Object entity, Class<?> entityClass, Serializable id,
+			WorkType type, boolean identifierWasRolledBack, String[] dirtyPropertyNames) {
 		this.entity = entity;
 		this.entityClass = entityClass;
 		this.id = id;
 		this.type = type;
 		this.identifierWasRolledBack = identifierWasRolledBack;
 		this.tenantIdentifier = tenantId;
+		this.dirtyPropertyNames = dirtyPropertyNames;
 	}
 
 	public Class<?> getEntityClass() {
@@ -88,6 +109,13 @@ public boolean isIdentifierWasRolledBack() {
 		return identifierWasRolledBack;
 	}
 
+	/**
+	 * @return the names of the changed properties of an updated entity, {@code null} if unknown
+	 */
+	public String[] getDirtyPropertyNames() {
+		return dirtyPropertyNames;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder( "Work{" );
@@ -0,0 +1,61 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing;
+
+/**
+ * Optional extension of {@link MassIndexerProgressMonitor} receiving timing and
+ * queue occupancy measurements for each stage of the mass indexing pipeline,
+ * which helps to identify the bottleneck when tuning the number of threads.
+ * <p>
+ * When the configured progress monitor implements this interface as well,
+ * the MassIndexer will invoke these methods concurrently from all its threads:
+ * implementations must be threadsafe and should be cheap.
+ */
+public interface MassIndexerStageMonitor {
+
+	/**
+	 * Invoked each time a batch of primary identifiers has been fetched from the database.
+	 *
+	 * @param count the number of identifiers in the batch
+	 * @param nanos the time spent fetching them, in nanoseconds
+	 */
+	void identifiersLoaded(int count, long nanos);
+
+	/**
+	 * Invoked each time the queue of identifier batches waiting to be loaded
+	 * is accessed, by its producer or by its consumers.
+	 *
+	 * @param size the number of identifier batches currently waiting in the queue
+	 */
+	void identifierQueueSampled(int size);
+
+	/**
+	 * Invoked each time a batch of entities has been loaded from the database.
+	 *
+	 * @param count the number of loaded entities
+	 * @param nanos the time spent loading them, in nanoseconds
+	 */
+	void entityBatchLoaded(int count, long nanos);
+
+	/**
+	 * Invoked each time a {@code Document} has been built, including the time spent
+	 * initializing lazy associations and running the bridges.
+	 *
+	 * @param nanos the time spent building the document, in nanoseconds
+	 */
+	void documentBuilt(long nanos);
+
+	/**
+	 * Invoked each time an indexing work has been handed over to the backend.
+	 * A high value usually means the backend queues are full, as enqueuing blocks
+	 * until the backend catches up.
+	 *
+	 * @param nanos the time spent enqueuing the work, in nanoseconds
+	 */
+	void workEnqueued(long nanos);
+
+}
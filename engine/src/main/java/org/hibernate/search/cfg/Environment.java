@@ -14,6 +14,7 @@
 import org.hibernate.search.engine.service.named.impl.NoopNamedResolver;
 import org.hibernate.search.engine.service.named.spi.NamedResolver;
 import org.hibernate.search.engine.service.spi.Service;
+import org.hibernate.search.indexes.impl.IdleReadersClosingService;
 import org.hibernate.search.util.impl.CollectionHelper;
 
 /**
@@ -38,6 +39,17 @@ public final class Environment {
 	 */
 	public static final String DATABASE_RETRIEVAL_METHOD = "hibernate.search.query.database_retrieval_method";
 
+	/**
+	 * Property name to set the maximum number of id spaces loaded concurrently, each in a separate session,
+	 * when a query returns entities from several unrelated entity hierarchies.
+	 * Concurrently loaded entities are then reattached to the session of the query without further database access,
+	 * so lazy to-one associations of such entities can only be initialized if
+	 * {@code hibernate.enable_lazy_load_no_trans} is enabled.
+	 * <p>
+	 * Default to 1, which disables concurrent loading.
+	 */
+	public static final String OBJECT_LOADING_PARALLELISM = "hibernate.search.query.object_loading_parallelism";
+
 	/**
 	 * Enable listeners auto registration in Hibernate Annotations and EntityManager. Default to true.
 	 */
@@ -77,10 +89,33 @@ public final class Environment {
 	 */
 	public static final String WORKER_ENLIST_IN_TRANSACTION = "hibernate.search.worker.enlist_in_transaction";
 
+	/**
+	 * The number of threads building the documents of the entities changed in a transaction.
+	 * When greater than {@code 1}, the lazy properties and associations read to build the documents
+	 * are initialized by the thread committing the transaction, then the documents are built in parallel.
+	 * Field and class bridges must then not load lazy associations other than the indexed properties.
+	 * Defaults to {@code 1}: the documents are built by the thread committing the transaction.
+	 */
+	public static final String WORKER_DOCUMENT_BUILDING_THREADS = "hibernate.search.worker.document_building.threads";
+
+	/**
+	 * The minimum number of entities of a given type changed in a transaction for their documents to be built
+	 * in parallel, when {@link #WORKER_DOCUMENT_BUILDING_THREADS} is greater than {@code 1}. Defaults to {@code 500}.
+	 */
+	public static final String WORKER_DOCUMENT_BUILDING_THRESHOLD = "hibernate.search.worker.document_building.threshold";
+
 	public static final String WORKER_PREFIX = "worker.";
 	public static final String WORKER_BACKEND = WORKER_PREFIX + "backend";
 	public static final String WORKER_EXECUTION = WORKER_PREFIX + "execution";
 
+	/**
+	 * When set on an index using asynchronous execution with the Lucene backend, the works are recorded
+	 * in a journal stored in this directory before being enqueued, and the works not committed
+	 * to the index yet are applied again on startup, so that they survive a crash.
+	 * Requires a serialization provider to be available. Disabled by default.
+	 */
+	public static final String WORKER_JOURNAL_DIRECTORY = WORKER_PREFIX + "journal_directory";
+
 	/**
 	 * Defines the maximum number of indexing operation batched per transaction
 	 */
@@ -105,6 +140,41 @@ public final class Environment {
 	 */
 	public static final String ASYNC_READER_REFRESH_PERIOD_MS = READER_PREFIX + "." + "async_refresh_period_ms";
 
+	/**
+	 * When the "background" reader strategy is enabled queries use the latest index reader checked
+	 * in the background, which might be stale; this property caps how stale, in milliseconds: when the
+	 * reader was last known to be current earlier than that, queries wait for the background check.
+	 * <p>
+	 * By default queries never wait.
+	 */
+	public static final String READER_MAX_STALENESS_MS = READER_PREFIX + "." + "max_staleness_ms";
+
+	/**
+	 * When set to {@code true}, the "shared", "async" and "background" reader strategies don't open an index reader
+	 * when the index is initialized but when it's first queried, so that indexes never queried
+	 * by a node don't hold any file handle for reading.
+	 * <p>
+	 * Defaults to {@code false}.
+	 */
+	public static final String READER_LAZY = READER_PREFIX + "." + "lazy";
+
+	/**
+	 * When the "shared" reader strategy is enabled, the index reader is closed after it has not been
+	 * opened by any query for this long, in milliseconds; the next query opens a new one.
+	 * Readers still used by running queries are closed when these queries are done.
+	 * <p>
+	 * Defaults to {@code 0}: readers are never closed for being idle.
+	 */
+	public static final String READER_IDLE_TIMEOUT_MS = READER_PREFIX + "." + "idle_timeout_ms";
+
+	/**
+	 * The fully qualified name of an {@link org.hibernate.search.indexes.spi.IndexReaderWarmer}
+	 * implementation, invoked on each new index reader before it's used by queries.
+	 * <p>
+	 * No default: readers are not warmed up.
+	 */
+	public static final String READER_WARMER = READER_PREFIX + "." + "warmer";
+
 	/**
 	 * filter caching strategy class (must have a no-arg constructor and implement FilterCachingStrategy)
 	 */
@@ -241,6 +311,13 @@ public final class Environment {
 	 */
 	public static final String INDEX_MANAGER_IMPL_NAME = "indexmanager";
 
+	/**
+	 * The number of threads initializing the index managers of the statically sharded or unsharded indexes at startup,
+	 * for instance opening their directories and initial readers.
+	 * Defaults to {@code 1}: the index managers are initialized one after the other.
+	 */
+	public static final String INDEX_MANAGER_INITIALIZATION_THREADS = "hibernate.search.indexmanager_initialization.threads";
+
 	/**
 	 * Name of the JMS message property containing the index name to which to apply remote work. <i>JMSXGroupID</i> is
 	 * actually a standard JMS header field which is used for message grouping. See HSEARCH-1922.
@@ -290,12 +367,24 @@ public final class Environment {
 	 */
 	public static final String INDEX_UNINVERTING_ALLOWED = "hibernate.search.index_uninverting_allowed";
 
+	/**
+	 * When enabled, the nodes sending their indexing works to another node for them to be applied
+	 * (for instance JGroups or JMS slaves) run the analysis of the text fields locally and send the
+	 * resulting tokens, so that the receiving node only needs to index them.
+	 * <p>
+	 * Only applies to entities indexed with Lucene analyzers, and not using dynamic analyzer selection.
+	 * <p>
+	 * Allowed values are "true" and "false". Defaults to "false".
+	 */
+	public static final String SERIALIZATION_PRE_ANALYSIS = "hibernate.search.serialization.pre_analysis";
+
 	public static final Map<Class<? extends Service>, String> DEFAULT_SERVICES_MAP;
 	// TODO for now we hard code the default services. This could/should be made configurable (HF)
 	static {
-		DEFAULT_SERVICES_MAP = CollectionHelper.newHashMap( 2 );
+		DEFAULT_SERVICES_MAP = CollectionHelper.newHashMap( 3 );
 		DEFAULT_SERVICES_MAP.put( IndexManagerFactory.class, DefaultIndexManagerFactory.class.getName() );
 		DEFAULT_SERVICES_MAP.put( NamedResolver.class, NoopNamedResolver.class.getName() );
+		DEFAULT_SERVICES_MAP.put( IdleReadersClosingService.class, IdleReadersClosingService.class.getName() );
 	}
 
 	private Environment() {
@@ -63,6 +63,12 @@ public class LuceneOptionsImpl implements LuceneOptions {
 	private final Store storeType;
 	private final String indexNullAs;
 
+	/**
+	 * The type of the fields added by {@link #addFieldToDocument(String, String, Document)},
+	 * {@code null} if these fields are neither stored nor indexed.
+	 */
+	private final FieldType fieldType;
+
 	public LuceneOptionsImpl(DocumentFieldMetadata fieldMetadata, float fieldLevelBoost, float inheritedBoost) {
 		this.inheritedBoost = inheritedBoost;
 		this.indexMode = fieldMetadata.getIndex();
@@ -73,6 +79,7 @@ public LuceneOptionsImpl(DocumentFieldMetadata fieldMetadata, float fieldLevelBo
 		this.storeUncompressed = this.storeType.equals( Store.YES );
 		NullMarker nullMarker = fieldMetadata.getNullMarkerCodec().getNullMarker();
 		this.indexNullAs = nullMarker == null ? null : nullMarker.nullRepresentedAsString();
+		this.fieldType = createFieldType( storeType, indexMode, termVector );
 	}
 
 	public LuceneOptionsImpl(Index indexMode, TermVector termVector, Store store, String indexNullAs, float fieldLevelBoost, float inheritedBoost) {
@@ -84,6 +91,42 @@ public LuceneOptionsImpl(Index indexMode, TermVector termVector, Store store, St
 		this.storeCompressed = this.storeType.equals( Store.COMPRESS );
 		this.storeUncompressed = this.storeType.equals( Store.YES );
 		this.indexNullAs = indexNullAs;
+		this.fieldType = createFieldType( storeType, indexMode, termVector );
+	}
+
+	private LuceneOptionsImpl(LuceneOptionsImpl template, float fieldLevelBoost, float inheritedBoost) {
+		this.inheritedBoost = inheritedBoost;
+		this.indexMode = template.indexMode;
+		this.termVector = template.termVector;
+		this.fieldLevelBoost = fieldLevelBoost;
+		this.storeType = template.storeType;
+		this.storeCompressed = template.storeCompressed;
+		this.storeUncompressed = template.storeUncompressed;
+		this.indexNullAs = template.indexNullAs;
+		this.fieldType = template.fieldType;
+	}
+
+	private static FieldType createFieldType(Store storeType, Index indexMode, TermVector termVector) {
+		// Non-stored, non-indexed field may be declared for sorting purposes; they are not added to the document
+		if ( storeType == Store.NO && indexMode == Index.NO ) {
+			return null;
+		}
+		return Field.translateFieldType( storeType == Store.YES ? Field.Store.YES : Field.Store.NO, indexMode, termVector );
+	}
+
+	/**
+	 * Options with the same settings but different boosts. As long as no inherited boost is applied,
+	 * options don't keep any state, so the same instance is returned when the boosts are unchanged.
+	 *
+	 * @param fieldLevelBoost the boost of the field
+	 * @param inheritedBoost the boost inherited from the parent structure of the field
+	 * @return options applying the given boosts
+	 */
+	public LuceneOptionsImpl withBoosts(float fieldLevelBoost, float inheritedBoost) {
+		if ( fieldLevelBoost == this.fieldLevelBoost && inheritedBoost == 1f && this.inheritedBoost == 1f ) {
+			return this;
+		}
+		return new LuceneOptionsImpl( this, fieldLevelBoost, inheritedBoost );
 	}
 
 	@Override
@@ -101,11 +144,11 @@ public void addFieldToDocument(String name, String indexedString, Document docum
 
 	private void standardFieldAdd(String name, String indexedString, Document document) {
 		// Non-stored, non-indexed field may be declared for sorting purposes; don't add it to the document
-		if ( storeType == Store.NO && indexMode == Index.NO ) {
+		if ( fieldType == null ) {
 			return;
 		}
 
-		Field field = new Field( name, indexedString, storeUncompressed ? Field.Store.YES : Field.Store.NO, indexMode, termVector );
+		Field field = new Field( name, indexedString, fieldType );
 		setBoost( field );
 		document.add( field );
 	}
@@ -165,7 +208,7 @@ private void setBoost(Field field) {
 		 * ({@link IndexableFieldType#omitNorms()} returns true).
 		 */
 		if ( indexMode.isIndexed() && ! indexMode.omitNorms() ) {
-			if ( documentBoostApplied == false ) {
+			if ( inheritedBoost != 1f && documentBoostApplied == false ) {
 				documentBoostApplied = true;
 				//FIXME This isn't entirely accurate as in some cases the LuceneOptionsImpl
 				//is being reused for multiple fields: this needs to be significantly different,
@@ -0,0 +1,129 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Accumulates the measurements of each stage of the mass indexing pipeline,
+ * to be shared by the {@code MassIndexerProgressMonitor} implementations.
+ */
+public final class MassIndexingStageStatistics implements MassIndexerStageMonitor {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final LongAdder identifiersCount = new LongAdder();
+	private final LongAdder identifierLoadingNanos = new LongAdder();
+	private final LongAdder entitiesCount = new LongAdder();
+	private final LongAdder entityLoadingNanos = new LongAdder();
+	private final LongAdder documentsCount = new LongAdder();
+	private final LongAdder documentBuildingNanos = new LongAdder();
+	private final LongAdder enqueuedWorksCount = new LongAdder();
+	private final LongAdder workEnqueuingNanos = new LongAdder();
+	private final AtomicInteger identifierQueueSize = new AtomicInteger();
+	private final AtomicInteger identifierQueueMaxSize = new AtomicInteger();
+
+	@Override
+	public void identifiersLoaded(int count, long nanos) {
+		identifiersCount.add( count );
+		identifierLoadingNanos.add( nanos );
+	}
+
+	@Override
+	public void identifierQueueSampled(int size) {
+		identifierQueueSize.set( size );
+		int max = identifierQueueMaxSize.get();
+		while ( size > max && !identifierQueueMaxSize.compareAndSet( max, size ) ) {
+			max = identifierQueueMaxSize.get();
+		}
+	}
+
+	@Override
+	public void entityBatchLoaded(int count, long nanos) {
+		entitiesCount.add( count );
+		entityLoadingNanos.add( nanos );
+	}
+
+	@Override
+	public void documentBuilt(long nanos) {
+		documentsCount.increment();
+		documentBuildingNanos.add( nanos );
+	}
+
+	@Override
+	public void workEnqueued(long nanos) {
+		enqueuedWorksCount.increment();
+		workEnqueuingNanos.add( nanos );
+	}
+
+	/**
+	 * @return the cumulated time spent fetching primary identifiers, in milliseconds
+	 */
+	public long getIdentifierLoadingTime() {
+		return TimeUnit.NANOSECONDS.toMillis( identifierLoadingNanos.sum() );
+	}
+
+	/**
+	 * @return the cumulated time spent loading entities, in milliseconds
+	 */
+	public long getEntityLoadingTime() {
+		return TimeUnit.NANOSECONDS.toMillis( entityLoadingNanos.sum() );
+	}
+
+	/**
+	 * @return the cumulated time spent building documents, in milliseconds
+	 */
+	public long getDocumentBuildingTime() {
+		return TimeUnit.NANOSECONDS.toMillis( documentBuildingNanos.sum() );
+	}
+
+	/**
+	 * @return the cumulated time spent handing works over to the backend, in milliseconds
+	 */
+	public long getWorkEnqueuingTime() {
+		return TimeUnit.NANOSECONDS.toMillis( workEnqueuingNanos.sum() );
+	}
+
+	/**
+	 * @return the number of identifier batches waiting to be loaded, as last sampled
+	 */
+	public int getIdentifierQueueSize() {
+		return identifierQueueSize.get();
+	}
+
+	/**
+	 * @return the highest number of identifier batches waiting to be loaded observed so far
+	 */
+	public int getIdentifierQueueMaxSize() {
+		return identifierQueueMaxSize.get();
+	}
+
+	/**
+	 * Logs a summary of the time spent in each stage, with the average time per element.
+	 */
+	public void logSummary() {
+		log.massIndexingStageSummary(
+				identifiersCount.sum(), getIdentifierLoadingTime(), average( identifierLoadingNanos, identifiersCount ),
+				entitiesCount.sum(), getEntityLoadingTime(), average( entityLoadingNanos, entitiesCount ),
+				documentsCount.sum(), getDocumentBuildingTime(), average( documentBuildingNanos, documentsCount ),
+				enqueuedWorksCount.sum(), getWorkEnqueuingTime(), average( workEnqueuingNanos, enqueuedWorksCount ),
+				getIdentifierQueueMaxSize()
+		);
+	}
+
+	private static long average(LongAdder nanos, LongAdder count) {
+		long elements = count.sum();
+		return elements == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros( nanos.sum() / elements );
+	}
+
+}
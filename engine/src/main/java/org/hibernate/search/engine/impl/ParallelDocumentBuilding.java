@@ -0,0 +1,137 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.bridge.spi.ConversionContext;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Builds the documents of the entities changed in a transaction on a bounded thread pool,
+ * when enough entities of a given type changed.
+ * <p>
+ * The entities are split in contiguous chunks, each chunk being converted to works by a single thread,
+ * and the works of the chunks are enqueued in the order of the entities.
+ *
+ * @see Environment#WORKER_DOCUMENT_BUILDING_THREADS
+ */
+public final class ParallelDocumentBuilding {
+
+	private static final Log log = LoggerFactory.make();
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final int threads;
+	private final int threshold;
+	private final ThreadPoolExecutor executor;
+
+	private ParallelDocumentBuilding(int threads, int threshold) {
+		this.threads = threads;
+		this.threshold = threshold;
+		this.executor = Executors.newFixedThreadPool( threads, "Document building" );
+	}
+
+	/**
+	 * @param properties the configuration properties
+	 * @return the parallel document building, or {@code null} if documents are to be built by the committing thread
+	 */
+	public static ParallelDocumentBuilding create(Properties properties) {
+		int threads = ConfigurationParseHelper.getIntValue( properties, Environment.WORKER_DOCUMENT_BUILDING_THREADS, 1 );
+		if ( threads <= 1 ) {
+			return null;
+		}
+		int threshold = ConfigurationParseHelper.getIntValue( properties, Environment.WORKER_DOCUMENT_BUILDING_THRESHOLD, 500 );
+		return new ParallelDocumentBuilding( threads, Math.max( 1, threshold ) );
+	}
+
+	/**
+	 * @param entityCount the number of entities of a type changed in the transaction
+	 * @return {@code true} if the documents of these entities should be built in parallel
+	 */
+	boolean isParallel(int entityCount) {
+		return entityCount >= threshold;
+	}
+
+	/**
+	 * Converts the given items to works on the thread pool, waiting for all of them to be converted.
+	 *
+	 * @param items the items to convert
+	 * @param producer converts an item to works
+	 * @param luceneQueue the works are appended to this list, in the order of the items
+	 * @param <T> the type of the items
+	 */
+	<T> void enqueueLuceneWork(List<T> items, LuceneWorkProducer<T> producer, List<LuceneWork> luceneQueue) {
+		int chunkCount = Math.min( items.size(), threads * CHUNKS_PER_THREAD );
+		int chunkSize = ( items.size() + chunkCount - 1 ) / chunkCount;
+		List<Future<List<LuceneWork>>> chunks = new ArrayList<>( chunkCount );
+		for ( int start = 0; start < items.size(); start += chunkSize ) {
+			final List<T> chunk = items.subList( start, Math.min( start + chunkSize, items.size() ) );
+			chunks.add( executor.submit( () -> {
+				// conversion contexts keep the path of the property being converted, so they can't be shared
+				ConversionContext conversionContext = new ContextualExceptionBridgeHelper();
+				List<LuceneWork> works = new ArrayList<>( chunk.size() );
+				for ( T item : chunk ) {
+					producer.enqueueLuceneWork( item, works, conversionContext );
+				}
+				return works;
+			} ) );
+		}
+		try {
+			for ( Future<List<LuceneWork>> chunk : chunks ) {
+				luceneQueue.addAll( chunk.get() );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw log.interruptedWhileBuildingDocuments( e );
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new AssertionFailure( "Unexpected checked exception while building documents", cause );
+		}
+		finally {
+			for ( Future<List<LuceneWork>> chunk : chunks ) {
+				chunk.cancel( false );
+			}
+		}
+	}
+
+	public void close() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Converts an item to works.
+	 *
+	 * @param <T> the type of the items
+	 */
+	interface LuceneWorkProducer<T> {
+
+		void enqueueLuceneWork(T item, List<LuceneWork> luceneQueue, ConversionContext conversionContext);
+
+	}
+
+}
@@ -8,7 +8,10 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +32,7 @@
 import org.hibernate.search.engine.spi.AbstractDocumentBuilder;
 import org.hibernate.search.engine.spi.ContainedInRecursionContext;
 import org.hibernate.search.engine.spi.DocumentBuilderContainedEntity;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.engine.spi.EntityIndexBinding;
 import org.hibernate.search.indexes.interceptor.EntityIndexingInterceptor;
 import org.hibernate.search.indexes.interceptor.IndexingOverride;
@@ -149,9 +153,18 @@ public <T> void recurseContainedIn(T value, ContainedInRecursionContext context,
 	 * @return returns the current plan converted as a list of {@code LuceneWork}
 	 */
 	public List<LuceneWork> getPlannedLuceneWork() {
+		return getPlannedLuceneWork( null );
+	}
+
+	/**
+	 * @param parallelDocumentBuilding builds the documents of the types having many changed entities in parallel,
+	 * or {@code null} to build all documents on the current thread
+	 * @return returns the current plan converted as a list of {@code LuceneWork}
+	 */
+	public List<LuceneWork> getPlannedLuceneWork(ParallelDocumentBuilding parallelDocumentBuilding) {
 		List<LuceneWork> luceneQueue = new ArrayList<LuceneWork>();
 		for ( PerClassWork perClassWork : byClass.values() ) {
-			perClassWork.enqueueLuceneWork( luceneQueue );
+			perClassWork.enqueueLuceneWork( luceneQueue, parallelDocumentBuilding );
 		}
 		return luceneQueue;
 	}
@@ -265,8 +278,9 @@ private Serializable extractProperId(Work work) {
 		 * the LuceneWork queue.
 		 *
 		 * @param luceneQueue work will be appended to this list
+		 * @param parallelDocumentBuilding builds the documents in parallel, or {@code null}
 		 */
-		public void enqueueLuceneWork(List<LuceneWork> luceneQueue) {
+		public void enqueueLuceneWork(List<LuceneWork> luceneQueue, ParallelDocumentBuilding parallelDocumentBuilding) {
 			final Set<Entry<Serializable, PerEntityWork>> entityInstances = entityById.entrySet();
 			ConversionContext conversionContext = new ContextualExceptionBridgeHelper();
 			if ( purgeAll ) {
@@ -275,6 +289,11 @@ public void enqueueLuceneWork(List<LuceneWork> luceneQueue) {
 			for ( DeletionQuery delQuery : this.deletionQueries ) {
 				luceneQueue.add( new DeleteByQueryLuceneWork( tenantId, entityClass, delQuery ) );
 			}
+			if ( parallelDocumentBuilding != null && documentBuilder instanceof DocumentBuilderIndexedEntity
+					&& parallelDocumentBuilding.isParallel( entityInstances.size() ) ) {
+				enqueueLuceneWorkInParallel( luceneQueue, parallelDocumentBuilding );
+				return;
+			}
 			for ( Entry<Serializable, PerEntityWork> entry : entityInstances ) {
 				Serializable indexingId = entry.getKey();
 				PerEntityWork perEntityWork = entry.getValue();
@@ -283,6 +302,24 @@ public void enqueueLuceneWork(List<LuceneWork> luceneQueue) {
 			}
 		}
 
+		private void enqueueLuceneWorkInParallel(List<LuceneWork> luceneQueue, ParallelDocumentBuilding parallelDocumentBuilding) {
+			DocumentBuilderIndexedEntity indexedEntityBuilder = (DocumentBuilderIndexedEntity) documentBuilder;
+			List<Entry<Serializable, PerEntityWork>> entries = new ArrayList<>( entityById.entrySet() );
+			// lazy loading is bound to the current thread: load what is needed before building the documents
+			for ( Entry<Serializable, PerEntityWork> entry : entries ) {
+				entry.getValue().initializeIndexedProperties( indexedEntityBuilder );
+			}
+			parallelDocumentBuilding.enqueueLuceneWork(
+					entries,
+					(entry, queue, conversionContext) -> {
+						PerEntityWork perEntityWork = entry.getValue();
+						perEntityWork.enqueueLuceneWork( perEntityWork.getTenantIdentifier(), entityClass, entry.getKey(),
+								documentBuilder, queue, conversionContext );
+					},
+					luceneQueue
+			);
+		}
+
 		/**
 		 * Starts processing the {@code ContainedIn} annotation for all instances stored in
 		 * {@link #entityById}.
@@ -395,6 +432,12 @@ private static class PerEntityWork {
 		 */
 		private boolean containedInProcessed = false;
 
+		/**
+		 * The properties changed by the updates of this entity, used to skip the ContainedIn
+		 * processing of the containers which don't embed them; {@code null} when unknown.
+		 */
+		private Set<String> dirtyPropertyNames;
+
 		private final String tenantId;
 
 		/**
@@ -422,6 +465,9 @@ private PerEntityWork(Work work) {
 			entity = work.getEntity();
 			tenantId = work.getTenantIdentifier();
 			WorkType type = work.getType();
+			if ( type == WorkType.UPDATE && work.getDirtyPropertyNames() != null ) {
+				dirtyPropertyNames = new HashSet<>( Arrays.asList( work.getDirtyPropertyNames() ) );
+			}
 			// sets the initial state:
 			switch ( type ) {
 				case ADD:
@@ -463,6 +509,14 @@ private PerEntityWork(Work work) {
 		public void addWork(Work work) {
 			entity = work.getEntity();
 			WorkType type = work.getType();
+			if ( dirtyPropertyNames != null ) {
+				if ( type == WorkType.UPDATE && work.getDirtyPropertyNames() != null ) {
+					Collections.addAll( dirtyPropertyNames, work.getDirtyPropertyNames() );
+				}
+				else {
+					dirtyPropertyNames = null;
+				}
+			}
 			switch ( type ) {
 				case INDEX:
 				case UPDATE:
@@ -521,6 +575,17 @@ public void enqueueLuceneWork(String tenantIdentifier, Class entityClass, Serial
 			}
 		}
 
+		/**
+		 * Initializes the entity if a document is to be built for it.
+		 *
+		 * @param entityBuilder the DocumentBuilder for this type
+		 */
+		public void initializeIndexedProperties(DocumentBuilderIndexedEntity entityBuilder) {
+			if ( add && entity != null ) {
+				entityBuilder.initializeIndexedProperties( entity );
+			}
+		}
+
 		/**
 		 * Works via recursion passing the WorkPlan over, so that additional work can be planned
 		 * according to the needs of ContainedIn processing.
@@ -534,7 +599,7 @@ public void processContainedIn(AbstractDocumentBuilder entityBuilder, WorkPlan w
 			if ( entity != null && !containedInProcessed ) {
 				containedInProcessed = true;
 				if ( add || delete ) {
-					entityBuilder.appendContainedInWorkForInstance( entity, workplan, null, getTenantIdentifier() );
+					entityBuilder.appendContainedInWorkForInstance( entity, workplan, null, getTenantIdentifier(), dirtyPropertyNames );
 				}
 			}
 		}
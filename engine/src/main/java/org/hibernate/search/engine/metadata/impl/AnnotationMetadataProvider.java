@@ -111,6 +111,7 @@ public class AnnotationMetadataProvider implements MetadataProvider {
 	private final ReflectionManager reflectionManager;
 	private final ConfigContext configContext;
 	private final BridgeFactory bridgeFactory;
+	private final AnnotationScanCache scanCache = new AnnotationScanCache();
 
 	private final Class<? extends Annotation> jpaIdClass;
 	private final Class<? extends Annotation> jpaEmbeddedIdClass;
@@ -197,10 +198,18 @@ private XPackage packageInfo(Class<?> clazz) {
 		}
 	}
 
+	/**
+	 * Forgets the annotations scanned so far: to be called once the metadata of all the mapped types are built,
+	 * as the scanned properties of a large model are not needed afterwards.
+	 */
+	public void releaseScanCache() {
+		scanCache.clear();
+	}
+
 	@Override
 	public boolean containsSearchMetadata(Class<?> clazz) {
 		XClass xClass = reflectionManager.toXClass( clazz );
-		return ReflectionHelper.containsSearchAnnotations( xClass );
+		return scanCache.containsSearchAnnotations( xClass );
 	}
 
 	private void checkDocumentId(XProperty member,
@@ -568,11 +577,11 @@ private void initializeClass(TypeMetadata.Builder typeMetadataBuilder,
 		// iterate again for the properties and fields
 		for ( XClass currentClass : hierarchy ) {
 			parseContext.setCurrentClass( currentClass );
-			boolean hasExplicitDocumentId = hasExplicitDocumentId( currentClass );
+			boolean hasExplicitDocumentId = scanCache.hasExplicitDocumentId( currentClass );
 
 			// rejecting non properties (ie regular methods) because the object is loaded from Hibernate,
 			// so indexing a non property does not make sense
-			List<XProperty> methods = currentClass.getDeclaredProperties( XClass.ACCESS_PROPERTY );
+			List<XProperty> methods = scanCache.getDeclaredProperties( currentClass, XClass.ACCESS_PROPERTY );
 			for ( XProperty method : methods ) {
 				initializeMemberLevelAnnotations(
 						prefix,
@@ -588,7 +597,7 @@ private void initializeClass(TypeMetadata.Builder typeMetadataBuilder,
 				);
 			}
 
-			List<XProperty> fields = currentClass.getDeclaredProperties( XClass.ACCESS_FIELD );
+			List<XProperty> fields = scanCache.getDeclaredProperties( currentClass, XClass.ACCESS_FIELD );
 			for ( XProperty field : fields ) {
 				initializeMemberLevelAnnotations(
 						prefix,
@@ -889,7 +898,7 @@ private FieldBridge determineSpatialFieldBridge(Spatial spatialAnnotation, Parse
 			String latitudeField = null;
 			String longitudeField = null;
 
-			List<XProperty> fieldList = clazz.getDeclaredProperties( XClass.ACCESS_FIELD );
+			List<XProperty> fieldList = scanCache.getDeclaredProperties( clazz, XClass.ACCESS_FIELD );
 
 			for ( XProperty property : fieldList ) {
 				if ( property.isAnnotationPresent( Latitude.class ) && ( property.getAnnotation( Latitude.class ) ).of()
@@ -912,7 +921,7 @@ private FieldBridge determineSpatialFieldBridge(Spatial spatialAnnotation, Parse
 				}
 			}
 
-			List<XProperty> propertyList = clazz.getDeclaredProperties( XClass.ACCESS_PROPERTY );
+			List<XProperty> propertyList = scanCache.getDeclaredProperties( clazz, XClass.ACCESS_PROPERTY );
 
 			for ( XProperty property : propertyList ) {
 				if ( property.isAnnotationPresent( Latitude.class ) && ( property.getAnnotation( Latitude.class ) ).of()
@@ -1083,7 +1092,7 @@ private ContainedInMetadata createContainedInMetadata(XProperty member) {
 	private void updateContainedInMetadata(ContainedInMetadataBuilder containedInMetadataBuilder, XProperty propertyWithContainedIn, String accessType) {
 		XClass memberReturnedType = returnedType( propertyWithContainedIn );
 		String mappedBy = mappedBy( propertyWithContainedIn );
-		List<XProperty> returnedTypeProperties = memberReturnedType.getDeclaredProperties( accessType );
+		List<XProperty> returnedTypeProperties = scanCache.getDeclaredProperties( memberReturnedType, accessType );
 		for ( XProperty property : returnedTypeProperties ) {
 			if ( isCorrespondingIndexedEmbedded( propertyWithContainedIn, mappedBy, property ) ) {
 				updateContainedInMetadataForProperty( containedInMetadataBuilder, property );
@@ -2039,22 +2048,4 @@ private FieldMetadataBuilderImpl getBridgeContributedFieldMetadata(DocumentField
 		metadataProvidingFieldBridge.configureFieldMetadata( fieldMetadataBuilder.getAbsoluteName(), builder );
 		return builder;
 	}
-
-	private boolean hasExplicitDocumentId(XClass type) {
-		List<XProperty> methods = type.getDeclaredProperties( XClass.ACCESS_PROPERTY );
-		for ( XProperty method : methods ) {
-			if ( method.isAnnotationPresent( DocumentId.class ) ) {
-				return true;
-			}
-		}
-
-		List<XProperty> fields = type.getDeclaredProperties( XClass.ACCESS_FIELD );
-		for ( XProperty field : fields ) {
-			if ( field.isAnnotationPresent( DocumentId.class ) ) {
-				return true;
-			}
-		}
-
-		return false;
-	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metadata.impl;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.annotations.common.reflection.XClass;
+import org.hibernate.annotations.common.reflection.XProperty;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.util.impl.ReflectionHelper;
+
+/**
+ * Remembers what was found when scanning the annotations of a class, so that a class is scanned once
+ * even when it is visited for each class extending it, for each {@code @IndexedEmbedded} and
+ * {@code @ContainedIn} pointing to it, and at each embedding depth.
+ * <p>
+ * {@link XClass#getDeclaredProperties(String)} reflects on the declared fields and methods again
+ * at each call, which makes most of the cost of building the metadata of large models.
+ * <p>
+ * Not thread safe: the metadata are built by a single thread.
+ *
+ * @see AnnotationMetadataProvider
+ */
+final class AnnotationScanCache {
+
+	private final Map<XClass, List<XProperty>> declaredFields = new HashMap<>();
+	private final Map<XClass, List<XProperty>> declaredMethods = new HashMap<>();
+	private final Map<XClass, Boolean> explicitDocumentIds = new HashMap<>();
+	private final Map<XClass, Boolean> localSearchAnnotations = new HashMap<>();
+
+	/**
+	 * @param xClass the class declaring the properties
+	 * @param accessType {@link XClass#ACCESS_FIELD} or {@link XClass#ACCESS_PROPERTY}
+	 * @return the properties declared by the class, not to be modified
+	 * @see XClass#getDeclaredProperties(String)
+	 */
+	List<XProperty> getDeclaredProperties(XClass xClass, String accessType) {
+		Map<XClass, List<XProperty>> cache;
+		if ( XClass.ACCESS_FIELD.equals( accessType ) ) {
+			cache = declaredFields;
+		}
+		else if ( XClass.ACCESS_PROPERTY.equals( accessType ) ) {
+			cache = declaredMethods;
+		}
+		else {
+			return xClass.getDeclaredProperties( accessType );
+		}
+		List<XProperty> properties = cache.get( xClass );
+		if ( properties == null ) {
+			properties = Collections.unmodifiableList( xClass.getDeclaredProperties( accessType ) );
+			cache.put( xClass, properties );
+		}
+		return properties;
+	}
+
+	/**
+	 * @param xClass the class to check
+	 * @return {@code true} if a field or a getter declared by the class is annotated with {@code @DocumentId}
+	 */
+	boolean hasExplicitDocumentId(XClass xClass) {
+		Boolean explicitDocumentId = explicitDocumentIds.get( xClass );
+		if ( explicitDocumentId == null ) {
+			explicitDocumentId = isAnnotationPresent( getDeclaredProperties( xClass, XClass.ACCESS_PROPERTY ), DocumentId.class )
+					|| isAnnotationPresent( getDeclaredProperties( xClass, XClass.ACCESS_FIELD ), DocumentId.class );
+			explicitDocumentIds.put( xClass, explicitDocumentId );
+		}
+		return explicitDocumentId;
+	}
+
+	/**
+	 * @param xClass the class to check
+	 * @return {@code true} if the class, one of its superclasses or one of their fields or getters
+	 * is annotated with a Search annotation
+	 * @see ReflectionHelper#containsSearchAnnotations(XClass)
+	 */
+	boolean containsSearchAnnotations(XClass xClass) {
+		for ( XClass currentClass : ReflectionHelper.createXClassHierarchy( xClass ) ) {
+			if ( containsLocalSearchAnnotation( currentClass ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean containsLocalSearchAnnotation(XClass xClass) {
+		Boolean containsSearchAnnotation = localSearchAnnotations.get( xClass );
+		if ( containsSearchAnnotation == null ) {
+			containsSearchAnnotation = containsSearchAnnotation( xClass.getAnnotations() )
+					|| containsSearchAnnotation( getDeclaredProperties( xClass, XClass.ACCESS_PROPERTY ) )
+					|| containsSearchAnnotation( getDeclaredProperties( xClass, XClass.ACCESS_FIELD ) );
+			localSearchAnnotations.put( xClass, containsSearchAnnotation );
+		}
+		return containsSearchAnnotation;
+	}
+
+	void clear() {
+		declaredFields.clear();
+		declaredMethods.clear();
+		explicitDocumentIds.clear();
+		localSearchAnnotations.clear();
+	}
+
+	private static boolean isAnnotationPresent(List<XProperty> properties, Class<? extends Annotation> annotationType) {
+		for ( XProperty property : properties ) {
+			if ( property.isAnnotationPresent( annotationType ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsSearchAnnotation(List<XProperty> properties) {
+		for ( XProperty property : properties ) {
+			if ( containsSearchAnnotation( property.getAnnotations() ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsSearchAnnotation(Annotation[] annotations) {
+		for ( Annotation annotation : annotations ) {
+			if ( ReflectionHelper.isSearchAnnotation( annotation ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
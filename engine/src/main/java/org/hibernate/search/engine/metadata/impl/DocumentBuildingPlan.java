@@ -0,0 +1,192 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engine.metadata.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.common.reflection.XMember;
+import org.hibernate.search.bridge.FieldBridge;
+
+/**
+ * The steps adding the fields of a type to a document, resolved once from its {@link TypeMetadata}
+ * so that building a document walks arrays of steps instead of looking up the metadata of each
+ * property, field, facet and sortable field for every entity.
+ * <p>
+ * The include paths and depth limits of embedded types need no step: the metadata of an embedded
+ * type only contains the fields which are included.
+ *
+ * @see TypeMetadata#getDocumentBuildingPlan()
+ */
+public final class DocumentBuildingPlan {
+
+	private static final FacetMetadata[] NO_FACETS = new FacetMetadata[0];
+
+	private final DocumentFieldMetadata[] classBridgeFields;
+	private final PropertyStep[] propertySteps;
+	private final EmbeddedTypeMetadata[] embeddedTypes;
+
+	DocumentBuildingPlan(TypeMetadata typeMetadata) {
+		this.classBridgeFields = typeMetadata.getClassBridgeMetadata()
+				.toArray( new DocumentFieldMetadata[typeMetadata.getClassBridgeMetadata().size()] );
+		this.embeddedTypes = typeMetadata.getEmbeddedTypeMetadata()
+				.toArray( new EmbeddedTypeMetadata[typeMetadata.getEmbeddedTypeMetadata().size()] );
+		List<PropertyStep> steps = new ArrayList<>( typeMetadata.getAllPropertyMetadata().size() );
+		XMember previousMember = null;
+		for ( PropertyMetadata propertyMetadata : typeMetadata.getAllPropertyMetadata() ) {
+			XMember member = propertyMetadata.getPropertyAccessor();
+			steps.add( new PropertyStep( propertyMetadata, previousMember != member ) );
+			previousMember = member;
+		}
+		this.propertySteps = steps.toArray( new PropertyStep[steps.size()] );
+	}
+
+	public DocumentFieldMetadata[] getClassBridgeFields() {
+		return classBridgeFields;
+	}
+
+	public PropertyStep[] getPropertySteps() {
+		return propertySteps;
+	}
+
+	public EmbeddedTypeMetadata[] getEmbeddedTypes() {
+		return embeddedTypes;
+	}
+
+	/**
+	 * Adds the fields of a property.
+	 */
+	public static final class PropertyStep {
+
+		private final PropertyMetadata propertyMetadata;
+		private final String propertyName;
+		private final boolean readingValue;
+		private final boolean collection;
+		private final boolean array;
+		private final FieldStep[] fieldSteps;
+		private final SortStep[] sortSteps;
+
+		private PropertyStep(PropertyMetadata propertyMetadata, boolean readingValue) {
+			XMember member = propertyMetadata.getPropertyAccessor();
+			this.propertyMetadata = propertyMetadata;
+			this.propertyName = propertyMetadata.getPropertyAccessorName();
+			this.readingValue = readingValue;
+			this.collection = member.isCollection();
+			this.array = member.isArray();
+
+			List<FieldStep> fields = new ArrayList<>( propertyMetadata.getFieldMetadataSet().size() );
+			for ( DocumentFieldMetadata fieldMetadata : propertyMetadata.getFieldMetadataSet() ) {
+				fields.add( new FieldStep( fieldMetadata ) );
+			}
+			this.fieldSteps = fields.toArray( new FieldStep[fields.size()] );
+
+			List<SortStep> sorts = new ArrayList<>( propertyMetadata.getSortableFieldMetadata().size() );
+			for ( SortableFieldMetadata sortField : propertyMetadata.getSortableFieldMetadata() ) {
+				// field marked as sortable by custom bridge to allow sort field validation pass, but that bridge itself is
+				// in charge of adding the required field
+				if ( propertyMetadata.getDeclaringType().getBridgeDefinedFieldMetadataFor( sortField.getAbsoluteName() ) == null ) {
+					sorts.add( new SortStep( sortField, propertyMetadata.getFieldMetadata( sortField.getAbsoluteName() ) ) );
+				}
+			}
+			this.sortSteps = sorts.toArray( new SortStep[sorts.size()] );
+		}
+
+		public PropertyMetadata getPropertyMetadata() {
+			return propertyMetadata;
+		}
+
+		public String getPropertyName() {
+			return propertyName;
+		}
+
+		/**
+		 * @return {@code true} if the value of the property must be read, {@code false} if the previous step
+		 * read the same property
+		 */
+		public boolean isReadingValue() {
+			return readingValue;
+		}
+
+		public boolean isCollection() {
+			return collection;
+		}
+
+		public boolean isArray() {
+			return array;
+		}
+
+		public FieldStep[] getFieldSteps() {
+			return fieldSteps;
+		}
+
+		public SortStep[] getSortSteps() {
+			return sortSteps;
+		}
+	}
+
+	/**
+	 * Adds a document field through its bridge, along with its facets.
+	 */
+	public static final class FieldStep {
+
+		private final DocumentFieldMetadata fieldMetadata;
+		private final FieldBridge fieldBridge;
+		private final String fieldName;
+		private final FacetMetadata[] facets;
+
+		private FieldStep(DocumentFieldMetadata fieldMetadata) {
+			this.fieldMetadata = fieldMetadata;
+			this.fieldBridge = fieldMetadata.getFieldBridge();
+			this.fieldName = fieldMetadata.getAbsoluteName();
+			this.facets = fieldMetadata.hasFacets()
+					? fieldMetadata.getFacetMetadata().toArray( new FacetMetadata[fieldMetadata.getFacetMetadata().size()] )
+					: NO_FACETS;
+		}
+
+		public DocumentFieldMetadata getFieldMetadata() {
+			return fieldMetadata;
+		}
+
+		public FieldBridge getFieldBridge() {
+			return fieldBridge;
+		}
+
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		public FacetMetadata[] getFacets() {
+			return facets;
+		}
+	}
+
+	/**
+	 * Adds the doc value field of a sortable field, from the field added by its bridge.
+	 */
+	public static final class SortStep {
+
+		private final String absoluteName;
+		private final DocumentFieldMetadata fieldMetadata;
+
+		private SortStep(SortableFieldMetadata sortField, DocumentFieldMetadata fieldMetadata) {
+			this.absoluteName = sortField.getAbsoluteName();
+			this.fieldMetadata = fieldMetadata;
+		}
+
+		public String getAbsoluteName() {
+			return absoluteName;
+		}
+
+		/**
+		 * @return the metadata of the field with the same name, {@code null} if there is none
+		 */
+		public DocumentFieldMetadata getFieldMetadata() {
+			return fieldMetadata;
+		}
+	}
+
+}
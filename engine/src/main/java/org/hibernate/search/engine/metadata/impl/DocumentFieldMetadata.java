@@ -18,6 +18,7 @@
 import org.hibernate.search.annotations.NumericField;
 import org.hibernate.search.annotations.Store;
 import org.hibernate.search.bridge.FieldBridge;
+import org.hibernate.search.engine.impl.LuceneOptionsImpl;
 import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata.Builder;
 import org.hibernate.search.engine.nulls.codec.impl.NotEncodingCodec;
 import org.hibernate.search.engine.nulls.codec.impl.NullMarkerCodec;
@@ -58,6 +59,11 @@ public class DocumentFieldMetadata implements PartialDocumentFieldMetadata {
 	 */
 	private final Map<String, BridgeDefinedField> bridgeDefinedFields;
 
+	/**
+	 * The options to index this field with its static boost only, shared by all documents.
+	 */
+	private final LuceneOptionsImpl luceneOptions;
+
 	private DocumentFieldMetadata(Builder builder) {
 		this.sourceType = builder.sourceType;
 		this.sourceProperty = builder.sourceProperty;
@@ -78,6 +84,7 @@ private DocumentFieldMetadata(Builder builder) {
 		this.numericEncodingType = builder.numericEncodingType;
 		this.facetMetadata = Collections.unmodifiableSet( builder.facetMetadata );
 		this.bridgeDefinedFields = Collections.unmodifiableMap( builder.bridgeDefinedFields );
+		this.luceneOptions = new LuceneOptionsImpl( this, boost == null ? 1f : boost, 1f );
 	}
 
 	/**
@@ -146,6 +153,14 @@ public AnalyzerReference getAnalyzerReference() {
 		return analyzerReference;
 	}
 
+	/**
+	 * @return The options to index this field, applying its static boost only. Use
+	 * {@link LuceneOptionsImpl#withBoosts(float, float)} to apply dynamic or inherited boosts.
+	 */
+	public LuceneOptionsImpl getLuceneOptions() {
+		return luceneOptions;
+	}
+
 	public NullMarkerCodec getNullMarkerCodec() {
 		return nullMarkerCodec;
 	}
@@ -27,6 +27,7 @@
 import org.hibernate.search.engine.BoostStrategy;
 import org.hibernate.search.engine.impl.MutableAnalyzerRegistry;
 import org.hibernate.search.engine.impl.ConfigContext;
+import org.hibernate.search.engine.impl.DefaultBoostStrategy;
 import org.hibernate.search.engine.impl.LuceneOptionsImpl;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.spi.IndexManagerType;
@@ -146,6 +147,11 @@ public class TypeMetadata {
 	 */
 	private final Set<String> collectionRoles;
 
+	/**
+	 * The steps to add the fields of this type to a document, resolved on first use
+	 */
+	private volatile DocumentBuildingPlan documentBuildingPlan;
+
 	/**
 	 * Flag indicating whether the JPA @Id is used as document id. See {@link org.hibernate.search.engine.impl.WorkPlan}
 	 */
@@ -284,6 +290,19 @@ public List<EmbeddedTypeMetadata> getEmbeddedTypeMetadata() {
 		return Collections.unmodifiableList( new ArrayList<EmbeddedTypeMetadata>( embeddedTypeMetadata ) );
 	}
 
+	/**
+	 * @return The steps to add the fields of this type to a document.
+	 */
+	public DocumentBuildingPlan getDocumentBuildingPlan() {
+		DocumentBuildingPlan plan = documentBuildingPlan;
+		if ( plan == null ) {
+			// resolved lazily, as the metadata of the declaring types is only available once they are built
+			plan = new DocumentBuildingPlan( this );
+			documentBuildingPlan = plan;
+		}
+		return plan;
+	}
+
 	public Set<ContainedInMetadata> getContainedInMetadata() {
 		return containedInMetadata;
 	}
@@ -326,17 +345,18 @@ public void disableStateInspectionOptimizations() {
 	}
 
 	public LuceneOptions getClassLuceneOptions(DocumentFieldMetadata fieldMetadata, float documentLevelBoost) {
-		return new LuceneOptionsImpl( fieldMetadata, 1f, documentLevelBoost );
+		return fieldMetadata.getLuceneOptions().withBoosts( 1f, documentLevelBoost );
 	}
 
 	public LuceneOptions getFieldLuceneOptions(PropertyMetadata propertyMetadata,
 			DocumentFieldMetadata fieldMetadata,
 			Object value, float inheritedBoost) {
-		return new LuceneOptionsImpl(
-				fieldMetadata,
-				fieldMetadata.getBoost() * propertyMetadata.getDynamicBoostStrategy().defineBoost( value ),
-				inheritedBoost
-		);
+		LuceneOptionsImpl luceneOptions = fieldMetadata.getLuceneOptions();
+		BoostStrategy dynamicBoostStrategy = propertyMetadata.getDynamicBoostStrategy();
+		if ( dynamicBoostStrategy == DefaultBoostStrategy.INSTANCE ) {
+			return luceneOptions.withBoosts( luceneOptions.getBoost(), inheritedBoost );
+		}
+		return luceneOptions.withBoosts( luceneOptions.getBoost() * dynamicBoostStrategy.defineBoost( value ), inheritedBoost );
 	}
 
 	public BoostStrategy getDynamicBoost() {
@@ -9,6 +9,7 @@
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@
 import org.hibernate.search.engine.impl.DefaultBoostStrategy;
 import org.hibernate.search.engine.impl.WorkPlan;
 import org.hibernate.search.engine.metadata.impl.ContainedInMetadata;
+import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata;
 import org.hibernate.search.engine.metadata.impl.EmbeddedTypeMetadata;
 import org.hibernate.search.engine.metadata.impl.PropertyMetadata;
 import org.hibernate.search.engine.metadata.impl.TypeMetadata;
@@ -48,6 +50,12 @@ public abstract class AbstractDocumentBuilder {
 	private final TypeMetadata typeMetadata;
 	private final InstanceInitializer instanceInitializer;
 
+	/**
+	 * The properties embedded through each {@code @ContainedIn} limited by include paths,
+	 * absent for those embedding every indexed property or fields we can't trace back to a property
+	 */
+	private final Map<ContainedInMetadata, Set<String>> containedInEmbeddedProperties;
+
 	private boolean isRoot;
 	private Set<Class<?>> mappedSubclasses = new HashSet<Class<?>>();
 
@@ -76,6 +84,7 @@ public AbstractDocumentBuilder(XClass xClass,
 		this.beanXClass = xClass;
 		this.beanClass = reflectionManager.toClass( xClass );
 		this.typeMetadata = typeMetadata;
+		this.containedInEmbeddedProperties = collectContainedInEmbeddedProperties( typeMetadata );
 
 		optimizationBlackList.addAll( typeMetadata.getOptimizationBlackList() );
 	}
@@ -181,7 +190,34 @@ public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan,
 	 * @see #appendContainedInWorkForInstance(Object, WorkPlan, ContainedInRecursionContext)
 	 */
 	public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan, ContainedInRecursionContext currentRecursionContext, String tenantIdentifier) {
+		appendContainedInWorkForInstance( instance, workPlan, currentRecursionContext, tenantIdentifier, null );
+	}
+
+	/**
+	 * If we have a work instance we have to check whether the instance to be indexed is contained in any other indexed entities for a tenant,
+	 * skipping the entities which don't embed any of the changed properties.
+	 *
+	 * @param instance the instance to be indexed
+	 * @param workPlan the current work plan
+	 * @param currentRecursionContext the current {@link org.hibernate.search.engine.spi.ContainedInRecursionContext} object used to check the graph traversal
+	 * @param tenantIdentifier the identifier of the tenant or null, if there isn't one
+	 * @param dirtyPropertyNames the names of the changed properties of the instance, {@code null} if unknown
+	 * @see #appendContainedInWorkForInstance(Object, WorkPlan, ContainedInRecursionContext, String)
+	 */
+	public void appendContainedInWorkForInstance(Object instance, WorkPlan workPlan, ContainedInRecursionContext currentRecursionContext,
+			String tenantIdentifier, Set<String> dirtyPropertyNames) {
+		boolean skipUnchangedContainers = dirtyPropertyNames != null && !dirtyPropertyNames.isEmpty()
+				&& !containedInEmbeddedProperties.isEmpty() && stateInspectionOptimizationsEnabled();
 		for ( ContainedInMetadata containedInMetadata : typeMetadata.getContainedInMetadata() ) {
+			if ( skipUnchangedContainers ) {
+				Set<String> embeddedProperties = containedInEmbeddedProperties.get( containedInMetadata );
+				if ( embeddedProperties != null && Collections.disjoint( embeddedProperties, dirtyPropertyNames ) ) {
+					log.tracef( "Skipping @ContainedIn %s: none of the changed properties %s is embedded",
+							containedInMetadata.getContainedInMember().getName(), dirtyPropertyNames );
+					continue;
+				}
+			}
+
 			XMember member = containedInMetadata.getContainedInMember();
 			Object unproxiedInstance = instanceInitializer.unproxy( instance );
 
@@ -232,6 +268,71 @@ else if ( member.isCollection() ) {
 		}
 	}
 
+	private static Map<ContainedInMetadata, Set<String>> collectContainedInEmbeddedProperties(TypeMetadata typeMetadata) {
+		Map<ContainedInMetadata, Set<String>> embeddedPropertiesByContainedIn = new HashMap<>();
+		for ( ContainedInMetadata containedInMetadata : typeMetadata.getContainedInMetadata() ) {
+			Set<String> embeddedProperties = collectEmbeddedProperties( typeMetadata, containedInMetadata );
+			if ( embeddedProperties != null ) {
+				embeddedPropertiesByContainedIn.put( containedInMetadata, embeddedProperties );
+			}
+		}
+		return embeddedPropertiesByContainedIn.isEmpty()
+				? Collections.<ContainedInMetadata, Set<String>>emptyMap()
+				: embeddedPropertiesByContainedIn;
+	}
+
+	/**
+	 * @return the names of the properties from which the fields selected by the include paths of the
+	 * matching {@code @IndexedEmbedded} are built, along with the {@code @ContainedIn} property itself,
+	 * or {@code null} if any property may affect them
+	 */
+	private static Set<String> collectEmbeddedProperties(TypeMetadata typeMetadata, ContainedInMetadata containedInMetadata) {
+		Set<String> includePaths = containedInMetadata.getIncludePaths();
+		Integer maxDepth = containedInMetadata.getMaxDepth();
+		// same rule as in updateContainedInRecursionContext: the include paths only limit the embedded fields with the default depth
+		if ( includePaths == null || includePaths.isEmpty() || maxDepth == null || !maxDepth.equals( Integer.MAX_VALUE ) ) {
+			return null;
+		}
+		Set<String> embeddedProperties = new HashSet<>();
+		for ( String includePath : includePaths ) {
+			if ( !collectPropertiesForPath( typeMetadata, includePath, embeddedProperties ) ) {
+				// e.g. a field added by a class bridge or a custom field bridge
+				return null;
+			}
+		}
+		// moving the instance to another container changes the embedded fields of the new container
+		embeddedProperties.add( containedInMetadata.getContainedInMember().getName() );
+		return Collections.unmodifiableSet( embeddedProperties );
+	}
+
+	private static boolean collectPropertiesForPath(TypeMetadata typeMetadata, String path, Set<String> propertyNames) {
+		boolean found = false;
+		PropertyMetadata idPropertyMetadata = typeMetadata.getIdPropertyMetadata();
+		if ( idPropertyMetadata != null ) {
+			found |= collectPropertyForPath( idPropertyMetadata, path, propertyNames );
+		}
+		for ( PropertyMetadata propertyMetadata : typeMetadata.getAllPropertyMetadata() ) {
+			found |= collectPropertyForPath( propertyMetadata, path, propertyNames );
+		}
+		for ( EmbeddedTypeMetadata embeddedTypeMetadata : typeMetadata.getEmbeddedTypeMetadata() ) {
+			if ( path.startsWith( embeddedTypeMetadata.getEmbeddedFieldPrefix() ) ) {
+				propertyNames.add( embeddedTypeMetadata.getEmbeddedPropertyName() );
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	private static boolean collectPropertyForPath(PropertyMetadata propertyMetadata, String path, Set<String> propertyNames) {
+		for ( DocumentFieldMetadata fieldMetadata : propertyMetadata.getFieldMetadataSet() ) {
+			if ( fieldMetadata.getAbsoluteName().equals( path ) ) {
+				propertyNames.add( propertyMetadata.getPropertyAccessorName() );
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected InstanceInitializer getInstanceInitializer() {
 		return instanceInitializer;
 	}
@@ -59,13 +59,16 @@
 import org.hibernate.search.engine.impl.ConfigContext;
 import org.hibernate.search.engine.impl.FacetHandling;
 import org.hibernate.search.engine.impl.LuceneOptionsImpl;
+import org.hibernate.search.engine.metadata.impl.DocumentBuildingPlan;
+import org.hibernate.search.engine.metadata.impl.DocumentBuildingPlan.FieldStep;
+import org.hibernate.search.engine.metadata.impl.DocumentBuildingPlan.PropertyStep;
+import org.hibernate.search.engine.metadata.impl.DocumentBuildingPlan.SortStep;
 import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata;
 import org.hibernate.search.engine.metadata.impl.DocumentFieldPath;
 import org.hibernate.search.engine.metadata.impl.EmbeddedTypeMetadata;
 import org.hibernate.search.engine.metadata.impl.FacetMetadata;
 import org.hibernate.search.engine.metadata.impl.PropertyMetadata;
 import org.hibernate.search.engine.metadata.impl.BackReference;
-import org.hibernate.search.engine.metadata.impl.SortableFieldMetadata;
 import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.engine.nesting.impl.DefaultNestingContextFactory;
 import org.hibernate.search.engine.nesting.impl.NestingContext;
@@ -112,7 +115,7 @@ public class DocumentBuilderIndexedEntity extends AbstractDocumentBuilder {
 				)
 						.boost( 1F )
 						.build();
-		NULL_EMBEDDED_MARKER_OPTIONS = new LuceneOptionsImpl( fieldMetadata, 1f, 1f );
+		NULL_EMBEDDED_MARKER_OPTIONS = fieldMetadata.getLuceneOptions();
 	}
 
 	private static final FieldType TENANT_ID_FIELDTYPE = createTenantIdFieldType();
@@ -367,7 +370,7 @@ public Document getDocument(
 		// now add the entity id to the document
 		if ( containsFieldName( idFieldName, includedFieldNames ) ) {
 			DocumentFieldMetadata idFieldMetaData = idPropertyMetadata.getFieldMetadata( idFieldName );
-			LuceneOptions luceneOptions = new LuceneOptionsImpl( idFieldMetaData, idFieldMetaData.getBoost(), documentLevelBoost );
+			LuceneOptions luceneOptions = idFieldMetaData.getLuceneOptions().withBoosts( idFieldMetaData.getBoost(), documentLevelBoost );
 			final FieldBridge contextualizedBridge = conversionContext.oneWayConversionContext( getIdBridge() );
 			conversionContext.setClass( entityType );
 
@@ -450,12 +453,14 @@ private void buildDocumentFields(Object instance,
 
 		// needed for field access: I cannot work in the proxied version
 		Object unproxiedInstance = unproxy( instance, objectInitializer );
+		DocumentBuildingPlan plan = typeMetadata.getDocumentBuildingPlan();
 
-		buildDocumentFieldForClassBridges( doc, typeMetadata, conversionContext, inheritedBoost, unproxiedInstance );
+		buildDocumentFieldForClassBridges( doc, typeMetadata, plan, conversionContext, inheritedBoost, unproxiedInstance );
 		buildDocumentFieldsForProperties(
 				doc,
 				faceting,
 				typeMetadata,
+				plan,
 				conversionContext,
 				objectInitializer,
 				inheritedBoost,
@@ -471,7 +476,7 @@ private void buildDocumentFields(Object instance,
 		buildDocumentFieldsForEmbeddedObjects(
 				doc,
 				faceting,
-				typeMetadata,
+				plan,
 				fieldToAnalyzerMap,
 				processedFieldNames,
 				conversionContext,
@@ -485,7 +490,7 @@ private void buildDocumentFields(Object instance,
 
 	private void buildDocumentFieldsForEmbeddedObjects(Document doc,
 			FacetHandling faceting,
-			TypeMetadata typeMetadata,
+			DocumentBuildingPlan plan,
 			Map<String, String> fieldToAnalyzerMap,
 			Set<String> processedFieldNames,
 			ConversionContext conversionContext,
@@ -494,14 +499,13 @@ private void buildDocumentFieldsForEmbeddedObjects(Document doc,
 			Object unproxiedInstance,
 			boolean isParentPropertyMultiValued,
 			NestingContext nestingContext) {
-		for ( EmbeddedTypeMetadata embeddedTypeMetadata : typeMetadata.getEmbeddedTypeMetadata() ) {
-			XMember member = embeddedTypeMetadata.getEmbeddedGetter();
+		for ( EmbeddedTypeMetadata embeddedTypeMetadata : plan.getEmbeddedTypes() ) {
 			float embeddedBoost = inheritedBoost * embeddedTypeMetadata.getStaticBoost();
 
 			conversionContext.pushProperty( embeddedTypeMetadata.getEmbeddedPropertyName() );
 			nestingContext.push( embeddedTypeMetadata );
 			try {
-				Object value = ReflectionHelper.getMemberValue( unproxiedInstance, member );
+				Object value = ReflectionHelper.getMemberValue( unproxiedInstance, embeddedTypeMetadata.getEmbeddedGetter() );
 				if ( value == null ) {
 					/*
 					 * This must be executed after the "nestingContext.push" so as to
@@ -615,48 +619,32 @@ private void buildDocumentFieldsForEmbeddedObjects(Document doc,
 	private void buildDocumentFieldsForProperties(Document document,
 			FacetHandling faceting,
 			TypeMetadata typeMetadata,
+			DocumentBuildingPlan plan,
 			ConversionContext conversionContext,
 			InstanceInitializer objectInitializer,
 			float documentBoost,
 			Object unproxiedInstance,
 			boolean isParentPropertyMultiValued) {
-		XMember previousMember = null;
 		Object currentFieldValue = null;
 
-		for ( PropertyMetadata propertyMetadata : typeMetadata.getAllPropertyMetadata() ) {
-			XMember member = propertyMetadata.getPropertyAccessor();
-			if ( previousMember != member ) {
-				currentFieldValue = unproxy(
-						ReflectionHelper.getMemberValue( unproxiedInstance, member ),
-						objectInitializer
-				);
-				previousMember = member;
-				if ( member.isCollection() ) {
-					if ( currentFieldValue instanceof Collection ) {
-						objectInitializer.initializeCollection( (Collection) currentFieldValue );
-					}
-					else if ( currentFieldValue instanceof Map ) {
-						objectInitializer.initializeMap( (Map) currentFieldValue );
-					}
-				}
-				else if ( member.isArray() && currentFieldValue instanceof Object[] ) {
-					objectInitializer.initializeArray( (Object[]) currentFieldValue );
-				}
+		for ( PropertyStep propertyStep : plan.getPropertySteps() ) {
+			PropertyMetadata propertyMetadata = propertyStep.getPropertyMetadata();
+			if ( propertyStep.isReadingValue() ) {
+				currentFieldValue = readPropertyValue( propertyStep, unproxiedInstance, objectInitializer );
 			}
 
 			try {
-				conversionContext.pushProperty( propertyMetadata.getPropertyAccessorName() );
+				conversionContext.pushProperty( propertyStep.getPropertyName() );
 
-				for ( DocumentFieldMetadata fieldMetadata : propertyMetadata.getFieldMetadataSet() ) {
-					final FieldBridge fieldBridge = fieldMetadata.getFieldBridge();
-					final String fieldName = fieldMetadata.getAbsoluteName();
+				for ( FieldStep fieldStep : propertyStep.getFieldSteps() ) {
+					final DocumentFieldMetadata fieldMetadata = fieldStep.getFieldMetadata();
 					final FieldBridge oneWayConversionContext = conversionContext.oneWayConversionContext(
-							fieldBridge
+							fieldStep.getFieldBridge()
 					);
 
 					// handle the default field creation via the bridge
 					oneWayConversionContext.set(
-							fieldName,
+							fieldStep.getFieldName(),
 							currentFieldValue,
 							document,
 							typeMetadata.getFieldLuceneOptions(
@@ -665,37 +653,35 @@ else if ( member.isArray() && currentFieldValue instanceof Object[] ) {
 					);
 
 					// handle faceting fields
-					if ( fieldMetadata.hasFacets() ) {
+					for ( FacetMetadata facetMetadata : fieldStep.getFacets() ) {
 						faceting.enableFacetProcessing();
-						for ( FacetMetadata facetMetadata : fieldMetadata.getFacetMetadata() ) {
-							boolean multiValued = isParentPropertyMultiValued;
-
-							if ( member.isCollection() && currentFieldValue instanceof Collection ) {
-								multiValued = true;
-								for ( Object element : (Collection<?>) currentFieldValue ) {
-									addFacetDocValues( document, fieldMetadata, facetMetadata, element );
-								}
-							}
-							else if ( member.isCollection() && currentFieldValue instanceof Map ) {
-								multiValued = true;
-								for ( Object element : ((Map<?,?>) currentFieldValue).values() ) {
-									addFacetDocValues( document, fieldMetadata, facetMetadata, element );
-								}
+						boolean multiValued = isParentPropertyMultiValued;
+
+						if ( propertyStep.isCollection() && currentFieldValue instanceof Collection ) {
+							multiValued = true;
+							for ( Object element : (Collection<?>) currentFieldValue ) {
+								addFacetDocValues( document, fieldMetadata, facetMetadata, element );
 							}
-							else if ( member.isArray() ) {
-								multiValued = true;
-								// Use CollectionHelper.iterableFromArray to also support arrays of primitive values
-								for ( Object element : CollectionHelper.iterableFromArray( currentFieldValue ) ) {
-									addFacetDocValues( document, fieldMetadata, facetMetadata, element );
-								}
+						}
+						else if ( propertyStep.isCollection() && currentFieldValue instanceof Map ) {
+							multiValued = true;
+							for ( Object element : ((Map<?,?>) currentFieldValue).values() ) {
+								addFacetDocValues( document, fieldMetadata, facetMetadata, element );
 							}
-							else {
-								addFacetDocValues( document, fieldMetadata, facetMetadata, currentFieldValue );
+						}
+						else if ( propertyStep.isArray() ) {
+							multiValued = true;
+							// Use CollectionHelper.iterableFromArray to also support arrays of primitive values
+							for ( Object element : CollectionHelper.iterableFromArray( currentFieldValue ) ) {
+								addFacetDocValues( document, fieldMetadata, facetMetadata, element );
 							}
+						}
+						else {
+							addFacetDocValues( document, fieldMetadata, facetMetadata, currentFieldValue );
+						}
 
-							if ( multiValued ) {
-								faceting.setMultiValued( facetMetadata.getAbsoluteName() );
-							}
+						if ( multiValued ) {
+							faceting.setMultiValued( facetMetadata.getAbsoluteName() );
 						}
 					}
 				}
@@ -703,7 +689,7 @@ else if ( member.isArray() ) {
 				// add the doc value fields required for sorting, but only if this property is not part of an embedded
 				// to-many assoc, in which case sorting on these fields would not make sense
 				if ( !isParentPropertyMultiValued ) {
-					addSortFieldDocValues( document, propertyMetadata, documentBoost, currentFieldValue );
+					addSortFieldDocValues( document, propertyStep, documentBoost, currentFieldValue );
 				}
 			}
 			finally {
@@ -712,6 +698,83 @@ else if ( member.isArray() ) {
 		}
 	}
 
+	private Object readPropertyValue(PropertyStep propertyStep, Object unproxiedInstance, InstanceInitializer objectInitializer) {
+		Object value = unproxy(
+				ReflectionHelper.getMemberValue( unproxiedInstance, propertyStep.getPropertyMetadata().getPropertyAccessor() ),
+				objectInitializer
+		);
+		if ( propertyStep.isCollection() ) {
+			if ( value instanceof Collection ) {
+				objectInitializer.initializeCollection( (Collection) value );
+			}
+			else if ( value instanceof Map ) {
+				objectInitializer.initializeMap( (Map) value );
+			}
+		}
+		else if ( propertyStep.isArray() && value instanceof Object[] ) {
+			objectInitializer.initializeArray( (Object[]) value );
+		}
+		return value;
+	}
+
+	/**
+	 * Initializes the properties, associations and collections of an entity which are read to build its document,
+	 * including the ones of its embedded objects, so that the document can then be built by another thread
+	 * without loading anything lazily. The associations navigated by field and class bridges are not initialized.
+	 *
+	 * @param instance the entity to initialize
+	 */
+	public void initializeIndexedProperties(Object instance) {
+		initializeIndexedProperties( instance, getMetadata(), getInstanceInitializer() );
+	}
+
+	private void initializeIndexedProperties(Object instance, TypeMetadata typeMetadata, InstanceInitializer objectInitializer) {
+		Object unproxiedInstance = unproxy( instance, objectInitializer );
+		if ( unproxiedInstance == null ) {
+			return;
+		}
+		DocumentBuildingPlan plan = typeMetadata.getDocumentBuildingPlan();
+		for ( PropertyStep propertyStep : plan.getPropertySteps() ) {
+			if ( propertyStep.isReadingValue() ) {
+				readPropertyValue( propertyStep, unproxiedInstance, objectInitializer );
+			}
+		}
+		for ( EmbeddedTypeMetadata embeddedTypeMetadata : plan.getEmbeddedTypes() ) {
+			Object value = ReflectionHelper.getMemberValue( unproxiedInstance, embeddedTypeMetadata.getEmbeddedGetter() );
+			if ( value == null ) {
+				continue;
+			}
+			switch ( embeddedTypeMetadata.getEmbeddedContainer() ) {
+				case ARRAY:
+					if ( value instanceof Object[] ) {
+						objectInitializer.initializeArray( (Object[]) value );
+					}
+					for ( Object arrayValue : CollectionHelper.iterableFromArray( value ) ) {
+						initializeIndexedProperties( arrayValue, embeddedTypeMetadata, objectInitializer );
+					}
+					break;
+				case COLLECTION:
+					for ( Object collectionValue : objectInitializer.initializeCollection( (Collection<?>) value ) ) {
+						initializeIndexedProperties( collectionValue, embeddedTypeMetadata, objectInitializer );
+					}
+					break;
+				case MAP:
+					for ( Object mapValue : objectInitializer.initializeMap( (Map<?, ?>) value ).values() ) {
+						initializeIndexedProperties( mapValue, embeddedTypeMetadata, objectInitializer );
+					}
+					break;
+				case OBJECT:
+					initializeIndexedProperties( value, embeddedTypeMetadata, objectInitializer );
+					break;
+				default:
+					throw new AssertionFailure(
+							"Unknown embedded container: "
+									+ embeddedTypeMetadata.getEmbeddedContainer()
+					);
+			}
+		}
+	}
+
 	private void addFacetDocValues(Document document,
 			DocumentFieldMetadata fieldMetadata,
 			FacetMetadata facetMetadata,
@@ -801,15 +864,10 @@ else if ( Calendar.class.isAssignableFrom( value.getClass() ) ) {
 	 * For non-numeric fields, if the field value is supposed to be analyzed, the analysis will be performed by
 	 * this method, because Lucene does not analyze SortedDocValuesFields values automatically.
 	 */
-	private void addSortFieldDocValues(Document document, PropertyMetadata propertyMetadata, float documentBoost, Object propertyValue) {
-		for ( SortableFieldMetadata sortField : propertyMetadata.getSortableFieldMetadata() ) {
-			// field marked as sortable by custom bridge to allow sort field validation pass, but that bridge itself is
-			// in charge of adding the required field
-			if ( propertyMetadata.getDeclaringType().getBridgeDefinedFieldMetadataFor( sortField.getAbsoluteName() ) != null ) {
-				continue;
-			}
-
-			DocumentFieldMetadata fieldMetaData = propertyMetadata.getFieldMetadata( sortField.getAbsoluteName() );
+	private void addSortFieldDocValues(Document document, PropertyStep propertyStep, float documentBoost, Object propertyValue) {
+		PropertyMetadata propertyMetadata = propertyStep.getPropertyMetadata();
+		for ( SortStep sortField : propertyStep.getSortSteps() ) {
+			DocumentFieldMetadata fieldMetaData = sortField.getFieldMetadata();
 			if ( fieldMetaData == null ) {
 				throw new AssertionFailure( "A sortable field did not match neither an @Field nor a bridge-defined field" );
 			}
@@ -881,9 +939,9 @@ else if ( numericValue instanceof Float ) {
 	}
 
 	private void buildDocumentFieldForClassBridges(Document doc,
-			TypeMetadata typeMetadata,
+			TypeMetadata typeMetadata, DocumentBuildingPlan plan,
 			ConversionContext conversionContext, float documentBoost, Object unproxiedInstance) {
-		for ( DocumentFieldMetadata fieldMetadata : typeMetadata.getClassBridgeMetadata() ) {
+		for ( DocumentFieldMetadata fieldMetadata : plan.getClassBridgeFields() ) {
 			FieldBridge fieldBridge = fieldMetadata.getFieldBridge();
 			final String fieldName = fieldMetadata.getAbsoluteName();
 			final FieldBridge oneWayConversionContext = conversionContext.oneWayConversionContext( fieldBridge );
@@ -0,0 +1,399 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.store.DirectoryProvider;
+import org.hibernate.search.util.impl.Executors;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * This <code>ReaderProvider</code> shares IndexReaders among threads like {@link SharingBufferReaderProvider},
+ * but never reopens them on the query threads: each request for a reader returns the latest published one
+ * immediately, and triggers a check of the index on a background thread. When the commit generation
+ * of the index changed, the reader is reopened, warmed up and published for the next queries.
+ *
+ * Unlike {@link PeriodicRefreshingReaderProvider}, the index is only checked when it's queried, and the reader
+ * is reopened as soon as a change is detected rather than at a fixed rate.
+ *
+ * Queries might thus use a slightly out of date reader; to cap how much, a maximum staleness can be
+ * configured with {@link org.hibernate.search.cfg.Environment#READER_MAX_STALENESS_MS}: queries wait for
+ * the background check when the published reader was last known to be current earlier than that.
+ */
+public class BackgroundRefreshingReaderProvider implements DirectoryBasedReaderProvider {
+
+	private static final Log log = LoggerFactory.make();
+
+	/**
+	 * contains all Readers (most current per Directory and all unclosed old readers)
+	 */
+	protected final Map<IndexReader, ReaderUsagePair> allReaders = new ConcurrentHashMap<IndexReader, ReaderUsagePair>();
+
+	/**
+	 * contains last published Reader per Directory
+	 */
+	protected final Map<Directory, PerDirectoryLatestReader> currentReaders = new ConcurrentHashMap<Directory, PerDirectoryLatestReader>();
+
+	private volatile ExecutorService refreshExecutor;
+	private long maxStalenessNanos;
+
+	private DirectoryProvider directoryProvider;
+	private String indexName;
+	private IndexReaderWarmer readerWarmer;
+
+	@Override
+	public IndexReader openIndexReader() {
+		log.tracef( "Opening IndexReader for directoryProvider %s", indexName );
+		Directory directory = directoryProvider.getDirectory();
+		PerDirectoryLatestReader directoryLatestReader = currentReaders.get( directory );
+		// might eg happen for FSSlaveDirectoryProvider, for mutable SearchFactory or for lazy readers
+		if ( directoryLatestReader == null ) {
+			directoryLatestReader = createReader( directory );
+		}
+		return directoryLatestReader.getLatestReader();
+	}
+
+	@Override
+	public void closeIndexReader(IndexReader reader) {
+		if ( reader == null ) {
+			return;
+		}
+		log.tracef( "Closing IndexReader: %s", reader );
+		ReaderUsagePair container = allReaders.get( reader );
+		container.close(); //virtual
+	}
+
+	//overridable method for testability:
+	protected DirectoryReader readerFactory(final Directory directory) throws IOException {
+		return DirectoryReader.open( directory );
+	}
+
+	@Override
+	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		this.directoryProvider = indexManager.getDirectoryProvider();
+		this.indexName = indexManager.getIndexName();
+		this.readerWarmer = indexManager.getIndexReaderWarmer();
+		long maxStaleness = PropertiesParseHelper.extractReaderMaxStaleness( props );
+		this.maxStalenessNanos = maxStaleness < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos( maxStaleness );
+		this.refreshExecutor = Executors.newFixedThreadPool( 1, "IndexReader background refreshing task for index " + indexName );
+		if ( !PropertiesParseHelper.isLazyReaderEnabled( props ) ) {
+			// Initialize at least one, don't forget directoryProvider might return a different Directory later
+			createReader( directoryProvider.getDirectory() );
+		}
+	}
+
+	@Override
+	public void stop() {
+		if ( refreshExecutor != null ) {
+			ExecutorService executorService = refreshExecutor;
+			refreshExecutor = null;
+			executorService.shutdown();
+			// a check still running might publish a new reader: don't close the readers before it's done
+			boolean interrupted = false;
+			boolean terminated = false;
+			while ( !terminated ) {
+				try {
+					terminated = executorService.awaitTermination( 1, TimeUnit.SECONDS );
+					if ( !terminated ) {
+						log.timedOutWaitingShutdownOfReaderProvider( indexName );
+					}
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		for ( IndexReader reader : allReaders.keySet() ) {
+			ReaderUsagePair usage = allReaders.get( reader );
+			usage.close();
+		}
+
+		if ( allReaders.size() != 0 ) {
+			log.readersNotProperlyClosedInReaderProvider();
+		}
+	}
+
+	/**
+	 * Thread safe creation of <code>PerDirectoryLatestReader</code>.
+	 *
+	 * @param directory The Lucene directory for which to create the reader.
+	 * @return either the cached instance for the specified <code>Directory</code> or a newly created one.
+	 */
+	private synchronized PerDirectoryLatestReader createReader(Directory directory) {
+		PerDirectoryLatestReader reader = currentReaders.get( directory );
+		if ( reader != null ) {
+			return reader;
+		}
+
+		try {
+			reader = new PerDirectoryLatestReader( directory );
+			currentReaders.put( directory, reader );
+			return reader;
+		}
+		catch (IOException e) {
+			throw new SearchException( "Unable to open Lucene IndexReader for IndexManager " + this.indexName, e );
+		}
+	}
+
+	/**
+	 * Container for the couple IndexReader,UsageCounter.
+	 */
+	protected final class ReaderUsagePair {
+
+		public final DirectoryReader reader;
+		/**
+		 * When reaching 0 (always test on change) the reader should be really
+		 * closed and then discarded.
+		 * Starts at 1 because the readers are opened by the background thread,
+		 * which doesn't use them: the token means "current" is not to be closed.
+		 */
+		protected final AtomicInteger usageCounter = new AtomicInteger( 1 );
+
+		ReaderUsagePair(DirectoryReader r) {
+			reader = r;
+		}
+
+		/**
+		 * Closes the <code>IndexReader</code> if no other resource is using it
+		 * in which case the reference to this container will also be removed.
+		 */
+		public void close() {
+			int refCount = usageCounter.decrementAndGet();
+			if ( refCount == 0 ) {
+				ReaderUsagePair removed = allReaders.remove( reader );//remove ourself
+				try {
+					reader.close();
+				}
+				catch (IOException e) {
+					log.unableToCloseLuceneIndexReader( e );
+				}
+				assert removed != null;
+			}
+			else if ( refCount < 0 ) {
+				//doesn't happen with current code, could help spotting future bugs?
+				throw new AssertionFailure(
+						"Closing an IndexReader for which you didn't own a lock-token, or somebody else which didn't own closed already."
+				);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Reader:" + this.hashCode() + " ref.count=" + usageCounter.get();
+		}
+
+	}
+
+	/**
+	 * An instance for each DirectoryProvider, pointing to the "current" ReaderUsagePair
+	 * for each DirectoryProvider and to the background check of its index, if any.
+	 */
+	protected final class PerDirectoryLatestReader implements Runnable {
+
+		/**
+		 * Reference to the most current IndexReader for a DirectoryProvider
+		 * guarded by read/write locks rl and wl; only replaced by the background thread.
+		 */
+		private ReaderUsagePair current;
+
+		/**
+		 * Read/Write locks to ensure the current IndexReader isn't closed while
+		 * it's being grabbed for usage.
+		 */
+		private final Lock rl;
+		private final Lock wl;
+
+		/**
+		 * The check of the index requested by the queries, running or waiting to run on the background thread;
+		 * guarded by this.
+		 */
+		private Check pendingCheck;
+
+		/**
+		 * {@link System#nanoTime()} when the last check finding the current reader in sync with the index started.
+		 */
+		private volatile long currentSinceNanos;
+
+		/**
+		 * @param directory The <code>Directory</code> for which we manage the <code>IndexReader</code>.
+		 *
+		 * @throws IOException when the index initialization fails.
+		 */
+		public PerDirectoryLatestReader(Directory directory) throws IOException {
+			ReadWriteLock rwl = new ReentrantReadWriteLock();
+			rl = rwl.readLock();
+			wl = rwl.writeLock();
+			currentSinceNanos = System.nanoTime();
+			DirectoryReader reader = readerFactory( directory );
+			IndexReaderWarming.warm( readerWarmer, indexName, reader, null );
+			ReaderUsagePair initialPair = new ReaderUsagePair( reader );
+			wl.lock();
+			current = initialPair;
+			wl.unlock();//only to ensure safe publication of 'current' to requestors using the lock.
+			allReaders.put( reader, initialPair );
+		}
+
+		/**
+		 * Returns the latest published IndexReader, after requesting a check of the index in the background.
+		 * Only waits for the check when the published reader was not found current by a check started
+		 * within the maximum staleness.
+		 *
+		 * @return the latest published IndexReader
+		 */
+		public DirectoryReader getLatestReader() {
+			if ( maxStalenessNanos < 0 ) {
+				requestCheck( null );
+			}
+			else {
+				final Long oldestAcceptedNanos = System.nanoTime() - maxStalenessNanos;
+				Check check = requestCheck( oldestAcceptedNanos );
+				while ( currentSinceNanos - oldestAcceptedNanos < 0 ) {
+					if ( !awaitCheck( check ) ) {
+						break;
+					}
+					if ( check.observesIndexAfter( oldestAcceptedNanos ) ) {
+						// the check failed, which was logged by the background thread: use the reader we have
+						break;
+					}
+					// the check started too early to observe the changes this query must see
+					check = requestCheck( oldestAcceptedNanos );
+				}
+			}
+			rl.lock();
+			ReaderUsagePair readerUsagePair = current;
+			readerUsagePair.usageCounter.incrementAndGet();
+			rl.unlock();
+			return readerUsagePair.reader;
+		}
+
+		/**
+		 * @param oldestAcceptedNanos the {@link System#nanoTime()} before which the check must not have started,
+		 * or {@code null} if any pending check will do
+		 * @return the pending check, or a new one if there is none or it started too early
+		 */
+		private synchronized Check requestCheck(Long oldestAcceptedNanos) {
+			if ( pendingCheck == null || pendingCheck.isDone()
+					|| oldestAcceptedNanos != null && !pendingCheck.observesIndexAfter( oldestAcceptedNanos ) ) {
+				ExecutorService executorService = refreshExecutor;
+				if ( executorService == null ) {
+					throw new AssertionFailure( "IndexReader requested after ReaderProvider is shutdown" );
+				}
+				pendingCheck = new Check();
+				executorService.execute( pendingCheck );
+			}
+			return pendingCheck;
+		}
+
+		/**
+		 * @return {@code false} if the thread was interrupted while waiting
+		 */
+		private boolean awaitCheck(Check check) {
+			try {
+				check.get();
+				return true;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			catch (ExecutionException e) {
+				// failures are logged by the background thread
+				return true;
+			}
+		}
+
+		/**
+		 * Checks whether the index changed since the current reader was opened, and reopens it if so.
+		 * Runs on the background thread.
+		 */
+		@Override
+		public void run() {
+			final long checkStartNanos = System.nanoTime();
+			final ReaderUsagePair readerUsagePair = current; //only written by this thread
+			final DirectoryReader beforeUpdateReader = readerUsagePair.reader;
+			try {
+				// only reads the generation of the last commit:
+				if ( !beforeUpdateReader.isCurrent() ) {
+					final DirectoryReader updatedReader = DirectoryReader.openIfChanged( beforeUpdateReader );
+					if ( updatedReader != null ) {
+						IndexReaderWarming.warm( readerWarmer, indexName, updatedReader, beforeUpdateReader );
+						ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
+						allReaders.put( updatedReader, newPair );
+						//Acquire the write-lock, both for visibility reasons and to
+						//make sure a client can get it and increment the usage counter atomically.
+						wl.lock();
+						try {
+							current = newPair;
+						}
+						finally {
+							wl.unlock();
+						}
+						readerUsagePair.close();// release a token as it's not the current any more.
+					}
+				}
+				currentSinceNanos = checkStartNanos;
+			}
+			catch (IOException | RuntimeException e) {
+				log.unableToRefreshIndexReaderInBackground( indexName, e );
+			}
+		}
+
+		/**
+		 * A check of the index, remembering when it started.
+		 */
+		private final class Check extends FutureTask<Void> {
+
+			private volatile boolean started;
+			private volatile long startNanos;
+
+			Check() {
+				super( PerDirectoryLatestReader.this, null );
+			}
+
+			@Override
+			public void run() {
+				startNanos = System.nanoTime();
+				started = true;
+				super.run();
+			}
+
+			/**
+			 * @param nanos a {@link System#nanoTime()} in the past
+			 * @return {@code true} if this check reads the index after the given time
+			 */
+			boolean observesIndexAfter(long nanos) {
+				return !started || startNanos - nanos >= 0;
+			}
+		}
+
+	}
+
+}
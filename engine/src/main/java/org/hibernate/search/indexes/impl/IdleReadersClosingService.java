@@ -0,0 +1,49 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.engine.service.spi.Service;
+import org.hibernate.search.engine.service.spi.Startable;
+import org.hibernate.search.engine.service.spi.Stoppable;
+import org.hibernate.search.spi.BuildContext;
+import org.hibernate.search.util.impl.Executors;
+
+/**
+ * Runs the tasks closing idle IndexReaders for the reader providers of all indexes,
+ * so that enabling {@link org.hibernate.search.cfg.Environment#READER_IDLE_TIMEOUT_MS}
+ * doesn't start a thread per index.
+ */
+public class IdleReadersClosingService implements Service, Startable, Stoppable {
+
+	private ScheduledExecutorService scheduledExecutorService;
+
+	@Override
+	public void start(Properties properties, BuildContext context) {
+		scheduledExecutorService = Executors.newScheduledThreadPool( "Idle IndexReader closing task" );
+	}
+
+	/**
+	 * @param task the task closing the idle readers of an index; it must not throw exceptions, as that would cancel
+	 * its next executions
+	 * @param idleTimeout the idle timeout of the index, in milliseconds, also used as the delay between two executions
+	 * @return the handle to cancel the task when the reader provider is stopped
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long idleTimeout) {
+		return scheduledExecutorService.scheduleWithFixedDelay( task, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS );
+	}
+
+	@Override
+	public void stop() {
+		scheduledExecutorService.shutdownNow();
+	}
+
+}
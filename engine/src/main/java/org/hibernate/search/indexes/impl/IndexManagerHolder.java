@@ -6,11 +6,20 @@
  */
 package org.hibernate.search.indexes.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.search.similarities.ClassicSimilarity;
 import org.apache.lucene.search.similarities.Similarity;
@@ -44,6 +53,7 @@
 import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.configuration.impl.MaskedProperty;
 import org.hibernate.search.util.impl.ClassLoaderHelper;
+import org.hibernate.search.util.impl.Executors;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -136,6 +146,130 @@ public synchronized MutableEntityIndexBinding buildEntityIndexBinding(
 		);
 	}
 
+	/**
+	 * Creates and initializes, on {@link Environment#INDEX_MANAGER_INITIALIZATION_THREADS} threads, the
+	 * {@code IndexManager}s which {@link #buildEntityIndexBinding} will need for the given entities, so that
+	 * opening their directories and readers doesn't happen one index after the other.
+	 * <p>
+	 * Indexes using dynamic sharding are left out, their {@code IndexManager}s being created on demand.
+	 * If some {@code IndexManager}s can't be initialized, none is registered and the failure of the first one,
+	 * in the order of the entities and shards, is thrown.
+	 *
+	 * @param entities the indexed entities, in the order in which their bindings will be built
+	 * @param cfg the search configuration
+	 * @param buildContext the build context
+	 */
+	public synchronized void initializeIndexManagers(List<XClass> entities, SearchConfiguration cfg, WorkerBuildContext buildContext) {
+		int threads = ConfigurationParseHelper.getIntValue(
+				cfg.getProperties(), Environment.INDEX_MANAGER_INITIALIZATION_THREADS, 1
+		);
+		if ( threads <= 1 ) {
+			return;
+		}
+
+		Map<String, PendingIndexManager> pendingIndexManagers = new LinkedHashMap<>();
+		for ( XClass entity : entities ) {
+			String indexName = getIndexName( entity, cfg );
+			Properties[] indexProperties = getIndexProperties( cfg, indexName );
+			if ( isShardingDynamic( indexProperties[0], buildContext ) ) {
+				continue;
+			}
+			Similarity similarity = createSimilarity( indexName, cfg, indexProperties[0], entity, buildContext );
+			for ( int index = 0; index < indexProperties.length; index++ ) {
+				String indexManagerName = indexProperties.length > 1 ?
+						indexName + INDEX_SHARD_ID_SEPARATOR + index :
+						indexName;
+				if ( !indexManagersRegistry.containsKey( indexManagerName ) && !pendingIndexManagers.containsKey( indexManagerName ) ) {
+					pendingIndexManagers.put(
+							indexManagerName,
+							new PendingIndexManager( indexManagerName, similarity, indexProperties[index] )
+					);
+				}
+			}
+		}
+		if ( pendingIndexManagers.size() <= 1 ) {
+			return;
+		}
+
+		ThreadPoolExecutor executor = Executors.newFixedThreadPool(
+				Math.min( threads, pendingIndexManagers.size() ), "IndexManager initialization"
+		);
+		try {
+			for ( PendingIndexManager pending : pendingIndexManagers.values() ) {
+				// the index manager is recorded by the task, as cancelling the future would discard it
+				pending.future = executor.submit( () -> {
+					pending.indexManager = createIndexManager( pending.name, pending.similarity, pending.properties, buildContext );
+				} );
+			}
+			SearchException failure = null;
+			for ( PendingIndexManager pending : pendingIndexManagers.values() ) {
+				try {
+					pending.future.get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failure = addFailure( failure, log.unableToInitializeIndexManager( pending.name, e ) );
+					break;
+				}
+				catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					failure = addFailure( failure, cause instanceof SearchException
+							? (SearchException) cause
+							: log.unableToInitializeIndexManager( pending.name, cause ) );
+				}
+			}
+			if ( failure != null ) {
+				for ( PendingIndexManager pending : pendingIndexManagers.values() ) {
+					pending.future.cancel( true );
+				}
+				// the tasks still running might complete anyway: wait for them before destroying what they created
+				executor.shutdown();
+				awaitTerminationUninterruptibly( executor );
+				for ( PendingIndexManager pending : pendingIndexManagers.values() ) {
+					if ( pending.indexManager != null ) {
+						pending.indexManager.destroy();
+					}
+				}
+				throw failure;
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		for ( PendingIndexManager pending : pendingIndexManagers.values() ) {
+			indexManagersRegistry.put( pending.name, pending.indexManager );
+			backendQueueProcessorRegistry.put(
+					pending.name, BackendFactory.createBackend( pending.indexManager, buildContext, pending.properties )
+			);
+		}
+	}
+
+	private static void awaitTerminationUninterruptibly(ExecutorService executor) {
+		// clears the flag, which would otherwise make awaitTermination fail immediately
+		boolean interrupted = Thread.interrupted();
+		while ( true ) {
+			try {
+				executor.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+				break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if ( interrupted ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static SearchException addFailure(SearchException failure, SearchException newFailure) {
+		if ( failure == null ) {
+			return newFailure;
+		}
+		failure.addSuppressed( newFailure );
+		return failure;
+	}
+
 	public IndexManager getOrCreateIndexManager(String indexBaseName,
 			String shardName,
 			DynamicShardingEntityIndexBinding entityIndexBinding) {
@@ -609,4 +743,22 @@ public synchronized IndexManagerType getIndexManagerType(XClass entity, SearchCo
 	public Collection<IndexManagerType> getIndexManagerTypes() {
 		return new HashSet<>( indexManagerImplementationsRegistry.values() );
 	}
+
+	/**
+	 * An {@code IndexManager} being initialized by {@link #initializeIndexManagers}.
+	 */
+	private static final class PendingIndexManager {
+		private final String name;
+		private final Similarity similarity;
+		private final Properties properties;
+		private Future<?> future;
+		// set by the initialization task: visible once its future is done, or the executor terminated
+		private IndexManager indexManager;
+
+		private PendingIndexManager(String name, Similarity similarity, Properties properties) {
+			this.name = name;
+			this.similarity = similarity;
+			this.properties = properties;
+		}
+	}
 }
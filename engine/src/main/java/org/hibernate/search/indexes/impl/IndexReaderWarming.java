@@ -0,0 +1,72 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Invokes the {@link IndexReaderWarmer} of an index on the segments a new {@code IndexReader}
+ * doesn't share with the one it replaces.
+ */
+public final class IndexReaderWarming {
+
+	private static final Log log = LoggerFactory.make();
+
+	private IndexReaderWarming() {
+		// not allowed
+	}
+
+	/**
+	 * @param warmer the warmer of the index, or {@code null} if the index has none
+	 * @param indexName the name of the index, for logging
+	 * @param newReader the reader to warm up, before it's made available to queries
+	 * @param previousReader the reader replaced by {@code newReader}, or {@code null} for the first reader of the index
+	 */
+	public static void warm(IndexReaderWarmer warmer, String indexName, IndexReader newReader, IndexReader previousReader) {
+		if ( warmer == null ) {
+			return;
+		}
+		try {
+			List<LeafReaderContext> newSegments = newSegments( newReader, previousReader );
+			if ( !newSegments.isEmpty() ) {
+				warmer.warm( newReader, newSegments );
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			log.unableToWarmIndexReader( indexName, e );
+		}
+	}
+
+	private static List<LeafReaderContext> newSegments(IndexReader newReader, IndexReader previousReader) {
+		List<LeafReaderContext> leaves = newReader.leaves();
+		if ( previousReader == null ) {
+			return leaves;
+		}
+		Set<Object> previousSegments = new HashSet<>();
+		for ( LeafReaderContext leaf : previousReader.leaves() ) {
+			previousSegments.add( leaf.reader().getCoreCacheKey() );
+		}
+		List<LeafReaderContext> newSegments = new ArrayList<>( leaves.size() );
+		for ( LeafReaderContext leaf : leaves ) {
+			if ( !previousSegments.contains( leaf.reader().getCoreCacheKey() ) ) {
+				newSegments.add( leaf );
+			}
+		}
+		return newSegments;
+	}
+
+}
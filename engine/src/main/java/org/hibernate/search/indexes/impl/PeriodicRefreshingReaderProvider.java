@@ -25,6 +25,7 @@
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.impl.Executors;
@@ -65,6 +66,7 @@ public class PeriodicRefreshingReaderProvider implements DirectoryBasedReaderPro
 
 	private DirectoryProvider directoryProvider;
 	private String indexName;
+	private IndexReaderWarmer readerWarmer;
 
 	@Override
 	public IndexReader openIndexReader() {
@@ -97,8 +99,11 @@ protected DirectoryReader readerFactory(final Directory directory) throws IOExce
 	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
 		this.directoryProvider = indexManager.getDirectoryProvider();
 		this.indexName = indexManager.getIndexName();
-		// Initialize at least one, don't forget directoryProvider might return a different Directory later
-		createReader( directoryProvider.getDirectory() );
+		this.readerWarmer = indexManager.getIndexReaderWarmer();
+		if ( !PropertiesParseHelper.isLazyReaderEnabled( props ) ) {
+			// Initialize at least one, don't forget directoryProvider might return a different Directory later
+			createReader( directoryProvider.getDirectory() );
+		}
 		this.scheduledExecutorService = Executors.newScheduledThreadPool( "Periodic IndexReader refreshing task for index " + indexName );
 		this.delay = ConfigurationParseHelper.getIntValue(
 				props,
@@ -239,6 +244,7 @@ public PerDirectoryLatestReader(Directory directory) throws IOException {
 			rl = rwl.readLock();
 			wl = rwl.writeLock();
 			DirectoryReader reader = readerFactory( directory );
+			IndexReaderWarming.warm( readerWarmer, indexName, reader, null );
 			ReaderUsagePair initialPair = new ReaderUsagePair( reader );
 			initialPair.usageCounter.set( 1 ); //a token to mark as active (preventing real close).
 			wl.lock();
@@ -266,6 +272,7 @@ public synchronized void refreshIfNeeded() {
 				throw new SearchException( "Unable to reopen IndexReader", e );
 			}
 			if ( updatedReader != null ) {
+				IndexReaderWarming.warm( readerWarmer, indexName, updatedReader, beforeUpdateReader );
 				//In this case we need to promote the updated as "current"
 				//and start the lazy closing process of the previous one.
 				ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
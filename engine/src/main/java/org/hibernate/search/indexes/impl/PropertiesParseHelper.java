@@ -17,6 +17,7 @@
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
 import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
 import org.hibernate.search.spi.WorkerBuildContext;
 import org.hibernate.search.store.optimization.OptimizerStrategy;
 import org.hibernate.search.store.optimization.impl.ExplicitOnlyOptimizerStrategy;
@@ -163,6 +164,9 @@ else if ( "shared".equalsIgnoreCase( readerProviderImplName ) ) {
 		else if ( "async".equalsIgnoreCase( readerProviderImplName ) ) {
 			readerProvider = new PeriodicRefreshingReaderProvider();
 		}
+		else if ( "background".equalsIgnoreCase( readerProviderImplName ) ) {
+			readerProvider = new BackgroundRefreshingReaderProvider();
+		}
 		else {
 			ServiceManager serviceManager = buildContext.getServiceManager();
 			readerProvider = ClassLoaderHelper.instanceFromName(
@@ -176,6 +180,71 @@ else if ( "async".equalsIgnoreCase( readerProviderImplName ) ) {
 		return readerProvider;
 	}
 
+	/**
+	 * @param readerProps the properties of the index masked by {@link Environment#READER_PREFIX},
+	 * as passed to {@link DirectoryBasedReaderProvider#initialize(DirectoryBasedIndexManager, Properties)}
+	 * @return {@code true} when the index reader should only be opened by the first query
+	 * @see Environment#READER_LAZY
+	 */
+	public static boolean isLazyReaderEnabled(Properties readerProps) {
+		if ( readerProps == null ) {
+			return false;
+		}
+		return ConfigurationParseHelper.getBooleanValue( readerProps, relativeReaderKey( Environment.READER_LAZY ), false );
+	}
+
+	/**
+	 * @param readerProps the properties of the index masked by {@link Environment#READER_PREFIX},
+	 * as passed to {@link DirectoryBasedReaderProvider#initialize(DirectoryBasedIndexManager, Properties)}
+	 * @return the time in milliseconds after which an unused index reader is closed, or {@code 0}
+	 * if unused readers are kept open
+	 * @see Environment#READER_IDLE_TIMEOUT_MS
+	 */
+	public static long extractReaderIdleTimeout(Properties readerProps) {
+		if ( readerProps == null ) {
+			return 0;
+		}
+		long idleTimeout = ConfigurationParseHelper.getLongValue( readerProps, relativeReaderKey( Environment.READER_IDLE_TIMEOUT_MS ), 0 );
+		return Math.max( idleTimeout, 0 );
+	}
+
+	/**
+	 * @param readerProps the properties of the index masked by {@link Environment#READER_PREFIX},
+	 * as passed to {@link DirectoryBasedReaderProvider#initialize(DirectoryBasedIndexManager, Properties)}
+	 * @return the maximum staleness of the index readers in milliseconds, or {@code -1} if queries should never wait
+	 * for a fresh reader
+	 * @see Environment#READER_MAX_STALENESS_MS
+	 */
+	public static long extractReaderMaxStaleness(Properties readerProps) {
+		if ( readerProps == null ) {
+			return -1;
+		}
+		return ConfigurationParseHelper.getLongValue( readerProps, relativeReaderKey( Environment.READER_MAX_STALENESS_MS ), -1 );
+	}
+
+	private static String relativeReaderKey(String readerKey) {
+		return readerKey.substring( Environment.READER_PREFIX.length() + 1 );
+	}
+
+	/**
+	 * @param properties the properties of the index
+	 * @param buildContext the build context
+	 * @return the warmer to invoke on new index readers, or {@code null} if none is configured
+	 * @see Environment#READER_WARMER
+	 */
+	public static IndexReaderWarmer createIndexReaderWarmer(Properties properties, WorkerBuildContext buildContext) {
+		String warmerImplName = properties.getProperty( Environment.READER_WARMER );
+		if ( StringHelper.isEmpty( warmerImplName ) ) {
+			return null;
+		}
+		return ClassLoaderHelper.instanceFromName(
+				IndexReaderWarmer.class,
+				warmerImplName,
+				"index reader warmer",
+				buildContext.getServiceManager()
+		);
+	}
+
 	public static Integer extractFlushInterval(String indexName, Properties indexProps) {
 		String refreshInterval = indexProps.getProperty( Environment.INDEX_FLUSH_INTERVAL );
 		if ( refreshInterval != null ) {
@@ -10,6 +10,8 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -17,10 +19,12 @@
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.store.Directory;
+import org.hibernate.search.engine.service.spi.ServiceManager;
 import org.hibernate.search.exception.AssertionFailure;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -29,6 +33,10 @@
  * This <code>ReaderProvider</code> shares IndexReaders as long as they are "current";
  * It uses IndexReader.reopen() which should improve performance on larger indexes
  * as it shares buffers with previous IndexReader generation for the segments which didn't change.
+ * <p>
+ * The IndexReader can be opened by the first query rather than at initialization, and closed after
+ * it has not been used for a while: see {@link org.hibernate.search.cfg.Environment#READER_LAZY}
+ * and {@link org.hibernate.search.cfg.Environment#READER_IDLE_TIMEOUT_MS}.
  *
  * @author Sanne Grinovero (C) 2011 Red Hat Inc.
  */
@@ -60,17 +68,34 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 
 	private DirectoryProvider directoryProvider;
 	private String indexName;
+	private IndexReaderWarmer readerWarmer;
+
+	private ServiceManager serviceManager;
+	private IdleReadersClosingTask idleReadersClosingTask;
+	private ScheduledFuture<?> idleReadersClosingFuture;
+	private long idleTimeoutNanos;
 
 	@Override
 	public DirectoryReader openIndexReader() {
 		log.tracef( "Opening IndexReader for directoryProvider %s", indexName );
 		Directory directory = directoryProvider.getDirectory();
-		PerDirectoryLatestReader directoryLatestReader = currentReaders.get( directory );
-		// might eg happen for FSSlaveDirectoryProvider or for mutable SearchFactory
-		if ( directoryLatestReader == null ) {
-			directoryLatestReader = createReader( directory );
+		DirectoryReader reader;
+		do {
+			PerDirectoryLatestReader directoryLatestReader = currentReaders.get( directory );
+			// might eg happen for FSSlaveDirectoryProvider, for mutable SearchFactory,
+			// for lazy readers or after the reader was closed for being idle
+			if ( directoryLatestReader == null ) {
+				directoryLatestReader = createReader( directory );
+			}
+			// null when the reader was closed for being idle since we looked it up
+			reader = directoryLatestReader.refreshAndGet();
+			if ( reader == null ) {
+				// don't wait for the closing task to discard it, or we would find it again
+				currentReaders.remove( directory, directoryLatestReader );
+			}
 		}
-		return directoryLatestReader.refreshAndGet();
+		while ( reader == null );
+		return reader;
 	}
 
 	@Override
@@ -87,8 +112,19 @@ public void closeIndexReader(IndexReader reader) {
 	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
 		this.directoryProvider = indexManager.getDirectoryProvider();
 		this.indexName = indexManager.getIndexName();
-		// Initialize at least one, don't forget directoryProvider might return different Directory later
-		createReader( directoryProvider.getDirectory() );
+		this.readerWarmer = indexManager.getIndexReaderWarmer();
+		if ( !PropertiesParseHelper.isLazyReaderEnabled( props ) ) {
+			// Initialize at least one, don't forget directoryProvider might return different Directory later
+			createReader( directoryProvider.getDirectory() );
+		}
+		long idleTimeout = PropertiesParseHelper.extractReaderIdleTimeout( props );
+		if ( idleTimeout > 0 ) {
+			this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos( idleTimeout );
+			this.serviceManager = indexManager.getServiceManager();
+			this.idleReadersClosingTask = new IdleReadersClosingTask();
+			this.idleReadersClosingFuture = serviceManager.requestService( IdleReadersClosingService.class )
+					.schedule( idleReadersClosingTask, idleTimeout );
+		}
 	}
 
 	/**
@@ -116,6 +152,12 @@ private synchronized PerDirectoryLatestReader createReader(Directory directory)
 
 	@Override
 	public void stop() {
+		if ( idleReadersClosingTask != null ) {
+			idleReadersClosingFuture.cancel( false );
+			// waits for a running execution, which would otherwise close the readers concurrently
+			idleReadersClosingTask.stop();
+			serviceManager.releaseService( IdleReadersClosingService.class );
+		}
 		for ( IndexReader reader : allReaders.keySet() ) {
 			ReaderUsagePair usage = allReaders.get( reader );
 			usage.close();
@@ -197,6 +239,24 @@ protected final class PerDirectoryLatestReader {
 		public ReaderUsagePair current; //guarded by lockOnReplaceCurrent
 		private final Lock lockOnReplaceCurrent = new ReentrantLock();
 
+		/**
+		 * Set when the current reader was closed for being idle: this instance must not be used any more
+		 * and a new one will be created for the Directory. Guarded by lockOnReplaceCurrent.
+		 */
+		private boolean closedForIdleness = false;
+
+		/**
+		 * Set while a new reader is being warmed up, outside of the lock: other queries meanwhile use
+		 * the current reader rather than waiting, or opening and warming up readers of their own.
+		 * Guarded by lockOnReplaceCurrent.
+		 */
+		private boolean warmingUp = false;
+
+		/**
+		 * {@link System#nanoTime()} when the reader was last requested.
+		 */
+		private volatile long lastUsedNanos = System.nanoTime();
+
 		/**
 		 * @param directory The <code>Directory</code> for which we manage the <code>IndexReader</code>.
 		 *
@@ -204,6 +264,7 @@ protected final class PerDirectoryLatestReader {
 		 */
 		public PerDirectoryLatestReader(Directory directory) throws IOException {
 			DirectoryReader reader = readerFactory( directory );
+			IndexReaderWarming.warm( readerWarmer, indexName, reader, null );
 			ReaderUsagePair initialPair = new ReaderUsagePair( reader );
 			initialPair.usageCounter.set( 1 ); //a token to mark as active (preventing real close).
 			lockOnReplaceCurrent.lock(); //no harm, just ensuring safe publishing.
@@ -216,54 +277,172 @@ public PerDirectoryLatestReader(Directory directory) throws IOException {
 		 * Gets an updated IndexReader for the current Directory;
 		 * the index status will be checked.
 		 *
-		 * @return the current IndexReader if it's in sync with underlying index, a new one otherwise.
+		 * @return the current IndexReader if it's in sync with underlying index, a new one otherwise,
+		 * or {@code null} if the reader was closed for being idle and this instance can't be used any more.
 		 */
 		public DirectoryReader refreshAndGet() {
 			final DirectoryReader updatedReader;
 			//it's important that we read this volatile before acquiring the lock:
 			final int preAcquireVersionId = refreshOperationId;
+			final ReaderUsagePair beforeUpdatePair;
 			ReaderUsagePair toCloseReaderPair = null;
+			lastUsedNanos = System.nanoTime();
 			lockOnReplaceCurrent.lock();
-			final DirectoryReader beforeUpdateReader = current.reader;
 			try {
-				if ( refreshOperationId != preAcquireVersionId ) {
+				if ( closedForIdleness ) {
+					return null;
+				}
+				beforeUpdatePair = current;
+				if ( refreshOperationId != preAcquireVersionId || warmingUp ) {
 					// We can take a good shortcut
-					current.usageCounter.incrementAndGet();
-					return beforeUpdateReader;
+					beforeUpdatePair.usageCounter.incrementAndGet();
+					return beforeUpdatePair.reader;
 				}
 				else {
 					try {
 						//Guarded by the lockOnReplaceCurrent of current IndexReader
 						//technically the final value doesn't even matter, as long as we change it
 						refreshOperationId++;
-						updatedReader = DirectoryReader.openIfChanged( beforeUpdateReader );
+						updatedReader = DirectoryReader.openIfChanged( beforeUpdatePair.reader );
 					}
 					catch (IOException e) {
 						throw new SearchException( "Unable to reopen IndexReader", e );
 					}
 				}
 				if ( updatedReader == null ) {
-					current.usageCounter.incrementAndGet();
-					return beforeUpdateReader;
+					beforeUpdatePair.usageCounter.incrementAndGet();
+					return beforeUpdatePair.reader;
+				}
+				else if ( readerWarmer == null ) {
+					toCloseReaderPair = replaceCurrent( updatedReader );
 				}
 				else {
-					ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
-					//no need to increment usageCounter in newPair, as it is constructed with correct number 2.
-					assert newPair.usageCounter.get() == 2;
-					toCloseReaderPair = current;
-					current = newPair;
-					allReaders.put( updatedReader, newPair );//unfortunately still needs lock
+					// kept open until the new reader is warmed up
+					beforeUpdatePair.usageCounter.incrementAndGet();
+					warmingUp = true;
 				}
 			}
 			finally {
 				lockOnReplaceCurrent.unlock();
 			}
+			if ( toCloseReaderPair == null ) {
+				// warm up without holding the lock: meanwhile, other queries keep using the current reader
+				try {
+					IndexReaderWarming.warm( readerWarmer, indexName, updatedReader, beforeUpdatePair.reader );
+				}
+				finally {
+					beforeUpdatePair.close();
+				}
+				return publishWarmedUp( updatedReader );
+			}
 			// doesn't need lock:
-			if ( toCloseReaderPair != null ) {
-				toCloseReaderPair.close();// release a token as it's not the current any more.
+			toCloseReaderPair.close();// release a token as it's not the current any more.
+			return updatedReader;
+		}
+
+		/**
+		 * Makes a reader opened and warmed up by {@link #refreshAndGet()} the current one.
+		 *
+		 * @return the reader to use, or {@code null} if this instance was closed for being idle meanwhile
+		 */
+		private DirectoryReader publishWarmedUp(DirectoryReader updatedReader) {
+			ReaderUsagePair toCloseReaderPair = null;
+			lockOnReplaceCurrent.lock();
+			try {
+				warmingUp = false;
+				if ( !closedForIdleness ) {
+					toCloseReaderPair = replaceCurrent( updatedReader );
+				}
+			}
+			finally {
+				lockOnReplaceCurrent.unlock();
 			}
+			if ( toCloseReaderPair == null ) {
+				// never made available to queries
+				try {
+					updatedReader.close();
+				}
+				catch (IOException e) {
+					log.unableToCloseLuceneIndexReader( e );
+				}
+				return null;
+			}
+			// doesn't need lock:
+			toCloseReaderPair.close();// release a token as it's not the current any more.
 			return updatedReader;
 		}
+
+		/**
+		 * Guarded by lockOnReplaceCurrent.
+		 *
+		 * @return the pair which was current, whose token must be released once the lock is released
+		 */
+		private ReaderUsagePair replaceCurrent(DirectoryReader updatedReader) {
+			ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
+			//no need to increment usageCounter in newPair, as it is constructed with correct number 2.
+			assert newPair.usageCounter.get() == 2;
+			ReaderUsagePair previousPair = current;
+			current = newPair;
+			allReaders.put( updatedReader, newPair );//unfortunately still needs lock
+			return previousPair;
+		}
+
+		/**
+		 * Releases the current IndexReader if it was not requested since the given time;
+		 * it will actually be closed when the queries still using it are done.
+		 *
+		 * @param idleSinceNanos the {@link System#nanoTime()} before which the last request must have happened
+		 * @return {@code true} if the reader was released and this instance must be discarded
+		 */
+		public boolean closeIfIdleSince(long idleSinceNanos) {
+			final ReaderUsagePair toCloseReaderPair;
+			lockOnReplaceCurrent.lock();
+			try {
+				if ( closedForIdleness || lastUsedNanos - idleSinceNanos > 0 ) {
+					return false;
+				}
+				closedForIdleness = true;
+				toCloseReaderPair = current;
+			}
+			finally {
+				lockOnReplaceCurrent.unlock();
+			}
+			toCloseReaderPair.close();// release the token marking it as current
+			return true;
+		}
+	}
+
+	/**
+	 * Releases the IndexReaders which were not requested by any query during the idle timeout.
+	 */
+	private final class IdleReadersClosingTask implements Runnable {
+
+		private boolean stopped = false; //guarded by this
+
+		@Override
+		public synchronized void run() {
+			if ( stopped ) {
+				return;
+			}
+			long idleSinceNanos = System.nanoTime() - idleTimeoutNanos;
+			for ( Map.Entry<Directory, PerDirectoryLatestReader> entry : currentReaders.entrySet() ) {
+				PerDirectoryLatestReader directoryLatestReader = entry.getValue();
+				try {
+					if ( directoryLatestReader.closeIfIdleSince( idleSinceNanos ) ) {
+						log.tracef( "Closed idle IndexReader for directoryProvider %s", indexName );
+						currentReaders.remove( entry.getKey(), directoryLatestReader );
+					}
+				}
+				catch (RuntimeException e) {
+					// don't let an unexpected failure cancel the next executions
+					log.unableToCloseLuceneIndexReader( e );
+				}
+			}
+		}
+
+		synchronized void stop() {
+			stopped = true;
+		}
 	}
 
 }
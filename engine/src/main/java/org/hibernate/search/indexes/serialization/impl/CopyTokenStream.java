@@ -9,11 +9,23 @@
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttributeImpl;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttributeImpl;
+import org.apache.lucene.analysis.tokenattributes.PayloadAttribute;
+import org.apache.lucene.analysis.tokenattributes.PayloadAttributeImpl;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttributeImpl;
 import org.apache.lucene.util.AttributeImpl;
+import org.apache.lucene.util.BytesRef;
 
 import org.hibernate.search.indexes.serialization.spi.SerializableTokenStream;
 import org.hibernate.search.util.logging.impl.Log;
@@ -33,6 +45,8 @@ public class CopyTokenStream extends TokenStream implements Serializable {
 
 	private List<List<AttributeImpl>> cache;
 	private int index;
+	//the attribute instances exposed by this stream, one per cached attribute type
+	private final Map<Class<? extends AttributeImpl>, AttributeImpl> targets = new HashMap<>();
 
 	public static SerializableTokenStream buildSerializableTokenStream(TokenStream tokenStream) {
 		try {
@@ -44,9 +58,65 @@ public static SerializableTokenStream buildSerializableTokenStream(TokenStream t
 		}
 	}
 
+	/**
+	 * Analyzes the given text, keeping only the attributes used when inverting a field,
+	 * so that the resulting stream can be indexed on another node without running the analyzer again.
+	 *
+	 * @param analyzer the analyzer to use, possibly scoped per field
+	 * @param fieldName the name of the field being analyzed
+	 * @param text the text to analyze
+	 * @return the analyzed tokens
+	 */
+	public static SerializableTokenStream analyze(Analyzer analyzer, String fieldName, String text) {
+		try ( TokenStream tokenStream = analyzer.tokenStream( fieldName, text ) ) {
+			CharTermAttribute termAttribute = tokenStream.addAttribute( CharTermAttribute.class );
+			PositionIncrementAttribute positionIncrementAttribute = tokenStream.addAttribute( PositionIncrementAttribute.class );
+			OffsetAttribute offsetAttribute = tokenStream.addAttribute( OffsetAttribute.class );
+			PayloadAttribute payloadAttribute = tokenStream.hasAttribute( PayloadAttribute.class )
+					? tokenStream.getAttribute( PayloadAttribute.class ) : null;
+			List<List<AttributeImpl>> results = new ArrayList<>();
+			tokenStream.reset();
+			while ( tokenStream.incrementToken() ) {
+				// the analyzer most likely uses a single packed attribute, which can't be serialized as a whole
+				List<AttributeImpl> attrs = new ArrayList<>( 4 );
+				CharTermAttributeImpl term = new CharTermAttributeImpl();
+				term.copyBuffer( termAttribute.buffer(), 0, termAttribute.length() );
+				attrs.add( term );
+				PositionIncrementAttributeImpl positionIncrement = new PositionIncrementAttributeImpl();
+				positionIncrement.setPositionIncrement( positionIncrementAttribute.getPositionIncrement() );
+				attrs.add( positionIncrement );
+				OffsetAttributeImpl offset = new OffsetAttributeImpl();
+				offset.setOffset( offsetAttribute.startOffset(), offsetAttribute.endOffset() );
+				attrs.add( offset );
+				if ( payloadAttribute != null && payloadAttribute.getPayload() != null ) {
+					PayloadAttributeImpl payload = new PayloadAttributeImpl();
+					payload.setPayload( BytesRef.deepCopyOf( payloadAttribute.getPayload() ) );
+					attrs.add( payload );
+				}
+				results.add( attrs );
+			}
+			tokenStream.end();
+			return new SerializableTokenStream( results );
+		}
+		catch (IOException e) {
+			throw log.unableToReadTokenStream();
+		}
+	}
+
 	public CopyTokenStream(List<List<AttributeImpl>> stream) {
 		this.index = 0;
 		this.cache = stream;
+		// the indexer looks the attributes up before consuming the first token:
+		// register them upfront, then copy the state of each token into them
+		for ( List<AttributeImpl> attrs : stream ) {
+			for ( AttributeImpl attr : attrs ) {
+				if ( !targets.containsKey( attr.getClass() ) ) {
+					AttributeImpl target = attr.clone();
+					targets.put( attr.getClass(), target );
+					addAttributeImpl( target );
+				}
+			}
+		}
 	}
 
 	@Override
@@ -63,8 +133,9 @@ public final boolean incrementToken() throws IOException {
 	}
 
 	private void setState(int localIndex) {
+		clearAttributes();
 		for ( AttributeImpl attr : cache.get( localIndex ) ) {
-			addAttributeImpl( attr );
+			attr.copyTo( targets.get( attr.getClass() ) );
 		}
 	}
 
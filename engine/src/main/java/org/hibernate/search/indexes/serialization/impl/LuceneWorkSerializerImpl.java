@@ -7,15 +7,22 @@
 package org.hibernate.search.indexes.serialization.impl;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
+import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.FieldType.NumericType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexableField;
+import org.hibernate.search.analyzer.impl.LuceneAnalyzerReference;
+import org.hibernate.search.analyzer.spi.AnalyzerReference;
 import org.hibernate.search.backend.AddLuceneWork;
 import org.hibernate.search.backend.DeleteLuceneWork;
 import org.hibernate.search.backend.FlushLuceneWork;
@@ -24,18 +31,22 @@
 import org.hibernate.search.backend.PurgeAllLuceneWork;
 import org.hibernate.search.backend.UpdateLuceneWork;
 import org.hibernate.search.backend.spi.DeleteByQueryLuceneWork;
+import org.hibernate.search.cfg.Environment;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
 import org.hibernate.search.engine.service.spi.ServiceManager;
 import org.hibernate.search.engine.service.spi.Startable;
 import org.hibernate.search.engine.service.spi.Stoppable;
+import org.hibernate.search.engine.spi.EntityIndexBinding;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.indexes.serialization.spi.Deserializer;
 import org.hibernate.search.indexes.serialization.spi.LuceneFieldContext;
 import org.hibernate.search.indexes.serialization.spi.LuceneNumericFieldContext;
 import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.indexes.serialization.spi.SerializableTokenStream;
 import org.hibernate.search.indexes.serialization.spi.SerializationProvider;
 import org.hibernate.search.indexes.serialization.spi.Serializer;
 import org.hibernate.search.spi.BuildContext;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -56,12 +67,14 @@ public class LuceneWorkSerializerImpl implements LuceneWorkSerializer, Startable
 	private ExtendedSearchIntegrator searchIntegrator;
 	private ServiceManager serviceManager;
 	private SerializationProvider provider;
+	private boolean preAnalysis;
 
 	@Override
 	public void start(Properties properties, BuildContext context) {
 		searchIntegrator = context.getUninitializedSearchIntegrator();
 		serviceManager = context.getServiceManager();
 		provider = requestSerializationProvider();
+		preAnalysis = ConfigurationParseHelper.getBooleanValue( properties, Environment.SERIALIZATION_PRE_ANALYSIS, false );
 
 		log.usingSerializationService( describeSerializer() );
 	}
@@ -107,12 +120,12 @@ else if ( work instanceof DeleteByQueryLuceneWork ) {
 					serializer.addDeleteByQuery( work.getEntityClass().getName(), ( (DeleteByQueryLuceneWork) work ).getDeletionQuery() );
 				}
 				else if ( work instanceof AddLuceneWork ) {
-					serializeDocument( work.getDocument(), serializer );
+					serializeDocument( work.getDocument(), getPreAnalyzer( work ), serializer );
 					processId( work, serializer );
 					serializer.addAdd( work.getEntityClass().getName(), work.getFieldToAnalyzerMap() );
 				}
 				else if ( work instanceof UpdateLuceneWork ) {
-					serializeDocument( work.getDocument(), serializer );
+					serializeDocument( work.getDocument(), getPreAnalyzer( work ), serializer );
 					processId( work, serializer );
 					serializer.addUpdate( work.getEntityClass().getName(), work.getFieldToAnalyzerMap() );
 				}
@@ -156,6 +169,11 @@ else if ( id instanceof String ) {
 	 */
 	@Override
 	public List<LuceneWork> toLuceneWorks(byte[] data) {
+		return toLuceneWorks( ByteBuffer.wrap( data ) );
+	}
+
+	@Override
+	public List<LuceneWork> toLuceneWorks(ByteBuffer data) {
 		try {
 			Deserializer deserializer = provider.getDeserializer();
 			LuceneWorkHydrator hydrator = new LuceneWorkHydrator( searchIntegrator );
@@ -172,7 +190,31 @@ public List<LuceneWork> toLuceneWorks(byte[] data) {
 		}
 	}
 
-	private void serializeDocument(Document document, Serializer serializer) {
+	/**
+	 * @return the analyzer to use to analyze the document fields before serializing them,
+	 * or {@code null} if they should be analyzed by the node applying the work
+	 */
+	private Analyzer getPreAnalyzer(LuceneWork work) {
+		if ( !preAnalysis ) {
+			return null;
+		}
+		Map<String, String> fieldToAnalyzerMap = work.getFieldToAnalyzerMap();
+		if ( fieldToAnalyzerMap != null && !fieldToAnalyzerMap.isEmpty() ) {
+			// dynamic analyzers are resolved by the node applying the work
+			return null;
+		}
+		EntityIndexBinding binding = searchIntegrator.getIndexBinding( work.getEntityClass() );
+		if ( binding == null ) {
+			return null;
+		}
+		AnalyzerReference analyzerReference = binding.getDocumentBuilder().getAnalyzerReference();
+		if ( !analyzerReference.is( LuceneAnalyzerReference.class ) ) {
+			return null;
+		}
+		return analyzerReference.unwrap( LuceneAnalyzerReference.class ).getAnalyzer();
+	}
+
+	private void serializeDocument(Document document, Analyzer preAnalyzer, Serializer serializer) {
 		final List<IndexableField> docFields = document.getFields();
 		serializer.fields( docFields );
 		for ( IndexableField fieldable : docFields ) {
@@ -189,7 +231,10 @@ private void serializeDocument(Document document, Serializer serializer) {
 				continue;
 			}
 
-			if ( fieldable instanceof Field ) {
+			if ( preAnalyzer != null && isAnalyzedText( fieldable, fieldType ) ) {
+				serializePreAnalyzedField( serializer, (Field) fieldable, fieldType, preAnalyzer );
+			}
+			else if ( fieldable instanceof Field ) {
 				serializeField( serializer, (Field) fieldable );
 			}
 			else {
@@ -262,6 +307,32 @@ else if ( fieldable.tokenStreamValue() != null ) {
 		}
 	}
 
+	private static boolean isAnalyzedText(IndexableField fieldable, FieldType fieldType) {
+		return fieldable instanceof Field
+				&& fieldType.indexOptions() != IndexOptions.NONE
+				&& fieldType.tokenized()
+				&& fieldable.stringValue() != null;
+	}
+
+	/**
+	 * Serializes the analyzed tokens of the field rather than its text, so that the
+	 * node applying the work doesn't need to analyze it. The text is serialized as
+	 * a distinct field if it needs to be stored.
+	 */
+	private void serializePreAnalyzedField(Serializer serializer, Field fieldable, FieldType fieldType, Analyzer analyzer) {
+		final String name = fieldable.name();
+		final String value = fieldable.stringValue();
+		if ( fieldType.stored() ) {
+			serializer.addFieldWithStringData( new LuceneFieldContext( new StoredField( name, value ) ) );
+		}
+		SerializableTokenStream tokens = CopyTokenStream.analyze( analyzer, name, value );
+		FieldType indexedType = new FieldType( fieldType );
+		indexedType.setStored( false );
+		Field indexedField = new Field( name, new CopyTokenStream( tokens.getStream() ), indexedType );
+		indexedField.setBoost( fieldable.boost() );
+		serializer.addFieldWithTokenStreamData( new LuceneFieldContext( indexedField ) );
+	}
+
 	private void serializeNumericField(Serializer serializer,
 			IndexableField fieldable,
 			FieldType fieldType,
@@ -6,6 +6,8 @@
  */
 package org.hibernate.search.indexes.serialization.spi;
 
+import java.nio.ByteBuffer;
+
 /**
  * Contract between Hibernate Search and the {@code LuceneWork} deserializer.
  *
@@ -19,4 +21,25 @@
  */
 public interface Deserializer {
 	void deserialize(byte[] data, LuceneWorksBuilder hydrator);
+
+	/**
+	 * Deserializes the remaining bytes of the buffer, which may be a view over a larger
+	 * array such as a network buffer. The position of the buffer is not altered.
+	 * <p>
+	 * Implementations should override this method to read the bytes in place: the default
+	 * implementation copies them, unless the buffer spans its whole backing array.
+	 *
+	 * @param data the buffer holding the serialized works
+	 * @param hydrator the builder of the works
+	 */
+	default void deserialize(ByteBuffer data, LuceneWorksBuilder hydrator) {
+		if ( data.hasArray() && data.arrayOffset() == 0 && data.position() == 0 && data.remaining() == data.array().length ) {
+			deserialize( data.array(), hydrator );
+		}
+		else {
+			byte[] copy = new byte[data.remaining()];
+			data.duplicate().get( copy );
+			deserialize( copy, hydrator );
+		}
+	}
 }
@@ -6,6 +6,7 @@
  */
 package org.hibernate.search.indexes.serialization.spi;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.hibernate.search.backend.LuceneWork;
@@ -38,6 +39,26 @@ public interface LuceneWorkSerializer extends Service {
 	 */
 	List<LuceneWork> toLuceneWorks(byte[] data);
 
+	/**
+	 * Convert the remaining bytes of a buffer to a List of LuceneWork.
+	 * The position of the buffer is not altered.
+	 * <p>
+	 * Implementations should override this method to read the bytes in place: the default
+	 * implementation copies them, unless the buffer spans its whole backing array.
+	 * @param data the buffer to convert, possibly a view over a larger array
+	 * @return the list of {@link LuceneWork}
+	 */
+	default List<LuceneWork> toLuceneWorks(ByteBuffer data) {
+		if ( data.hasArray() && data.arrayOffset() == 0 && data.position() == 0 && data.remaining() == data.array().length ) {
+			return toLuceneWorks( data.array() );
+		}
+		else {
+			byte[] copy = new byte[data.remaining()];
+			data.duplicate().get( copy );
+			return toLuceneWorks( copy );
+		}
+	}
+
 	/**
 	 * @return a short label of this implementation and optionally version
 	 */
@@ -52,6 +52,7 @@ public class DirectoryBasedIndexManager implements IndexManager {
 	private LuceneWorkSerializer serializer;
 	private ExtendedSearchIntegrator boundSearchIntegrator = null;
 	private DirectoryBasedReaderProvider readers = null;
+	private IndexReaderWarmer readerWarmer;
 	private ServiceManager serviceManager;
 
 	@Override
@@ -64,6 +65,14 @@ public ReaderProvider getReaderProvider() {
 		return readers;
 	}
 
+	/**
+	 * @return the warmer to invoke on the new readers of this index before they are used by queries,
+	 * or {@code null} if none is configured
+	 */
+	public IndexReaderWarmer getIndexReaderWarmer() {
+		return readerWarmer;
+	}
+
 	@Override
 	public void destroy() {
 		readers.stop();
@@ -82,6 +91,7 @@ public void initialize(String indexName, Properties properties, Similarity simil
 		this.directoryProvider = createDirectoryProvider( indexName, properties, buildContext );
 		this.indexingParameters = PropertiesParseHelper.extractIndexingPerformanceOptions( properties );
 		this.optimizer = PropertiesParseHelper.getOptimizerStrategy( this, properties, buildContext );
+		this.readerWarmer = PropertiesParseHelper.createIndexReaderWarmer( properties, buildContext );
 		this.workspaceHolder = createWorkspaceHolder( indexName, properties, buildContext );
 		this.directoryProvider.start( this );
 		this.readers = createIndexReader( indexName, properties, buildContext );
@@ -182,6 +192,11 @@ public Lock getDirectoryModificationLock() {
 		return workspaceHolder.getExclusiveWriteLock();
 	}
 
+	//Not exposed on the interface
+	public ServiceManager getServiceManager() {
+		return serviceManager;
+	}
+
 	//Not exposed on the interface
 	public DirectoryProvider<?> getDirectoryProvider() {
 		return directoryProvider;
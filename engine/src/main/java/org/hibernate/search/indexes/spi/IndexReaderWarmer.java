@@ -0,0 +1,38 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.spi;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+
+/**
+ * Prepares a newly opened {@code IndexReader} before it's used by queries, for example by running
+ * representative queries or loading the doc values of some fields, so that the first queries
+ * don't pay for loading the data structures of new segments.
+ * <p>
+ * Configured per index with {@link org.hibernate.search.cfg.Environment#READER_WARMER}; implementations
+ * must have a public no-arg constructor and be thread safe. A failure to warm up a reader is logged and
+ * the reader is used anyway.
+ * <p>
+ * Warmers are invoked by the "shared", "async" and "background" reader strategies and by the near-real-time index manager.
+ */
+public interface IndexReaderWarmer {
+
+	/**
+	 * Invoked after a new {@code IndexReader} has been opened, before it's made available to queries.
+	 *
+	 * @param reader the new reader
+	 * @param newSegments the segments of the new reader which were not part of the reader it replaces;
+	 * all its segments when it's the first reader opened on the index
+	 * @throws IOException when reading the index fails
+	 */
+	void warm(IndexReader reader, List<LeafReaderContext> newSegments) throws IOException;
+
+}
@@ -30,4 +30,34 @@ public interface IndexingProgressMonitorMBean {
 	 */
 	long getNumberOfEntitiesToIndex();
 
+	/**
+	 * @return the time spent fetching the primary identifiers of the entities so far, in milliseconds
+	 */
+	long getIdentifierLoadingTime();
+
+	/**
+	 * @return the time spent loading entities so far, cumulated over all loading threads, in milliseconds
+	 */
+	long getEntityLoadingTime();
+
+	/**
+	 * @return the time spent building {@code Document}s so far, cumulated over all loading threads, in milliseconds
+	 */
+	long getDocumentBuildingTime();
+
+	/**
+	 * @return the time spent handing works over to the backend so far, cumulated over all loading threads, in milliseconds
+	 */
+	long getWorkEnqueuingTime();
+
+	/**
+	 * @return the number of batches of identifiers currently waiting to be loaded
+	 */
+	int getIdentifierQueueSize();
+
+	/**
+	 * @return the highest number of batches of identifiers waiting to be loaded observed so far
+	 */
+	int getIdentifierQueueMaxSize();
+
 }
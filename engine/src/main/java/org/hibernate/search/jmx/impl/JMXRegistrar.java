@@ -16,6 +16,8 @@
 import javax.management.StandardMBean;
 
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
+import org.hibernate.search.engine.impl.MassIndexingStageStatistics;
 import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.jmx.IndexingProgressMonitorMBean;
 import org.hibernate.search.jmx.StatisticsInfoMBean;
@@ -214,13 +216,14 @@ public Map<String, Integer> indexedEntitiesCount() {
 	 *
 	 * @author Hardy Ferentschik
 	 */
-	public static class IndexingProgressMonitor implements IndexingProgressMonitorMBean, MassIndexerProgressMonitor {
+	public static class IndexingProgressMonitor implements IndexingProgressMonitorMBean, MassIndexerProgressMonitor, MassIndexerStageMonitor {
 		private static final Log log = LoggerFactory.make();
 
 		private final AtomicLong documentsDoneCounter = new AtomicLong();
 		private final AtomicLong documentsBuiltCounter = new AtomicLong();
 		private final AtomicLong totalCounter = new AtomicLong();
 		private final AtomicLong entitiesLoadedCounter = new AtomicLong();
+		private final MassIndexingStageStatistics stageStatistics = new MassIndexingStageStatistics();
 
 		private final String registeredName;
 
@@ -252,8 +255,34 @@ public final void addToTotalCount(long count) {
 			totalCounter.addAndGet( count );
 		}
 
+		@Override
+		public final void identifiersLoaded(int count, long nanos) {
+			stageStatistics.identifiersLoaded( count, nanos );
+		}
+
+		@Override
+		public final void identifierQueueSampled(int size) {
+			stageStatistics.identifierQueueSampled( size );
+		}
+
+		@Override
+		public final void entityBatchLoaded(int count, long nanos) {
+			stageStatistics.entityBatchLoaded( count, nanos );
+		}
+
+		@Override
+		public final void documentBuilt(long nanos) {
+			stageStatistics.documentBuilt( nanos );
+		}
+
+		@Override
+		public final void workEnqueued(long nanos) {
+			stageStatistics.workEnqueued( nanos );
+		}
+
 		@Override
 		public final void indexingCompleted() {
+			stageStatistics.logSummary();
 			log.indexingCompletedAndMBeanUnregistered( totalCounter.get() );
 			unRegisterMBean( registeredName );
 		}
@@ -272,6 +301,36 @@ public final long getDocumentsAddedCount() {
 		public final long getNumberOfEntitiesToIndex() {
 			return totalCounter.get();
 		}
+
+		@Override
+		public final long getIdentifierLoadingTime() {
+			return stageStatistics.getIdentifierLoadingTime();
+		}
+
+		@Override
+		public final long getEntityLoadingTime() {
+			return stageStatistics.getEntityLoadingTime();
+		}
+
+		@Override
+		public final long getDocumentBuildingTime() {
+			return stageStatistics.getDocumentBuildingTime();
+		}
+
+		@Override
+		public final long getWorkEnqueuingTime() {
+			return stageStatistics.getWorkEnqueuingTime();
+		}
+
+		@Override
+		public final int getIdentifierQueueSize() {
+			return stageStatistics.getIdentifierQueueSize();
+		}
+
+		@Override
+		public final int getIdentifierQueueMaxSize() {
+			return stageStatistics.getIdentifierQueueMaxSize();
+		}
 	}
 }
 
@@ -0,0 +1,167 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata;
+import org.hibernate.search.engine.metadata.impl.PropertyMetadata;
+import org.hibernate.search.engine.metadata.impl.SortableFieldMetadata;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
+import org.hibernate.search.metadata.NumericFieldSettingsDescriptor.NumericEncodingType;
+
+/**
+ * Builds the {@code Document} needed for projections out of the doc values written for sortable fields,
+ * avoiding the decompression of the stored fields.
+ * <p>
+ * This is only possible for stored fields which are also sortable, and whose doc values hold exactly
+ * the stored value: numeric fields with a known encoding, and non-analyzed string fields.
+ * The resulting {@code Document} contains {@link StoredField}s equivalent to the ones read from
+ * the stored fields, so that the same two-way field bridges can be applied.
+ * <p>
+ * Instances are NOT threadsafe.
+ */
+final class DocValuesProjectionLoader {
+
+	private final IndexReader indexReader;
+	private final DocValuesField[] fields;
+
+	private DocValuesProjectionLoader(IndexReader indexReader, DocValuesField[] fields) {
+		this.indexReader = indexReader;
+		this.fields = fields;
+	}
+
+	/**
+	 * @param typeMetadata the metadata of the single type targeted by the query
+	 * @param fieldNames the names of the fields to be projected
+	 * @param indexReader the reader the query is executed on
+	 * @return a loader for the given fields, or {@code null} if at least one of the fields cannot be read from doc values
+	 */
+	static DocValuesProjectionLoader create(TypeMetadata typeMetadata, Iterable<String> fieldNames, IndexReader indexReader) {
+		List<DocValuesField> fields = new ArrayList<>();
+		for ( String fieldName : fieldNames ) {
+			DocValuesField field = toDocValuesField( typeMetadata, fieldName );
+			if ( field == null ) {
+				return null;
+			}
+			fields.add( field );
+		}
+		if ( fields.isEmpty() ) {
+			return null;
+		}
+		return new DocValuesProjectionLoader( indexReader, fields.toArray( new DocValuesField[fields.size()] ) );
+	}
+
+	private static DocValuesField toDocValuesField(TypeMetadata typeMetadata, String fieldName) {
+		DocumentFieldMetadata fieldMetadata = typeMetadata.getDocumentFieldMetadataFor( fieldName );
+		if ( fieldMetadata == null || fieldMetadata.getStore() != Store.YES || fieldMetadata.isSpatial() ) {
+			return null;
+		}
+		PropertyMetadata propertyMetadata = fieldMetadata.getSourceProperty();
+		if ( propertyMetadata == null || !isSortable( propertyMetadata, fieldName )
+				// bridge-defined sort fields are added by the bridge itself: we can't know what they contain
+				|| typeMetadata.getBridgeDefinedFieldMetadataFor( fieldName ) != null ) {
+			return null;
+		}
+		if ( fieldMetadata.isNumeric() ) {
+			NumericEncodingType encodingType = fieldMetadata.getNumericEncodingType();
+			switch ( encodingType ) {
+				case INTEGER:
+				case LONG:
+				case FLOAT:
+				case DOUBLE:
+					return new DocValuesField( fieldName, encodingType );
+				default:
+					return null;
+			}
+		}
+		else if ( !fieldMetadata.getIndex().isAnalyzed() ) {
+			return new DocValuesField( fieldName, null );
+		}
+		else {
+			// the doc values of analyzed fields hold the analyzed value
+			return null;
+		}
+	}
+
+	private static boolean isSortable(PropertyMetadata propertyMetadata, String fieldName) {
+		for ( SortableFieldMetadata sortableField : propertyMetadata.getSortableFieldMetadata() ) {
+			if ( sortableField.getAbsoluteName().equals( fieldName ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	Document load(int docId) throws IOException {
+		List<LeafReaderContext> leaves = indexReader.leaves();
+		LeafReaderContext leaf = leaves.get( ReaderUtil.subIndex( docId, leaves ) );
+		LeafReader reader = leaf.reader();
+		int segmentDocId = docId - leaf.docBase;
+		Document document = new Document();
+		for ( DocValuesField field : fields ) {
+			field.addTo( document, reader, segmentDocId );
+		}
+		return document;
+	}
+
+	private static final class DocValuesField {
+
+		private final String name;
+		private final NumericEncodingType numericEncodingType; // null for string fields
+
+		private DocValuesField(String name, NumericEncodingType numericEncodingType) {
+			this.name = name;
+			this.numericEncodingType = numericEncodingType;
+		}
+
+		void addTo(Document document, LeafReader reader, int docId) throws IOException {
+			if ( numericEncodingType == null ) {
+				SortedDocValues docValues = reader.getSortedDocValues( name );
+				if ( docValues != null && docValues.getOrd( docId ) != -1 ) {
+					BytesRef value = docValues.get( docId );
+					document.add( new StoredField( name, value.utf8ToString() ) );
+				}
+			}
+			else {
+				NumericDocValues docValues = reader.getNumericDocValues( name );
+				Bits docsWithField = reader.getDocsWithField( name );
+				if ( docValues != null && docsWithField != null && docsWithField.get( docId ) ) {
+					document.add( toStoredField( docValues.get( docId ) ) );
+				}
+			}
+		}
+
+		private StoredField toStoredField(long value) {
+			switch ( numericEncodingType ) {
+				case INTEGER:
+					return new StoredField( name, (int) value );
+				case FLOAT:
+					// see FloatDocValuesField
+					return new StoredField( name, Float.intBitsToFloat( (int) value ) );
+				case DOUBLE:
+					// see DoubleDocValuesField
+					return new StoredField( name, Double.longBitsToDouble( value ) );
+				default:
+					return new StoredField( name, value );
+			}
+		}
+	}
+}
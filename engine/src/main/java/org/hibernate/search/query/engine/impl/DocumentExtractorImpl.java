@@ -20,6 +20,7 @@
 import org.hibernate.search.engine.ProjectionConstants;
 import org.hibernate.search.engine.impl.DocumentBuilderHelper;
 import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 
@@ -48,6 +49,7 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 	private final QueryHits queryHits;
 	private final LazyQueryState searcher;
 	private ReusableDocumentStoredFieldVisitor fieldLoadingVisitor;
+	private DocValuesProjectionLoader docValuesLoader; //null when projections can't be loaded from doc values
 	private boolean allowFieldSelection;
 	private boolean needId;
 	private boolean hasProjectionConstants;
@@ -151,6 +153,12 @@ else if ( ProjectionConstants.SPATIAL_DISTANCE.equals( projectionName ) ) {
 		}
 		if ( fields.size() != 0 ) {
 			this.fieldLoadingVisitor = new ReusableDocumentStoredFieldVisitor( fields );
+			if ( !needId && singleClassIfPossible != null ) {
+				// all projected fields might be available as doc values, which are much cheaper to read
+				TypeMetadata typeMetadata = extendedIntegrator.getIndexBinding( singleClassIfPossible )
+						.getDocumentBuilder().getTypeMetadata();
+				this.docValuesLoader = DocValuesProjectionLoader.create( typeMetadata, fields, searcher.getIndexReader() );
+			}
 		}
 		// else: this.fieldSelector = null; //We need no fields at all
 	}
@@ -251,6 +259,9 @@ private Document extractDocument(int index) throws IOException {
 				//we need no fields
 				return null;
 			}
+			else if ( docValuesLoader != null ) {
+				return docValuesLoader.load( queryHits.docId( index ) );
+			}
 			else {
 				queryHits.visitDocument( index, fieldLoadingVisitor );
 				return fieldLoadingVisitor.getDocumentAndReset();
@@ -371,7 +371,7 @@ private void initDocumentBuilders(SearchConfiguration searchConfiguration, Build
 
 		//we process the @Indexed classes last, so we first start all IndexManager(s).
 		final List<XClass> rootIndexedEntities = new LinkedList<XClass>();
-		final org.hibernate.search.engine.metadata.impl.MetadataProvider metadataProvider =
+		final AnnotationMetadataProvider metadataProvider =
 				new AnnotationMetadataProvider( searchConfiguration.getReflectionManager(), configContext );
 
 		for ( Map.Entry<XClass, Class<?>> mapping : classMappings.entrySet() ) {
@@ -418,6 +418,9 @@ else if ( metadataProvider.containsSearchMetadata( mappedClass ) ) {
 
 		detectIndexNamesCollisions( indexesFactory.getIndexManagers() );
 
+		// Initialize the IndexManagers concurrently, if enabled
+		indexesFactory.initializeIndexManagers( rootIndexedEntities, searchConfiguration, buildContext );
+
 		// Create all IndexManagers, configure and start them:
 		for ( XClass mappedXClass : rootIndexedEntities ) {
 			Class mappedClass = classMappings.get( mappedXClass );
@@ -453,6 +456,7 @@ else if ( metadataProvider.containsSearchMetadata( mappedClass ) ) {
 
 			documentBuildersIndexedEntities.put( mappedClass, entityIndexBinding );
 		}
+		metadataProvider.releaseScanCache();
 
 		detectIndexNamesCollisions( indexesFactory.getIndexManagers() );
 
@@ -0,0 +1,134 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.util.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Coalesces the work lists of several transactions targeting the same index
+ * into a single message, for the backends sending works to another node (JMS or JGroups slaves).
+ * <p>
+ * A batch is sent once the configured time window elapsed since its first work list was
+ * enqueued, or as soon as it reaches the configured amount of works, whichever comes first.
+ * Batches are sent by a single thread, so the order in which work lists are enqueued is preserved.
+ */
+public final class WorkListBatcher {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final Consumer<List<LuceneWork>> sender;
+	private final long windowMs;
+	private final int maxWorks;
+	private final ScheduledExecutorService flusher;
+
+	//guarded by this
+	private Batch currentBatch;
+
+	/**
+	 * @param sender sends a batch as a single message, throwing an exception on failure
+	 * @param groupname a label to identify the thread sending the batches
+	 * @param windowMs the maximum time a work list waits for others to join its batch, in milliseconds
+	 * @param maxWorks the amount of works triggering the sending of a batch before the end of its window
+	 */
+	public WorkListBatcher(Consumer<List<LuceneWork>> sender, String groupname, long windowMs, int maxWorks) {
+		this.sender = sender;
+		this.windowMs = windowMs;
+		this.maxWorks = maxWorks;
+		this.flusher = Executors.newScheduledThreadPool( groupname );
+	}
+
+	/**
+	 * @param workList the works to be sent; the list is not retained
+	 * @return a future completed once the batch containing the works has been sent
+	 */
+	public CompletableFuture<Void> enqueue(List<LuceneWork> workList) {
+		final Batch batch;
+		final boolean full;
+		synchronized ( this ) {
+			if ( currentBatch == null ) {
+				final Batch newBatch = new Batch();
+				newBatch.scheduledFlush = flusher.schedule( () -> flush( newBatch ), windowMs, TimeUnit.MILLISECONDS );
+				currentBatch = newBatch;
+			}
+			batch = currentBatch;
+			batch.works.addAll( workList );
+			full = batch.works.size() >= maxWorks;
+			if ( full ) {
+				currentBatch = null;
+			}
+		}
+		if ( full ) {
+			flusher.execute( () -> flush( batch ) );
+		}
+		return batch.completion;
+	}
+
+	private void flush(Batch batch) {
+		synchronized ( this ) {
+			if ( currentBatch == batch ) {
+				currentBatch = null;
+			}
+			// so that a pending flush doesn't delay the shutdown of the flushing thread
+			batch.scheduledFlush.cancel( false );
+		}
+		if ( batch.completion.isDone() ) {
+			// already sent because it was full, or because the batcher has been closed
+			return;
+		}
+		if ( log.isTraceEnabled() ) {
+			log.tracef( "Sending a batch of %d Lucene works.", (Integer) batch.works.size() );
+		}
+		try {
+			sender.accept( batch.works );
+			batch.completion.complete( null );
+		}
+		catch (RuntimeException e) {
+			// reported to the transactions waiting for the batch
+			batch.completion.completeExceptionally( e );
+		}
+	}
+
+	/**
+	 * Sends the pending works, if any, then releases the flushing thread.
+	 */
+	public void close() {
+		final Batch batch;
+		synchronized ( this ) {
+			batch = currentBatch;
+			currentBatch = null;
+		}
+		if ( batch != null ) {
+			flusher.execute( () -> flush( batch ) );
+		}
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class Batch {
+		// only mutated while holding the batcher's lock, before the batch is flushed
+		private final List<LuceneWork> works = new ArrayList<>();
+		private final CompletableFuture<Void> completion = new CompletableFuture<>();
+		//guarded by the batcher's lock
+		private ScheduledFuture<?> scheduledFlush;
+	}
+
+}
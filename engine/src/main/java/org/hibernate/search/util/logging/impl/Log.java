@@ -1019,4 +1019,43 @@ public interface Log extends BasicLogger {
 
 	@Message(id = 332, value = "None of the specified entity types ('%s') or any of their subclasses are configured." )
 	IllegalArgumentException targetedEntityTypesNotConfigured(String targetedEntities);
+
+	@LogMessage(level = INFO)
+	@Message(id = 333, value = "Mass indexing stages: fetched %1$d identifiers in %2$d ms (%3$d us each), loaded %4$d entities in %5$d ms (%6$d us each),"
+			+ " built %7$d documents in %8$d ms (%9$d us each), enqueued %10$d works in %11$d ms (%12$d us each);"
+			+ " at most %13$d identifier batches were waiting to be loaded")
+	void massIndexingStageSummary(long identifiers, long identifierLoadingMs, long identifierLoadingAvgMicros,
+			long entities, long entityLoadingMs, long entityLoadingAvgMicros,
+			long documents, long documentBuildingMs, long documentBuildingAvgMicros,
+			long works, long workEnqueuingMs, long workEnqueuingAvgMicros,
+			int identifierQueueMaxSize);
+
+	@Message(id = 334, value = "Unable to open the journal of index '%2$s' in directory '%1$s'")
+	SearchException unableToOpenWorkJournal(String directory, String indexName, @Cause Exception e);
+
+	@Message(id = 335, value = "Unable to write to the journal of index '%1$s'")
+	SearchException unableToWriteWorkJournal(String indexName, @Cause Exception e);
+
+	@LogMessage(level = WARN)
+	@Message(id = 336, value = "Ignoring the end of the journal file '%1$s' from position %2$d: the record is incomplete or corrupted")
+	void ignoringCorruptedJournalRecord(String file, long position);
+
+	@LogMessage(level = INFO)
+	@Message(id = 337, value = "Applying again %1$d work lists found in the journal of index '%2$s'")
+	void replayingWorkJournal(int count, String indexName);
+
+	@LogMessage(level = WARN)
+	@Message(id = 338, value = "Unable to remove the committed entries from the journal of index '%1$s'")
+	void unableToTruncateWorkJournal(String indexName, @Cause Exception e);
+
+	@Message(id = 339, value = "Interrupted while building the documents of the entities changed in a transaction")
+	SearchException interruptedWhileBuildingDocuments(@Cause InterruptedException e);
+
+	@LogMessage(level = WARN)
+	@Message(id = 340, value = "Unable to warm up a new IndexReader of index '%1$s'")
+	void unableToWarmIndexReader(String indexName, @Cause Exception e);
+
+	@LogMessage(level = WARN)
+	@Message(id = 341, value = "Unable to refresh the IndexReader of index '%1$s' in the background; queries keep using the previous one")
+	void unableToRefreshIndexReaderInBackground(String indexName, @Cause Exception e);
 }
@@ -0,0 +1,150 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests which works are applied again after a restart when the async backend is journaled.
+ */
+public class WorkJournalTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final LuceneWorkSerializer serializer = new IdListSerializer();
+
+	@Test
+	public void uncommittedWorksAreReplayed() throws Exception {
+		String directory = folder.getRoot().getAbsolutePath();
+		WorkJournal journal = WorkJournal.open( directory, "index", serializer );
+		Assert.assertTrue( journal.takePending().isEmpty() );
+
+		long first = journal.append( Arrays.asList( add( "1" ), delete( "2" ) ) );
+		journal.applied( first );
+		journal.committed( journal.getAppliedSequence() );
+		long second = journal.append( Arrays.asList( add( "3" ) ) );
+		Assert.assertTrue( second > first );
+		// simulates a crash: the second work list is never committed
+		journal.close();
+
+		WorkJournal reopened = WorkJournal.open( directory, "index", serializer );
+		List<WorkJournal.Record> pending = reopened.takePending();
+		Assert.assertEquals( 1, pending.size() );
+		Assert.assertEquals( second, pending.get( 0 ).getSequence() );
+		List<LuceneWork> works = reopened.readWorks( pending.get( 0 ) );
+		Assert.assertEquals( 1, works.size() );
+		// additions are made idempotent
+		Assert.assertTrue( works.get( 0 ) instanceof UpdateLuceneWork );
+		Assert.assertEquals( "3", works.get( 0 ).getIdInString() );
+		Assert.assertTrue( reopened.takePending().isEmpty() );
+
+		// new records follow the replayed ones
+		Assert.assertTrue( reopened.append( Arrays.asList( delete( "4" ) ) ) > second );
+		reopened.applied( second );
+		reopened.committed( reopened.getAppliedSequence() );
+		reopened.close();
+
+		WorkJournal afterCommit = WorkJournal.open( directory, "index", serializer );
+		pending = afterCommit.takePending();
+		Assert.assertEquals( 1, pending.size() );
+		Assert.assertTrue( afterCommit.readWorks( pending.get( 0 ) ).get( 0 ) instanceof DeleteLuceneWork );
+		afterCommit.close();
+	}
+
+	@Test
+	public void worksAppliedOutOfOrderDontDiscardEarlierOnes() throws Exception {
+		String directory = folder.getRoot().getAbsolutePath();
+		WorkJournal journal = WorkJournal.open( directory, "index", serializer );
+		long first = journal.append( Arrays.asList( add( "1" ) ) );
+		long second = journal.append( Arrays.asList( add( "2" ) ) );
+		// the second work list is applied while the first one is still queued
+		journal.applied( second );
+		Assert.assertEquals( first - 1, journal.getAppliedSequence() );
+		journal.committed( journal.getAppliedSequence() );
+		journal.close();
+
+		WorkJournal reopened = WorkJournal.open( directory, "index", serializer );
+		List<WorkJournal.Record> pending = reopened.takePending();
+		Assert.assertEquals( 2, pending.size() );
+		Assert.assertEquals( first, pending.get( 0 ).getSequence() );
+		reopened.applied( first );
+		Assert.assertEquals( first, reopened.getAppliedSequence() );
+		reopened.applied( second );
+		Assert.assertEquals( second, reopened.getAppliedSequence() );
+		reopened.close();
+	}
+
+	@Test
+	public void indexesHaveSeparateJournals() throws Exception {
+		String directory = folder.getRoot().getAbsolutePath();
+		WorkJournal first = WorkJournal.open( directory, "first", serializer );
+		WorkJournal second = WorkJournal.open( directory, "second", serializer );
+		first.append( Arrays.asList( add( "1" ) ) );
+		first.close();
+		second.close();
+
+		first = WorkJournal.open( directory, "first", serializer );
+		second = WorkJournal.open( directory, "second", serializer );
+		Assert.assertEquals( 1, first.takePending().size() );
+		Assert.assertTrue( second.takePending().isEmpty() );
+		first.close();
+		second.close();
+	}
+
+	private static LuceneWork add(String id) {
+		return new AddLuceneWork( id, id, Object.class, new Document() );
+	}
+
+	private static LuceneWork delete(String id) {
+		return new DeleteLuceneWork( id, id, Object.class );
+	}
+
+	/**
+	 * Only keeps the kind and identifier of each work, which is all these tests need.
+	 */
+	private static class IdListSerializer implements LuceneWorkSerializer {
+
+		@Override
+		public byte[] toSerializedModel(List<LuceneWork> works) {
+			StringBuilder builder = new StringBuilder();
+			for ( LuceneWork work : works ) {
+				builder.append( work instanceof DeleteLuceneWork ? 'D' : 'A' ).append( work.getIdInString() ).append( ',' );
+			}
+			return builder.toString().getBytes( StandardCharsets.UTF_8 );
+		}
+
+		@Override
+		public List<LuceneWork> toLuceneWorks(byte[] data) {
+			List<LuceneWork> works = new ArrayList<>();
+			for ( String token : new String( data, StandardCharsets.UTF_8 ).split( "," ) ) {
+				String id = token.substring( 1 );
+				works.add( token.charAt( 0 ) == 'D' ? delete( id ) : add( id ) );
+			}
+			return works;
+		}
+
+		@Override
+		public String describeSerializer() {
+			return "id list";
+		}
+	}
+}
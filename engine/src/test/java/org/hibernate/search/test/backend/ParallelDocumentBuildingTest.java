@@ -0,0 +1,122 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.backend;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.lucene.search.Query;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.backend.spi.Worker;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests that the documents built in parallel, for transactions changing many entities, are the same
+ * as the documents built by the committing thread.
+ */
+public class ParallelDocumentBuildingTest {
+
+	private static final int BOOKS = 100;
+
+	@Rule
+	public SearchFactoryHolder factoryHolder = new SearchFactoryHolder( Book.class )
+			.withProperty( Environment.WORKER_DOCUMENT_BUILDING_THREADS, "4" )
+			.withProperty( Environment.WORKER_DOCUMENT_BUILDING_THRESHOLD, "10" );
+
+	@Test
+	public void testDocumentsBuiltInParallel() {
+		ExtendedSearchIntegrator integrator = factoryHolder.getSearchFactory();
+		Worker worker = integrator.getWorker();
+
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			worker.performWork( new Work( new Book( i, "title" + i, "author" + ( i % 2 ) ), i, WorkType.ADD ), tc );
+		}
+		tc.end();
+
+		assertCount( BOOKS, all( integrator ), integrator );
+		assertCount( 1, keyword( integrator, "title", "title42" ), integrator );
+		assertCount( BOOKS / 2, keyword( integrator, "author.name", "author1" ), integrator );
+	}
+
+	@Test
+	public void testPurgeAllIsAppliedBeforeDocumentsBuiltInParallel() {
+		ExtendedSearchIntegrator integrator = factoryHolder.getSearchFactory();
+		Worker worker = integrator.getWorker();
+
+		TransactionContextForTest tc = new TransactionContextForTest();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			worker.performWork( new Work( new Book( i, "title" + i, "author" ), i, WorkType.ADD ), tc );
+		}
+		tc.end();
+
+		tc = new TransactionContextForTest();
+		worker.performWork( new Work( Book.class, null, WorkType.PURGE_ALL ), tc );
+		for ( int i = 0; i < BOOKS / 2; i++ ) {
+			worker.performWork( new Work( new Book( i, "updated" + i, "author" ), i, WorkType.UPDATE ), tc );
+		}
+		tc.end();
+
+		assertCount( BOOKS / 2, all( integrator ), integrator );
+		assertCount( 0, keyword( integrator, "title", "title1" ), integrator );
+		assertCount( 1, keyword( integrator, "title", "updated1" ), integrator );
+	}
+
+	private static Query all(ExtendedSearchIntegrator integrator) {
+		return integrator.buildQueryBuilder().forEntity( Book.class ).get().all().createQuery();
+	}
+
+	private static Query keyword(ExtendedSearchIntegrator integrator, String field, String value) {
+		return integrator.buildQueryBuilder().forEntity( Book.class ).get()
+				.keyword().onField( field ).ignoreFieldBridge().matching( value ).createQuery();
+	}
+
+	private static void assertCount(int count, Query query, ExtendedSearchIntegrator integrator) {
+		assertEquals( count, integrator.createHSQuery( query, Book.class ).queryResultSize() );
+	}
+
+	@Indexed
+	private static class Book {
+
+		@DocumentId
+		Integer id;
+
+		@Field
+		String title;
+
+		@IndexedEmbedded
+		Author author;
+
+		Book(Integer id, String title, String authorName) {
+			this.id = id;
+			this.title = title;
+			this.author = new Author( authorName );
+		}
+
+	}
+
+	private static class Author {
+
+		@Field
+		String name;
+
+		Author(String name) {
+			this.name = name;
+		}
+
+	}
+
+}
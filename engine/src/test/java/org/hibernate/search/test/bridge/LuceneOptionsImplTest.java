@@ -0,0 +1,87 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.bridge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexableField;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.engine.impl.LuceneOptionsImpl;
+import org.hibernate.search.engine.metadata.impl.BackReference;
+import org.hibernate.search.engine.metadata.impl.DocumentFieldMetadata;
+import org.hibernate.search.engine.metadata.impl.DocumentFieldPath;
+import org.hibernate.search.engine.metadata.impl.PropertyMetadata;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
+import org.junit.Test;
+
+/**
+ * Tests the options shared by all the documents for a given field.
+ */
+public class LuceneOptionsImplTest {
+
+	@Test
+	public void testOptionsAreSharedWithoutInheritedBoost() {
+		DocumentFieldMetadata fieldMetadata = fieldMetadata( Store.YES, Field.Index.ANALYZED, 2f );
+		LuceneOptionsImpl options = fieldMetadata.getLuceneOptions();
+
+		assertSame( options, fieldMetadata.getLuceneOptions() );
+		assertSame( options, options.withBoosts( 2f, 1f ) );
+		assertNotSame( options, options.withBoosts( 3f, 1f ) );
+		assertNotSame( options, options.withBoosts( 2f, 1.5f ) );
+	}
+
+	@Test
+	public void testInheritedBoostIsAppliedOnce() {
+		LuceneOptionsImpl options = fieldMetadata( Store.YES, Field.Index.ANALYZED, 2f )
+				.getLuceneOptions()
+				.withBoosts( 2f, 3f );
+		Document document = new Document();
+
+		options.addFieldToDocument( "field", "first", document );
+		options.addFieldToDocument( "field", "second", document );
+
+		assertEquals( 6f, document.getFields().get( 0 ).boost(), 0f );
+		assertEquals( 2f, document.getFields().get( 1 ).boost(), 0f );
+	}
+
+	@Test
+	public void testFieldType() {
+		Document document = new Document();
+
+		fieldMetadata( Store.YES, Field.Index.NOT_ANALYZED, 1f ).getLuceneOptions()
+				.addFieldToDocument( "stored", "value", document );
+		fieldMetadata( Store.NO, Field.Index.ANALYZED, 1f ).getLuceneOptions()
+				.addFieldToDocument( "analyzed", "value", document );
+		fieldMetadata( Store.NO, Field.Index.NO, 1f ).getLuceneOptions()
+				.addFieldToDocument( "ignored", "value", document );
+
+		IndexableField stored = document.getField( "stored" );
+		assertTrue( stored.fieldType().stored() );
+		assertFalse( stored.fieldType().tokenized() );
+		IndexableField analyzed = document.getField( "analyzed" );
+		assertFalse( analyzed.fieldType().stored() );
+		assertTrue( analyzed.fieldType().tokenized() );
+		assertEquals( 2, document.getFields().size() );
+	}
+
+	private static DocumentFieldMetadata fieldMetadata(Store store, Field.Index index, float boost) {
+		return new DocumentFieldMetadata.Builder(
+				new BackReference<TypeMetadata>(),
+				new BackReference<PropertyMetadata>(), null,
+				new DocumentFieldPath( "", "field" ),
+				store, index, Field.TermVector.NO
+		)
+				.boost( boost )
+				.build();
+	}
+}
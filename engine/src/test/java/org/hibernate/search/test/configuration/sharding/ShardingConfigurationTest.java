@@ -251,6 +251,43 @@ public void testConfiguringDynamicallyCreatedShardViaConfiguration() {
 		);
 	}
 
+	@Test
+	public void testIndexManagersInitializedConcurrently() {
+		Map<String, String> shardingProperties = new HashMap<String, String>();
+		shardingProperties.put( "hibernate.search.default.sharding_strategy.nbr_of_shards", "8" );
+		shardingProperties.put( "hibernate.search.indexmanager_initialization.threads", "4" );
+
+		MutableSearchFactory searchFactory = getSearchFactory( shardingProperties );
+
+		IndexManager[] indexManagers = searchFactory.getIndexBinding( Foo.class ).getIndexManagers();
+		assertEquals( 8, indexManagers.length );
+		for ( int i = 0; i < indexManagers.length; i++ ) {
+			assertEquals( "foo." + i, indexManagers[i].getIndexName() );
+			assertTrue( indexManagers[i].getContainedTypes().contains( Foo.class ) );
+		}
+	}
+
+	@Test
+	@Category(SkipOnElasticsearch.class) // Directory providers are specific to Lucene
+	public void testConcurrentInitializationReportsFirstFailure() {
+		Map<String, String> shardingProperties = new HashMap<String, String>();
+		shardingProperties.put( "hibernate.search.default.sharding_strategy.nbr_of_shards", "8" );
+		shardingProperties.put( "hibernate.search.indexmanager_initialization.threads", "4" );
+		shardingProperties.put( "hibernate.search.foo.5.directory_provider", "snafu" );
+		shardingProperties.put( "hibernate.search.foo.2.directory_provider", "snafu" );
+
+		try {
+			getSearchFactory( shardingProperties );
+			fail( "Factory creation should have failed" );
+		}
+		catch (SearchException e) {
+			assertTrue( "Unexpected error message - " + e.getMessage(), e.getMessage().startsWith( "HSEARCH000103" ) );
+			assertTrue( "Unexpected error message - " + e.getMessage(), e.getMessage().contains( "'foo.2'" ) );
+			assertEquals( 1, e.getSuppressed().length );
+			assertTrue( e.getSuppressed()[0].getMessage().contains( "'foo.5'" ) );
+		}
+	}
+
 	private MutableSearchFactory getSearchFactory(Map<String, String> shardingProperties) {
 		SearchConfigurationForTest configuration = new SearchConfigurationForTest();
 		for ( Map.Entry<String, String> entry : shardingProperties.entrySet() ) {
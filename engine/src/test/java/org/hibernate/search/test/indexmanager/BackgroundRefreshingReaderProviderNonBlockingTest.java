@@ -0,0 +1,98 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.indexmanager;
+
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.addBook;
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.countBooks;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.impl.BackgroundRefreshingReaderProvider;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.junit.SkipOnElasticsearch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests that, without a maximum staleness, the "background" reader strategy never makes queries wait
+ * for a reader being reopened: they use the published one until the new one is ready.
+ */
+@Category(SkipOnElasticsearch.class) // Reader providers are specific to Lucene
+public class BackgroundRefreshingReaderProviderNonBlockingTest {
+
+	private static final long TIMEOUT_MS = 10_000;
+
+	@Rule
+	public SearchFactoryHolder sfh = ReaderProviderTestFixture.searchFactoryHolder()
+			.withProperty( "hibernate.search.default." + Environment.READER_STRATEGY, "background" )
+			.withProperty( "hibernate.search.default." + Environment.READER_WARMER, BlockingWarmer.class.getName() );
+
+	@Test
+	public void testQueriesDontWaitForReopenedReaders() throws Exception {
+		ExtendedSearchIntegrator integrator = sfh.getSearchFactory();
+		DirectoryBasedIndexManager indexManager = ReaderProviderTestFixture.indexManager( sfh );
+		assertTrue( indexManager.getReaderProvider() instanceof BackgroundRefreshingReaderProvider );
+		BlockingWarmer warmer = (BlockingWarmer) indexManager.getIndexReaderWarmer();
+
+		warmer.block();
+		addBook( integrator, 1 );
+		assertEquals( "The published reader should be used while the index is checked", 0, countBooks( integrator ) );
+		assertTrue( "The new reader should have been opened in the background", warmer.warming.await( TIMEOUT_MS, TimeUnit.MILLISECONDS ) );
+		assertEquals( "The published reader should be used while the new one is warmed up", 0, countBooks( integrator ) );
+
+		warmer.release();
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		int count = countBooks( integrator );
+		while ( count != 1 && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+			count = countBooks( integrator );
+		}
+		assertEquals( "The new reader should have been published", 1, count );
+	}
+
+	public static class BlockingWarmer implements IndexReaderWarmer {
+
+		final CountDownLatch warming = new CountDownLatch( 1 );
+		private volatile CountDownLatch released;
+
+		void block() {
+			released = new CountDownLatch( 1 );
+		}
+
+		void release() {
+			released.countDown();
+		}
+
+		@Override
+		public void warm(IndexReader reader, List<LeafReaderContext> newSegments) {
+			CountDownLatch latch = released;
+			if ( latch == null ) {
+				return;
+			}
+			warming.countDown();
+			try {
+				latch.await( TIMEOUT_MS, TimeUnit.MILLISECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.indexmanager;
+
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.addBook;
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.countBooks;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.impl.BackgroundRefreshingReaderProvider;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.junit.SkipOnElasticsearch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests that the "background" reader strategy reopens readers on a background thread,
+ * and that queries wait for it when the reader is older than the maximum staleness.
+ */
+@Category(SkipOnElasticsearch.class) // Reader providers are specific to Lucene
+public class BackgroundRefreshingReaderProviderTest {
+
+	@Rule
+	public SearchFactoryHolder sfh = ReaderProviderTestFixture.searchFactoryHolder()
+			.withProperty( "hibernate.search.default." + Environment.READER_STRATEGY, "background" )
+			.withProperty( "hibernate.search.default." + Environment.READER_MAX_STALENESS_MS, "0" )
+			.withProperty( "hibernate.search.default." + Environment.READER_WARMER, ThreadRecordingWarmer.class.getName() );
+
+	@Test
+	public void testReadersReopenedInBackground() {
+		ExtendedSearchIntegrator integrator = sfh.getSearchFactory();
+		DirectoryBasedIndexManager indexManager = ReaderProviderTestFixture.indexManager( sfh );
+		assertTrue( indexManager.getReaderProvider() instanceof BackgroundRefreshingReaderProvider );
+		ThreadRecordingWarmer warmer = (ThreadRecordingWarmer) indexManager.getIndexReaderWarmer();
+
+		addBook( integrator, 1 );
+		assertEquals( 1, countBooks( integrator ) );
+		addBook( integrator, 2 );
+		assertEquals( 2, countBooks( integrator ) );
+
+		assertEquals( 2, warmer.threadNames.size() );
+		for ( String threadName : warmer.threadNames ) {
+			assertFalse( "Readers should be reopened in the background", Thread.currentThread().getName().equals( threadName ) );
+		}
+	}
+
+	public static class ThreadRecordingWarmer implements IndexReaderWarmer {
+
+		final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void warm(IndexReader reader, List<LeafReaderContext> newSegments) {
+			threadNames.add( Thread.currentThread().getName() );
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.indexmanager;
+
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.addBook;
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.countBooks;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.junit.SkipOnElasticsearch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests that the configured {@link IndexReaderWarmer} is invoked on the new segments of each new reader.
+ */
+@Category(SkipOnElasticsearch.class) // Reader providers are specific to Lucene
+public class IndexReaderWarmerTest {
+
+	@Rule
+	public SearchFactoryHolder sfh = ReaderProviderTestFixture.searchFactoryHolder()
+			.withProperty( "hibernate.search.default." + Environment.READER_WARMER, RecordingWarmer.class.getName() );
+
+	@Test
+	public void testNewSegmentsWarmedBeforeQuerying() {
+		ExtendedSearchIntegrator integrator = sfh.getSearchFactory();
+		DirectoryBasedIndexManager indexManager = ReaderProviderTestFixture.indexManager( sfh );
+		RecordingWarmer warmer = (RecordingWarmer) indexManager.getIndexReaderWarmer();
+
+		addBook( integrator, 1 );
+		assertEquals( 1, countBooks( integrator ) );
+		assertEquals( Arrays.asList( 1 ), warmer.newSegmentCounts );
+		assertEquals( Arrays.asList( 1 ), warmer.warmedHits );
+
+		addBook( integrator, 2 );
+		assertEquals( 2, countBooks( integrator ) );
+		assertEquals( "Only the segment added by the second change should be warmed",
+				Arrays.asList( 1, 1 ), warmer.newSegmentCounts );
+		assertEquals( Arrays.asList( 1, 2 ), warmer.warmedHits );
+
+		assertEquals( 2, countBooks( integrator ) );
+		assertEquals( "An unchanged reader should not be warmed again", 2, warmer.newSegmentCounts.size() );
+	}
+
+	public static class RecordingWarmer implements IndexReaderWarmer {
+
+		final List<Integer> newSegmentCounts = new CopyOnWriteArrayList<>();
+		final List<Integer> warmedHits = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void warm(IndexReader reader, List<LeafReaderContext> newSegments) throws IOException {
+			newSegmentCounts.add( newSegments.size() );
+			warmedHits.add( new IndexSearcher( reader ).count( new TermQuery( new Term( "title", "title" ) ) ) );
+		}
+
+	}
+
+}
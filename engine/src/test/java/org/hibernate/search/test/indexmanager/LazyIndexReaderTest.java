@@ -0,0 +1,78 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.indexmanager;
+
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.addBook;
+import static org.hibernate.search.test.indexmanager.ReaderProviderTestFixture.countBooks;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.impl.SharingBufferReaderProvider;
+import org.hibernate.search.test.backend.lucene.Condition;
+import org.hibernate.search.test.backend.lucene.Conditions;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.junit.SkipOnElasticsearch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests that index readers are opened by the first query when lazy, and closed when idle.
+ */
+@Category(SkipOnElasticsearch.class) // Reader providers are specific to Lucene
+public class LazyIndexReaderTest {
+
+	@Rule
+	public SearchFactoryHolder sfh = ReaderProviderTestFixture.searchFactoryHolder()
+			.withProperty( "hibernate.search.default.reader.strategy", CountingReaderProvider.class.getName() )
+			.withProperty( "hibernate.search.default.reader.lazy", "true" )
+			.withProperty( "hibernate.search.default.reader.idle_timeout_ms", "100" );
+
+	@Test
+	public void testReaderOpenedOnFirstQueryAndClosedWhenIdle() throws Exception {
+		ExtendedSearchIntegrator integrator = sfh.getSearchFactory();
+		final CountingReaderProvider readerProvider = (CountingReaderProvider) ReaderProviderTestFixture.indexManager( sfh ).getReaderProvider();
+		assertEquals( 0, readerProvider.openedReaders.get() );
+
+		addBook( integrator, 1 );
+		assertEquals( "Indexing should not open a reader", 0, readerProvider.openedReaders.get() );
+
+		assertEquals( 1, countBooks( integrator ) );
+		assertEquals( 1, readerProvider.openedReaders.get() );
+
+		Conditions.assertConditionMet( new Condition() {
+			@Override
+			public boolean evaluate() {
+				return readerProvider.closedReaders.get() == 1;
+			}
+		} );
+
+		assertEquals( 1, countBooks( integrator ) );
+		assertEquals( 2, readerProvider.openedReaders.get() );
+	}
+
+	public static class CountingReaderProvider extends SharingBufferReaderProvider {
+
+		final AtomicInteger openedReaders = new AtomicInteger();
+		final AtomicInteger closedReaders = new AtomicInteger();
+
+		@Override
+		protected DirectoryReader readerFactory(Directory directory) throws IOException {
+			openedReaders.incrementAndGet();
+			DirectoryReader reader = super.readerFactory( directory );
+			reader.addReaderClosedListener( r -> closedReaders.incrementAndGet() );
+			return reader;
+		}
+
+	}
+
+}
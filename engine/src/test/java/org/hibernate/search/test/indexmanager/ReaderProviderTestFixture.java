@@ -0,0 +1,63 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.indexmanager;
+
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.spi.DirectoryBasedIndexManager;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+
+/**
+ * Shared by the tests of the reader providers: a single indexed entity, and helpers
+ * to index instances of it and to count them with a query.
+ */
+final class ReaderProviderTestFixture {
+
+	private ReaderProviderTestFixture() {
+	}
+
+	static SearchFactoryHolder searchFactoryHolder() {
+		return new SearchFactoryHolder( Book.class );
+	}
+
+	static DirectoryBasedIndexManager indexManager(SearchFactoryHolder sfh) {
+		return sfh.extractIndexManager( Book.class );
+	}
+
+	static void addBook(ExtendedSearchIntegrator integrator, int id) {
+		TransactionContextForTest tc = new TransactionContextForTest();
+		integrator.getWorker().performWork( new Work( new Book( id, "title" ), id, WorkType.ADD ), tc );
+		tc.end();
+	}
+
+	static int countBooks(ExtendedSearchIntegrator integrator) {
+		return integrator.createHSQuery( integrator.buildQueryBuilder().forEntity( Book.class ).get().all().createQuery(), Book.class )
+				.queryResultSize();
+	}
+
+	@Indexed
+	static final class Book {
+
+		@DocumentId
+		Integer id;
+
+		@Field
+		String title;
+
+		Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.search.jmx.IndexingProgressMonitorMBean;
+import org.hibernate.search.jmx.impl.JMXRegistrar;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Verifies the per-stage measurements of the mass indexing pipeline are exposed through JMX.
+ */
+public class IndexingProgressMonitorStagesTest {
+
+	@Test
+	public void testStageMeasurementsAreExposed() throws Exception {
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName( IndexingProgressMonitorMBean.INDEXING_PROGRESS_MONITOR_MBEAN_OBJECT_NAME );
+		JMXRegistrar.IndexingProgressMonitor monitor = new JMXRegistrar.IndexingProgressMonitor();
+		try {
+			monitor.identifiersLoaded( 100, TimeUnit.MILLISECONDS.toNanos( 30 ) );
+			monitor.identifierQueueSampled( 3 );
+			monitor.identifierQueueSampled( 1 );
+			monitor.entityBatchLoaded( 10, TimeUnit.MILLISECONDS.toNanos( 20 ) );
+			monitor.entityBatchLoaded( 10, TimeUnit.MILLISECONDS.toNanos( 20 ) );
+			monitor.documentBuilt( TimeUnit.MILLISECONDS.toNanos( 5 ) );
+			monitor.workEnqueued( TimeUnit.MILLISECONDS.toNanos( 7 ) );
+
+			assertEquals( 30L, mbeanServer.getAttribute( name, "IdentifierLoadingTime" ) );
+			assertEquals( 40L, mbeanServer.getAttribute( name, "EntityLoadingTime" ) );
+			assertEquals( 5L, mbeanServer.getAttribute( name, "DocumentBuildingTime" ) );
+			assertEquals( 7L, mbeanServer.getAttribute( name, "WorkEnqueuingTime" ) );
+			assertEquals( 1, mbeanServer.getAttribute( name, "IdentifierQueueSize" ) );
+			assertEquals( 3, mbeanServer.getAttribute( name, "IdentifierQueueMaxSize" ) );
+		}
+		finally {
+			monitor.indexingCompleted();
+		}
+		assertFalse( mbeanServer.isRegistered( name ) );
+	}
+
+}
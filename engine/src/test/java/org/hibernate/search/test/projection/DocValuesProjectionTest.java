@@ -0,0 +1,205 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.projection;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FilterDirectoryReader;
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.SortableField;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.indexes.impl.SharingBufferReaderProvider;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.TransactionContextForTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies that projections on stored, sortable fields are read from the doc values,
+ * and return the same values as when they are read from the stored fields.
+ */
+public class DocValuesProjectionTest {
+
+	@Rule
+	public SearchFactoryHolder sfHolder = new SearchFactoryHolder( Measurement.class )
+			.withProperty( "hibernate.search.default.reader.strategy", StoredFieldsCountingReaderProvider.class.getName() );
+
+	@Before
+	public void storeTestData() {
+		Measurement first = new Measurement();
+		first.id = 1L;
+		first.count = 5;
+		first.timestamp = 1_000_000_000_000L;
+		first.ratio = 0.25f;
+		first.value = 42.5d;
+		first.unit = "Km/h";
+		first.description = "Some Wind";
+
+		Measurement second = new Measurement();
+		second.id = 2L;
+		second.count = -3;
+		second.timestamp = -1L;
+		second.ratio = -1.5f;
+		second.value = Double.MAX_VALUE;
+		// no unit, nor description
+
+		ExtendedSearchIntegrator searchFactory = sfHolder.getSearchFactory();
+		TransactionContextForTest tc = new TransactionContextForTest();
+		searchFactory.getWorker().performWork( new Work( first, first.id, WorkType.ADD, false ), tc );
+		searchFactory.getWorker().performWork( new Work( second, second.id, WorkType.ADD, false ), tc );
+		tc.end();
+	}
+
+	@Test
+	public void projectingSortableFields() {
+		List<EntityInfo> results = project( "count", "timestamp", "ratio", "value", "unit" );
+		Assert.assertEquals( 2, results.size() );
+		assertProjection( results.get( 0 ), 5, 1_000_000_000_000L, 0.25f, 42.5d, "Km/h" );
+		assertProjection( results.get( 1 ), -3, -1L, -1.5f, Double.MAX_VALUE, null );
+	}
+
+	@Test
+	public void projectingSortableFieldsAlongWithProjectionConstants() {
+		List<EntityInfo> results = project( "unit", ProjectionConstants.OBJECT_CLASS, ProjectionConstants.DOCUMENT_ID );
+		Assert.assertEquals( 2, results.size() );
+		Assert.assertEquals( "Km/h", results.get( 0 ).getProjection()[0] );
+		Assert.assertEquals( Measurement.class, results.get( 0 ).getProjection()[1] );
+		Assert.assertNull( results.get( 1 ).getProjection()[0] );
+	}
+
+	@Test
+	public void projectingSortableAndAnalyzedFields() {
+		// the analyzed field can't be read from the doc values: all fields are read from the stored fields
+		List<EntityInfo> results = project( "count", "description" );
+		Assert.assertEquals( 2, results.size() );
+		Assert.assertEquals( 5, results.get( 0 ).getProjection()[0] );
+		Assert.assertEquals( "Some Wind", results.get( 0 ).getProjection()[1] );
+		Assert.assertEquals( -3, results.get( 1 ).getProjection()[0] );
+		Assert.assertNull( results.get( 1 ).getProjection()[1] );
+	}
+
+	@Test
+	public void projectingSortableFieldsAndId() {
+		List<EntityInfo> results = project( ProjectionConstants.ID, "value" );
+		Assert.assertEquals( 2, results.size() );
+		Assert.assertEquals( 1L, results.get( 0 ).getProjection()[0] );
+		Assert.assertEquals( 42.5d, results.get( 0 ).getProjection()[1] );
+	}
+
+	@Test
+	public void sortableFieldsAreNotReadFromStoredFields() {
+		StoredFieldsCountingReaderProvider readerProvider =
+				(StoredFieldsCountingReaderProvider) sfHolder.extractIndexManager( Measurement.class ).getReaderProvider();
+
+		Assert.assertEquals( 2, project( "count", "unit" ).size() );
+		Assert.assertEquals( "The projected fields should be read from the doc values", 0, readerProvider.storedFieldsReads.get() );
+
+		Assert.assertEquals( 2, project( "count", "description" ).size() );
+		Assert.assertTrue( "The analyzed field should be read from the stored fields", readerProvider.storedFieldsReads.get() > 0 );
+	}
+
+	private List<EntityInfo> project(String... projection) {
+		ExtendedSearchIntegrator searchFactory = sfHolder.getSearchFactory();
+		Query query = searchFactory.buildQueryBuilder().forEntity( Measurement.class ).get().all().createQuery();
+		return searchFactory.createHSQuery( query, Measurement.class )
+				.projection( projection )
+				.sort( new Sort( new SortField( "count", SortField.Type.INT, true ) ) )
+				.queryEntityInfos();
+	}
+
+	private static void assertProjection(EntityInfo entityInfo, Object... expected) {
+		Assert.assertArrayEquals( expected, entityInfo.getProjection() );
+	}
+
+	public static class StoredFieldsCountingReaderProvider extends SharingBufferReaderProvider {
+
+		final AtomicInteger storedFieldsReads = new AtomicInteger();
+
+		@Override
+		protected DirectoryReader readerFactory(Directory directory) throws IOException {
+			return new StoredFieldsCountingReader( super.readerFactory( directory ), storedFieldsReads );
+		}
+
+	}
+
+	private static class StoredFieldsCountingReader extends FilterDirectoryReader {
+
+		private final AtomicInteger storedFieldsReads;
+
+		StoredFieldsCountingReader(DirectoryReader in, AtomicInteger storedFieldsReads) throws IOException {
+			super( in, new SubReaderWrapper() {
+				@Override
+				public LeafReader wrap(LeafReader reader) {
+					return new FilterLeafReader( reader ) {
+						@Override
+						public void document(int docID, StoredFieldVisitor visitor) throws IOException {
+							storedFieldsReads.incrementAndGet();
+							super.document( docID, visitor );
+						}
+					};
+				}
+			} );
+			this.storedFieldsReads = storedFieldsReads;
+		}
+
+		@Override
+		protected DirectoryReader doWrapDirectoryReader(DirectoryReader in) throws IOException {
+			return new StoredFieldsCountingReader( in, storedFieldsReads );
+		}
+
+	}
+
+	@Indexed
+	public static class Measurement {
+		@DocumentId
+		Long id;
+
+		@Field(store = Store.YES)
+		@SortableField
+		Integer count;
+
+		@Field(store = Store.YES)
+		@SortableField
+		Long timestamp;
+
+		@Field(store = Store.YES)
+		@SortableField
+		Float ratio;
+
+		@Field(store = Store.YES)
+		@SortableField
+		Double value;
+
+		@Field(store = Store.YES, analyze = Analyze.NO)
+		@SortableField
+		String unit;
+
+		@Field(store = Store.YES)
+		@SortableField
+		String description;
+	}
+}
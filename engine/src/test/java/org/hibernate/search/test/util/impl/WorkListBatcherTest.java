@@ -0,0 +1,93 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.util.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.util.impl.WorkListBatcher;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests how the work lists of several transactions are coalesced into a single message.
+ */
+public class WorkListBatcherTest {
+
+	private final List<List<LuceneWork>> sentMessages = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void workListsWithinTheWindowAreSentTogether() throws Exception {
+		WorkListBatcher batcher = new WorkListBatcher( this::send, "index", 200, 1000 );
+		CompletableFuture<Void> first = batcher.enqueue( Collections.singletonList( delete( "1" ) ) );
+		CompletableFuture<Void> second = batcher.enqueue( Arrays.asList( delete( "2" ), delete( "3" ) ) );
+		Assert.assertSame( first, second );
+
+		first.get( 10, TimeUnit.SECONDS );
+		Assert.assertEquals( 1, sentMessages.size() );
+		assertIds( sentMessages.get( 0 ), "1", "2", "3" );
+		batcher.close();
+	}
+
+	@Test
+	public void fullBatchesAreSentBeforeTheEndOfTheWindow() throws Exception {
+		WorkListBatcher batcher = new WorkListBatcher( this::send, "index", 60_000, 2 );
+		CompletableFuture<Void> full = batcher.enqueue( Arrays.asList( delete( "1" ), delete( "2" ) ) );
+		CompletableFuture<Void> next = batcher.enqueue( Collections.singletonList( delete( "3" ) ) );
+		Assert.assertNotSame( full, next );
+
+		full.get( 10, TimeUnit.SECONDS );
+		assertIds( sentMessages.get( 0 ), "1", "2" );
+		Assert.assertFalse( next.isDone() );
+
+		// the pending works are sent on close
+		batcher.close();
+		Assert.assertTrue( next.isDone() );
+		Assert.assertEquals( 2, sentMessages.size() );
+		assertIds( sentMessages.get( 1 ), "3" );
+	}
+
+	@Test
+	public void failuresAreReportedToTheWaitingTransactions() throws Exception {
+		WorkListBatcher batcher = new WorkListBatcher( works -> {
+			throw new SearchException( "broker unavailable" );
+		}, "index", 10, 1000 );
+		CompletableFuture<Void> sent = batcher.enqueue( Collections.singletonList( delete( "1" ) ) );
+		try {
+			sent.get( 10, TimeUnit.SECONDS );
+			Assert.fail( "The failure to send the batch should have been reported" );
+		}
+		catch (ExecutionException e) {
+			Assert.assertTrue( e.getCause() instanceof SearchException );
+		}
+		batcher.close();
+	}
+
+	private void send(List<LuceneWork> works) {
+		sentMessages.add( new ArrayList<>( works ) );
+	}
+
+	private static void assertIds(List<LuceneWork> works, String... ids) {
+		Assert.assertEquals( ids.length, works.size() );
+		for ( int i = 0; i < ids.length; i++ ) {
+			Assert.assertEquals( ids[i], works.get( i ).getIdInString() );
+		}
+	}
+
+	private static LuceneWork delete(String id) {
+		return new DeleteLuceneWork( id, id, Object.class );
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance;
+
+import java.util.HashMap;
+
+import org.apache.lucene.document.Document;
+import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
+import org.hibernate.search.engine.impl.SimpleInitializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Measures the conversion of an entity embedding several levels of objects and collections to a document,
+ * without any backend involved.
+ */
+@Fork(1)
+public class DocumentBuildingBenchmarks {
+
+	@Benchmark
+	public Document buildDocument(DocumentBuildingHolder holder) {
+		return holder.documentBuilder.getDocument(
+				null,
+				holder.publication,
+				holder.publication.getId(),
+				new HashMap<String, String>(),
+				SimpleInitializer.INSTANCE,
+				new ContextualExceptionBridgeHelper(),
+				null
+		);
+	}
+
+}
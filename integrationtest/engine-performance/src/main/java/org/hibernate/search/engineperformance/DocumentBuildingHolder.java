@@ -0,0 +1,91 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance;
+
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.engineperformance.model.AddressEntity;
+import org.hibernate.search.engineperformance.model.AuthorEntity;
+import org.hibernate.search.engineperformance.model.PublicationEntity;
+import org.hibernate.search.engineperformance.model.PublisherEntity;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Holds the document builder of {@link PublicationEntity} and a publication to convert to a document.
+ * Run with {@code -prof gc} to get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+public class DocumentBuildingHolder {
+
+	public volatile DocumentBuilderIndexedEntity documentBuilder;
+	public volatile PublicationEntity publication;
+
+	private SearchIntegrator si;
+
+	/**
+	 * The amount of authors of the publication, each author embedding an address and a publisher.
+	 */
+	@Param( { "1", "10" } )
+	private int authors;
+
+	@Setup
+	public void initializeState() {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest();
+		cfg.addProperty( "hibernate.search.default.worker.backend", "blackhole" );
+		cfg.addClass( PublicationEntity.class );
+		si = new SearchIntegratorBuilder().configuration( cfg ).buildSearchIntegrator();
+		documentBuilder = si.getIndexBinding( PublicationEntity.class ).getDocumentBuilder();
+		publication = createPublication( authors );
+	}
+
+	@TearDown
+	public void shutdownIndexingEngine() {
+		if ( si != null ) {
+			si.close();
+		}
+	}
+
+	private static PublicationEntity createPublication(int authorCount) {
+		PublisherEntity publisher = createPublisher( "Publisher" );
+		PublicationEntity publication = new PublicationEntity();
+		publication.setId( 1L );
+		publication.setTitle( "A rather long title for a publication with many authors" );
+		publication.setYear( 2017 );
+		publication.setPublisher( publisher );
+		for ( int i = 0; i < authorCount; i++ ) {
+			AuthorEntity author = new AuthorEntity();
+			author.setFirstName( "First name " + i );
+			author.setLastName( "Last name " + i );
+			author.setAddress( createAddress( i ) );
+			author.setPublisher( i % 2 == 0 ? publisher : createPublisher( "Other publisher " + i ) );
+			publication.getAuthors().add( author );
+		}
+		return publication;
+	}
+
+	private static PublisherEntity createPublisher(String name) {
+		PublisherEntity publisher = new PublisherEntity();
+		publisher.setName( name );
+		publisher.setAddress( createAddress( name.length() ) );
+		return publisher;
+	}
+
+	private static AddressEntity createAddress(int i) {
+		AddressEntity address = new AddressEntity();
+		address.setStreet( i + " Main Street" );
+		address.setCity( "City " + i );
+		address.setCountry( i % 2 == 0 ? "France" : "Italy" );
+		return address;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance;
+
+import org.hibernate.annotations.common.reflection.java.JavaReflectionManager;
+import org.hibernate.search.engine.impl.ConfigContext;
+import org.hibernate.search.engine.metadata.impl.AnnotationMetadataProvider;
+import org.hibernate.search.engine.metadata.impl.TypeMetadata;
+import org.hibernate.search.engineperformance.model.PublicationEntity;
+import org.hibernate.search.indexes.spi.LuceneEmbeddedIndexManagerType;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.hibernate.search.testsupport.setup.BuildContextForTest;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Measures the bootstrap of a mapping embedding the same types at several levels, alone and as part
+ * of building a whole {@link SearchIntegrator}.
+ */
+@Fork(1)
+public class MetadataBuildingBenchmarks {
+
+	@Benchmark
+	public TypeMetadata buildMetadata() {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest();
+		ConfigContext configContext = new ConfigContext( cfg, new BuildContextForTest( cfg ) );
+		AnnotationMetadataProvider metadataProvider = new AnnotationMetadataProvider( new JavaReflectionManager(), configContext );
+		return metadataProvider.getTypeMetadataFor( PublicationEntity.class, LuceneEmbeddedIndexManagerType.INSTANCE );
+	}
+
+	@Benchmark
+	public SearchIntegrator bootstrap() {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest();
+		cfg.addProperty( "hibernate.search.default.worker.backend", "blackhole" );
+		cfg.addClass( PublicationEntity.class );
+		SearchIntegrator si = new SearchIntegratorBuilder().configuration( cfg ).buildSearchIntegrator();
+		si.close();
+		return si;
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance;
+
+import java.util.List;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Measures the conversion of works to and from the messages sent by the JMS and JGroups backends.
+ */
+@Fork(1)
+public class SerializationBenchmarks {
+
+	@Benchmark
+	public byte[] serialize(SerializationHolder holder) {
+		return holder.serializer.toSerializedModel( holder.works );
+	}
+
+	@Benchmark
+	public List<LuceneWork> deserialize(SerializationHolder holder) {
+		return holder.serializer.toLuceneWorks( holder.serialized );
+	}
+
+	@Benchmark
+	public List<LuceneWork> roundTrip(SerializationHolder holder) {
+		byte[] serialized = holder.serializer.toSerializedModel( holder.works );
+		return holder.serializer.toLuceneWorks( serialized );
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance;
+
+import java.util.List;
+
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engineperformance.model.BookEntity;
+import org.hibernate.search.engineperformance.setuputilities.LuceneWorkCreation;
+import org.hibernate.search.indexes.serialization.avro.impl.AvroSerializationProvider;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Holds the Avro based serializer used by the clustered backends, and the works to send.
+ * Run with {@code -prof gc} to get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+public class SerializationHolder {
+
+	public volatile LuceneWorkSerializer serializer;
+	public volatile List<LuceneWork> works;
+	public volatile byte[] serialized;
+
+	private SearchIntegrator si;
+
+	@Param( { "small", "large", "numeric", "tokenstream" } )
+	private String shape;
+
+	@Param( { "1", "100" } )
+	private int worksPerMessage;
+
+	/**
+	 * The version of the Avro protocol to write: {@code 1.2} is the uncompressed format,
+	 * {@code 1.3} the format carrying a compression codec, with or without compression.
+	 */
+	@Param( { "1.2", "1.3-none", "1.3-deflate" } )
+	private String protocol;
+
+	@Setup
+	public void initializeState() {
+		SearchConfigurationForTest cfg = new SearchConfigurationForTest();
+		cfg.addProperty( "hibernate.search.default.worker.backend", "blackhole" );
+		switch ( protocol ) {
+			case "1.2" :
+				cfg.addProperty( AvroSerializationProvider.COMPRESSION, "none" );
+				break;
+			case "1.3-none" :
+				// messages below the threshold are written with the codec byte, but not compressed
+				cfg.addProperty( AvroSerializationProvider.COMPRESSION, "deflate" );
+				cfg.addProperty( AvroSerializationProvider.COMPRESSION_THRESHOLD, String.valueOf( Integer.MAX_VALUE ) );
+				break;
+			case "1.3-deflate" :
+				cfg.addProperty( AvroSerializationProvider.COMPRESSION, "deflate" );
+				cfg.addProperty( AvroSerializationProvider.COMPRESSION_THRESHOLD, "0" );
+				break;
+			default :
+				throw new RuntimeException( "Parameter 'protocol'='" + protocol + "' not recognized!" );
+		}
+		if ( "tokenstream".equals( shape ) ) {
+			cfg.addProperty( Environment.SERIALIZATION_PRE_ANALYSIS, "true" );
+		}
+		cfg.addClass( BookEntity.class );
+		si = new SearchIntegratorBuilder().configuration( cfg ).buildSearchIntegrator();
+		serializer = si.getWorkSerializer();
+		works = LuceneWorkCreation.createWorks( shape, worksPerMessage );
+		serialized = serializer.toSerializedModel( works );
+		println( "Serialized " + worksPerMessage + " '" + shape + "' works with protocol " + protocol
+				+ ": " + serialized.length + " bytes per message" );
+	}
+
+	@TearDown
+	public void shutdownIndexingEngine() {
+		if ( si != null ) {
+			si.close();
+		}
+	}
+
+	private static void println(String string) {
+		//We strictly disallow System.out usage in the whole project,
+		//however this is a CLI tool so allow it here:
+		//CHECKSTYLE:OFF
+		System.out.println( string );
+		//CHECKSTYLE:ON
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance.model;
+
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.IndexedEmbedded;
+
+public class AuthorEntity {
+
+	private String firstName;
+	private String lastName;
+	private AddressEntity address;
+	private PublisherEntity publisher;
+
+	@Field
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	@Field
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	@IndexedEmbedded
+	public AddressEntity getAddress() {
+		return address;
+	}
+
+	public void setAddress(AddressEntity address) {
+		this.address = address;
+	}
+
+	@IndexedEmbedded(includePaths = { "name", "address.city" })
+	public PublisherEntity getPublisher() {
+		return publisher;
+	}
+
+	public void setPublisher(PublisherEntity publisher) {
+		this.publisher = publisher;
+	}
+
+}
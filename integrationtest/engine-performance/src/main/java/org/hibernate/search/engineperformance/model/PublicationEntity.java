@@ -0,0 +1,79 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.annotations.NumericField;
+import org.hibernate.search.annotations.SortableField;
+
+/**
+ * An entity embedding several levels of objects and collections, to measure the building of documents.
+ */
+@Indexed
+public class PublicationEntity {
+
+	private Long id;
+	private String title;
+	private Integer year;
+	private PublisherEntity publisher;
+	private List<AuthorEntity> authors = new ArrayList<>();
+
+	@DocumentId
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Field
+	@SortableField
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	@Field
+	@NumericField
+	@SortableField
+	public Integer getYear() {
+		return year;
+	}
+
+	public void setYear(Integer year) {
+		this.year = year;
+	}
+
+	@IndexedEmbedded
+	public PublisherEntity getPublisher() {
+		return publisher;
+	}
+
+	public void setPublisher(PublisherEntity publisher) {
+		this.publisher = publisher;
+	}
+
+	@IndexedEmbedded
+	public List<AuthorEntity> getAuthors() {
+		return authors;
+	}
+
+	public void setAuthors(List<AuthorEntity> authors) {
+		this.authors = authors;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.engineperformance.setuputilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.FloatField;
+import org.apache.lucene.document.IntField;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.engineperformance.model.BookEntity;
+
+/**
+ * Builds the works sent over the wire by the clustered backends, for documents of various shapes.
+ * The content is pseudo-random but reproducible, so that runs can be compared.
+ */
+public class LuceneWorkCreation {
+
+	private static final String[] WORDS = {
+		"index", "search", "lucene", "cluster", "master", "slave", "shard", "query", "document", "field",
+		"analyzer", "token", "segment", "commit", "merge", "writer", "reader", "directory", "backend", "queue"
+	};
+
+	private LuceneWorkCreation() {
+		//do not construct
+	}
+
+	/**
+	 * @param shape the shape of the documents: {@code small}, {@code large}, {@code numeric} or {@code tokenstream}
+	 * @param count the amount of works to create
+	 * @return an immutable list of works adding the documents
+	 */
+	public static List<LuceneWork> createWorks(String shape, int count) {
+		Random random = new Random( 42 );
+		List<LuceneWork> works = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ ) {
+			long id = i + 1;
+			works.add( new AddLuceneWork( id, String.valueOf( id ), BookEntity.class, createDocument( shape, id, random ) ) );
+		}
+		return Collections.unmodifiableList( works );
+	}
+
+	private static Document createDocument(String shape, long id, Random random) {
+		Document document = new Document();
+		document.add( new StringField( "id", String.valueOf( id ), Store.YES ) );
+		switch ( shape ) {
+			case "small" :
+				document.add( new TextField( "title", "Naaa", Store.NO ) );
+				document.add( new TextField( "text", "Some very long text should be stored here. No, I mean long as in a book.", Store.NO ) );
+				document.add( new FloatField( "rating", random.nextFloat(), Store.YES ) );
+				break;
+			case "large" :
+				document.add( new TextField( "title", words( random, 10 ), Store.YES ) );
+				document.add( new Field( "text", words( random, 3000 ), TextField.TYPE_STORED ) );
+				document.add( new FloatField( "rating", random.nextFloat(), Store.YES ) );
+				break;
+			case "numeric" :
+				for ( int field = 0; field < 10; field++ ) {
+					document.add( new IntField( "int" + field, random.nextInt(), Store.YES ) );
+					document.add( new LongField( "long" + field, random.nextLong(), Store.NO ) );
+					document.add( new FloatField( "float" + field, random.nextFloat(), Store.NO ) );
+					document.add( new DoubleField( "double" + field, random.nextDouble(), Store.YES ) );
+				}
+				document.add( new FloatField( "rating", random.nextFloat(), Store.YES ) );
+				break;
+			case "tokenstream" :
+				// analyzed by the serializer when pre-analysis is enabled
+				document.add( new TextField( "title", words( random, 10 ), Store.NO ) );
+				document.add( new TextField( "text", words( random, 500 ), Store.NO ) );
+				document.add( new FloatField( "rating", random.nextFloat(), Store.YES ) );
+				break;
+			default :
+				throw new RuntimeException( "Parameter 'shape'='" + shape + "' not recognized!" );
+		}
+		return document;
+	}
+
+	private static String words(Random random, int count) {
+		StringBuilder builder = new StringBuilder();
+		for ( int i = 0; i < count; i++ ) {
+			if ( i > 0 ) {
+				builder.append( ' ' );
+			}
+			builder.append( WORDS[random.nextInt( WORDS.length )] );
+			if ( random.nextInt( 4 ) == 0 ) {
+				// not every word is repeated: keep the compression ratio realistic
+				builder.append( random.nextInt( 1000 ) );
+			}
+		}
+		return builder.toString();
+	}
+
+}
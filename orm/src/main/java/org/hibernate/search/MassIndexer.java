@@ -9,7 +9,9 @@
 import java.util.concurrent.Future;
 
 import org.hibernate.CacheMode;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.exception.SearchException;
 
 /**
  * A MassIndexer is useful to rebuild the indexes from the
@@ -107,6 +109,24 @@ public interface MassIndexer {
 	 */
 	MassIndexer limitIndexedObjectsTo(long maximum);
 
+	/**
+	 * Restricts the indexing to the entities matching the given criterion, for example
+	 * to catch up with the changes applied to the database after an index backup was taken:
+	 * {@code restrictTo( Restrictions.ge( "lastUpdated", backupTimestamp ) )}.
+	 * <p>
+	 * The criterion is applied to the query loading the primary identifiers of each targeted type,
+	 * so all the properties it refers to must be defined on each of them.
+	 * As the index is expected to already contain the other entities, matching entities are
+	 * updated rather than added, and {@link #purgeAllOnStart(boolean)} is ignored.
+	 *
+	 * @param criterion the restriction to apply, or {@code null} to index all entities
+	 * @return <tt>this</tt> for method chaining
+	 * @throws SearchException if this implementation doesn't support restrictions
+	 */
+	default MassIndexer restrictTo(Criterion criterion) {
+		throw new SearchException( "This MassIndexer implementation doesn't support restrictions: " + getClass().getName() );
+	}
+
 	/**
 	 * Starts the indexing process in background (asynchronous).
 	 * Can be called only once.
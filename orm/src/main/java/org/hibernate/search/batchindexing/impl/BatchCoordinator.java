@@ -15,6 +15,7 @@
 import java.util.concurrent.Future;
 
 import org.hibernate.CacheMode;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.search.backend.PurgeAllLuceneWork;
 import org.hibernate.search.backend.spi.BatchBackend;
@@ -51,6 +52,7 @@ public class BatchCoordinator extends ErrorHandledRunnable {
 	private final int idFetchSize;
 	private final Integer transactionTimeout;
 	private final String tenantId;
+	private final Criterion restriction;
 	private final List<Future<?>> indexingTasks = new ArrayList<>();
 
 	public BatchCoordinator(Set<Class<?>> rootEntities,
@@ -67,11 +69,13 @@ public BatchCoordinator(Set<Class<?>> rootEntities,
 							MassIndexerProgressMonitor monitor,
 							int idFetchSize,
 							Integer transactionTimeout,
-							String tenantId) {
+							String tenantId,
+							Criterion restriction) {
 		super( extendedIntegrator );
 		this.idFetchSize = idFetchSize;
 		this.transactionTimeout = transactionTimeout;
 		this.tenantId = tenantId;
+		this.restriction = restriction;
 		this.rootEntities = rootEntities.toArray( new Class<?>[rootEntities.size()] );
 		this.sessionFactory = sessionFactory;
 		this.typesToIndexInParallel = typesToIndexInParallel;
@@ -129,7 +133,7 @@ private void doBatchWork(BatchBackend backend) throws InterruptedException, Exec
 		ExecutorService executor = Executors.newFixedThreadPool( typesToIndexInParallel, "BatchIndexingWorkspace" );
 		for ( Class<?> type : rootEntities ) {
 			indexingTasks.add( executor.submit( new BatchIndexingWorkspace( extendedIntegrator, sessionFactory, type, documentBuilderThreads, cacheMode,
-					objectLoadingBatchSize, endAllSignal, monitor, backend, objectsLimit, idFetchSize, transactionTimeout, tenantId ) ) );
+					objectLoadingBatchSize, endAllSignal, monitor, backend, objectsLimit, idFetchSize, transactionTimeout, tenantId, restriction ) ) );
 
 		}
 		executor.shutdown();
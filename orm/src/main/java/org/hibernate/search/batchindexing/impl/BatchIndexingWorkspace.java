@@ -14,6 +14,7 @@
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.hibernate.CacheMode;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.search.backend.spi.BatchBackend;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -63,6 +64,8 @@ public class BatchIndexingWorkspace extends ErrorHandledRunnable {
 
 	private final String tenantId;
 
+	private final Criterion restriction;
+
 	private final List<Future<?>> tasks = new ArrayList<>();
 
 	public BatchIndexingWorkspace(ExtendedSearchIntegrator extendedIntegrator,
@@ -77,12 +80,14 @@ public BatchIndexingWorkspace(ExtendedSearchIntegrator extendedIntegrator,
 								long objectsLimit,
 								int idFetchSize,
 								Integer transactionTimeout,
-								String tenantId) {
+								String tenantId,
+								Criterion restriction) {
 		super( extendedIntegrator );
 		this.indexedType = entityType;
 		this.idFetchSize = idFetchSize;
 		this.transactionTimeout = transactionTimeout;
 		this.tenantId = tenantId;
+		this.restriction = restriction;
 		this.idNameOfIndexedType = extendedIntegrator.getIndexBinding( entityType )
 				.getDocumentBuilder()
 				.getIdPropertyName();
@@ -117,7 +122,7 @@ public void runWithErrorHandler() {
 			final ErrorHandler errorHandler = extendedIntegrator.getErrorHandler();
 			final BatchTransactionalContext transactionalContext = new BatchTransactionalContext( extendedIntegrator, sessionFactory, errorHandler, tenantId );
 			//first start the consumers, then the producers (reverse order):
-			//from primary keys to LuceneWork ADD operations:
+			//from primary keys to LuceneWork ADD (or UPDATE when restricted) operations:
 			startTransformationToLuceneWork( transactionalContext, errorHandler );
 			//from class definition to all primary keys:
 			startProducingPrimaryKeys( transactionalContext, errorHandler );
@@ -148,7 +153,7 @@ private void startProducingPrimaryKeys(BatchTransactionalContext transactionalCo
 						primaryKeyStream, sessionFactory,
 						objectLoadingBatchSize, indexedType, monitor,
 						objectsLimit, errorHandler, idFetchSize,
-						tenantId
+						tenantId, restriction
 				),
 				transactionTimeout,
 				tenantId );
@@ -167,7 +172,7 @@ private void startTransformationToLuceneWork(BatchTransactionalContext transacti
 				primaryKeyStream, monitor, sessionFactory, producerEndSignal,
 				cacheMode, indexedType, extendedIntegrator,
 				idNameOfIndexedType, backend, errorHandler,
-				transactionTimeout, tenantId
+				transactionTimeout, tenantId, restriction != null
 		);
 		final ThreadPoolExecutor execFirstLoader = Executors.newFixedThreadPool( documentBuilderThreads, "entityloader" );
 		try {
@@ -25,9 +25,10 @@
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.internal.CriteriaImpl;
-import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.spi.BatchBackend;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
 import org.hibernate.search.bridge.TwoWayFieldBridge;
 import org.hibernate.search.bridge.spi.ConversionContext;
 import org.hibernate.search.bridge.util.impl.ContextualExceptionBridgeHelper;
@@ -46,7 +47,8 @@
 /**
  * This {@code SessionAwareRunnable} is consuming entity identifiers and
  * producing corresponding {@code AddLuceneWork} instances being forwarded
- * to the index writing backend.
+ * to the index writing backend, or {@code UpdateLuceneWork} instances when
+ * only a subset of the entities is being reindexed.
  * It will finish when the queue it is consuming from will
  * signal there are no more identifiers.
  *
@@ -61,6 +63,7 @@ public class IdentifierConsumerDocumentProducer implements Runnable {
 	private final CacheMode cacheMode;
 	private final Class<?> type;
 	private final MassIndexerProgressMonitor monitor;
+	private final MassIndexerStageMonitor stageMonitor;
 	private final Map<Class<?>, EntityIndexBinding> entityIndexBindings;
 	private final String idName;
 	private final ErrorHandler errorHandler;
@@ -68,6 +71,7 @@ public class IdentifierConsumerDocumentProducer implements Runnable {
 	private final CountDownLatch producerEndSignal;
 	private final Integer transactionTimeout;
 	private final String tenantId;
+	private final boolean updateOnly;
 
 	/**
 	 * The JTA transaction manager or {@code null} if not in a JTA environment
@@ -83,9 +87,11 @@ public IdentifierConsumerDocumentProducer(
 			ExtendedSearchIntegrator searchFactory,
 			String idName, BatchBackend backend, ErrorHandler errorHandler,
 			Integer transactionTimeout,
-			String tenantId) {
+			String tenantId,
+			boolean updateOnly) {
 		this.source = fromIdentifierListToEntities;
 		this.monitor = monitor;
+		this.stageMonitor = StageMonitors.of( monitor );
 		this.sessionFactory = sessionFactory;
 		this.cacheMode = cacheMode;
 		this.type = type;
@@ -96,6 +102,7 @@ public IdentifierConsumerDocumentProducer(
 		this.entityIndexBindings = searchFactory.getIndexBindings();
 		this.transactionTimeout = transactionTimeout;
 		this.tenantId = tenantId;
+		this.updateOnly = updateOnly;
 		this.transactionManager = ( (SessionFactoryImplementor) sessionFactory )
 				.getServiceRegistry()
 				.getService( JtaPlatform.class )
@@ -133,6 +140,7 @@ private void loadAllFromQueue(SessionImplementor session) throws Exception {
 			List<Serializable> idList;
 			do {
 				idList = source.take();
+				stageMonitor.identifierQueueSampled( source.size() );
 				if ( idList != null ) {
 					log.tracef( "received list of ids %s", idList );
 					loadList( idList, session, sessionInitializer );
@@ -169,7 +177,9 @@ private void loadList(List<Serializable> listIds, SessionImplementor session, In
 					.setFetchSize( listIds.size() )
 					.setResultTransformer( CriteriaSpecification.DISTINCT_ROOT_ENTITY )
 					.add( Restrictions.in( idName, listIds ) );
+			long loadingStart = System.nanoTime();
 			List<?> list = criteria.list();
+			stageMonitor.entityBatchLoaded( list.size(), System.nanoTime() - loadingStart );
 			monitor.entitiesLoaded( list.size() );
 			indexAllQueue( session, list, sessionInitializer );
 			session.clear();
@@ -282,15 +292,34 @@ private void index(Object entity, Session session, InstanceInitializer sessionIn
 		}
 		//depending on the complexity of the object graph going to be indexed it's possible
 		//that we hit the database several times during work construction.
-		AddLuceneWork addWork = docBuilder.createAddWork(
-				tenantId,
-				clazz,
-				entity,
-				id,
-				idInString,
-				sessionInitializer,
-				conversionContext
-		);
-		backend.enqueueAsyncWork( addWork );
+		final long buildingStart = System.nanoTime();
+		final LuceneWork work;
+		if ( updateOnly ) {
+			//the index might already contain a previous version of this entity
+			work = docBuilder.createUpdateWork(
+					tenantId,
+					clazz,
+					entity,
+					id,
+					idInString,
+					sessionInitializer,
+					conversionContext
+			);
+		}
+		else {
+			work = docBuilder.createAddWork(
+					tenantId,
+					clazz,
+					entity,
+					id,
+					idInString,
+					sessionInitializer,
+					conversionContext
+			);
+		}
+		final long enqueuingStart = System.nanoTime();
+		stageMonitor.documentBuilt( enqueuingStart - buildingStart );
+		backend.enqueueAsyncWork( work );
+		stageMonitor.workEnqueued( System.nanoTime() - enqueuingStart );
 	}
 }
@@ -16,11 +16,13 @@
 import org.hibernate.SessionFactory;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Projections;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.CriteriaImpl;
 import org.hibernate.internal.StatelessSessionImpl;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -46,10 +48,12 @@ public class IdentifierProducer implements StatelessSessionAwareRunnable {
 	private final int batchSize;
 	private final Class<?> indexedType;
 	private final MassIndexerProgressMonitor monitor;
+	private final MassIndexerStageMonitor stageMonitor;
 	private final long objectsLimit;
 	private final int idFetchSize;
 	private final ErrorHandler errorHandler;
 	private final String tenantId;
+	private final Criterion restriction;
 
 	/**
 	 * @param fromIdentifierListToEntities the target queue where the produced identifiers are sent to
@@ -61,22 +65,26 @@ public class IdentifierProducer implements StatelessSessionAwareRunnable {
 	 * @param errorHandler how to handle unexpected errors
 	 * @param idFetchSize the fetch size
 	 * @param tenantId the tenant identifier
+	 * @param restriction an optional restriction on the entities to be loaded
 	 */
 	public IdentifierProducer(
 			ProducerConsumerQueue<List<Serializable>> fromIdentifierListToEntities,
 			SessionFactory sessionFactory,
 			int objectLoadingBatchSize,
 			Class<?> indexedType, MassIndexerProgressMonitor monitor,
-			long objectsLimit, ErrorHandler errorHandler, int idFetchSize, String tenantId) {
+			long objectsLimit, ErrorHandler errorHandler, int idFetchSize, String tenantId,
+			Criterion restriction) {
 				this.destination = fromIdentifierListToEntities;
 				this.sessionFactory = sessionFactory;
 				this.batchSize = objectLoadingBatchSize;
 				this.indexedType = indexedType;
 				this.monitor = monitor;
+				this.stageMonitor = StageMonitors.of( monitor );
 				this.objectsLimit = objectsLimit;
 				this.errorHandler = errorHandler;
 				this.idFetchSize = idFetchSize;
 				this.tenantId = tenantId;
+				this.restriction = restriction;
 				log.trace( "created" );
 	}
 
@@ -150,6 +158,7 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 			.setCacheable( false )
 			.setFetchSize( idFetchSize );
 
+		long fetchStart = System.nanoTime();
 		ScrollableResults results = criteria.scroll( ScrollMode.FORWARD_ONLY );
 		ArrayList<Serializable> destinationList = new ArrayList<Serializable>( batchSize );
 		long counter = 0;
@@ -165,8 +174,10 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 						throw log.transactionNotActiveWhileProducingIdsForBatchIndexing( indexedType );
 					}
 
+					stageMonitor.identifiersLoaded( destinationList.size(), System.nanoTime() - fetchStart );
 					enqueueList( destinationList );
 					destinationList = new ArrayList<Serializable>( batchSize );
+					fetchStart = System.nanoTime();
 				}
 				counter++;
 				if ( counter == totalCount ) {
@@ -177,16 +188,22 @@ private void loadAllIdentifiers(final StatelessSession session) throws Interrupt
 		finally {
 			results.close();
 		}
+		stageMonitor.identifiersLoaded( destinationList.size(), System.nanoTime() - fetchStart );
 		enqueueList( destinationList );
 	}
 
 	private Criteria createCriteria(final StatelessSession session) {
-		return new CriteriaImpl( indexedType.getName(), (SharedSessionContractImplementor) session );
+		Criteria criteria = new CriteriaImpl( indexedType.getName(), (SharedSessionContractImplementor) session );
+		if ( restriction != null ) {
+			criteria.add( restriction );
+		}
+		return criteria;
 	}
 
 	private void enqueueList(final List<Serializable> idsList) throws InterruptedException {
 		if ( ! idsList.isEmpty() ) {
 			destination.put( idsList );
+			stageMonitor.identifierQueueSampled( destination.size() );
 			log.tracef( "produced a list of ids %s", idsList );
 		}
 	}
@@ -12,6 +12,7 @@
 import java.util.concurrent.Future;
 
 import org.hibernate.CacheMode;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.search.MassIndexer;
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
@@ -53,6 +54,7 @@ public class MassIndexerImpl implements MassIndexerWithTenant {
 	private int idFetchSize = 100; //reasonable default as we only load IDs
 	private String tenantIdentifier;
 	private Integer idLoadingTransactionTimeout;
+	private Criterion restriction;
 
 	protected MassIndexerImpl(SearchIntegrator searchIntegrator, SessionFactoryImplementor sessionFactory, Class<?>... entities) {
 		this.extendedIntegrator = searchIntegrator.unwrap( ExtendedSearchIntegrator.class );
@@ -221,9 +223,9 @@ protected BatchCoordinator createCoordinator() {
 				rootEntities, extendedIntegrator, sessionFactory,
 				typesToIndexInParallel, documentBuilderThreads,
 				cacheMode, objectLoadingBatchSize, objectsLimit,
-				optimizeAtEnd, purgeAtStart, optimizeAfterPurge,
+				optimizeAtEnd, purgeAtStart && restriction == null, optimizeAfterPurge,
 				monitor, idFetchSize, idLoadingTransactionTimeout,
-				tenantIdentifier
+				tenantIdentifier, restriction
 		);
 	}
 
@@ -233,6 +235,12 @@ public MassIndexer limitIndexedObjectsTo(long maximum) {
 		return this;
 	}
 
+	@Override
+	public MassIndexer restrictTo(Criterion criterion) {
+		this.restriction = criterion;
+		return this;
+	}
+
 	@Override
 	public MassIndexer idFetchSize(int idFetchSize) {
 		// don't check for positive/zero values as it's actually used by some databases
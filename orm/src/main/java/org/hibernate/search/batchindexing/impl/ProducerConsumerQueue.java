@@ -67,6 +67,14 @@ public void put(T obj) throws InterruptedException {
 		queue.put( obj );
 	}
 
+	/**
+	 * @return the number of objects currently waiting in the queue; only meant
+	 * for monitoring as it might already be outdated when returned.
+	 */
+	public int size() {
+		return queue.size();
+	}
+
 	/**
 	 * Each producer thread should call producerStopping() when it has
 	 * finished. After doing it can safely terminate.
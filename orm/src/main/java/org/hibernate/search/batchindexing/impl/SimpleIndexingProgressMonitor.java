@@ -10,20 +10,24 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
+import org.hibernate.search.engine.impl.MassIndexingStageStatistics;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
  * A very simple implementation of {@code MassIndexerProgressMonitor} which
- * uses the logger at INFO level to output indexing speed statistics.
+ * uses the logger at INFO level to output indexing speed statistics,
+ * and a summary of the time spent in each stage of the pipeline when completed.
  *
  * @author Sanne Grinovero
  */
-public class SimpleIndexingProgressMonitor implements MassIndexerProgressMonitor {
+public class SimpleIndexingProgressMonitor implements MassIndexerProgressMonitor, MassIndexerStageMonitor {
 
 	private static final Log log = LoggerFactory.make();
 	private final AtomicLong documentsDoneCounter = new AtomicLong();
 	private final AtomicLong totalCounter = new AtomicLong();
+	private final MassIndexingStageStatistics stageStatistics = new MassIndexingStageStatistics();
 	private volatile long startTime;
 	private final int logAfterNumberOfDocuments;
 
@@ -71,9 +75,35 @@ public void addToTotalCount(long count) {
 		log.indexingEntities( count );
 	}
 
+	@Override
+	public void identifiersLoaded(int count, long nanos) {
+		stageStatistics.identifiersLoaded( count, nanos );
+	}
+
+	@Override
+	public void identifierQueueSampled(int size) {
+		stageStatistics.identifierQueueSampled( size );
+	}
+
+	@Override
+	public void entityBatchLoaded(int count, long nanos) {
+		stageStatistics.entityBatchLoaded( count, nanos );
+	}
+
+	@Override
+	public void documentBuilt(long nanos) {
+		stageStatistics.documentBuilt( nanos );
+	}
+
+	@Override
+	public void workEnqueued(long nanos) {
+		stageStatistics.workEnqueued( nanos );
+	}
+
 	@Override
 	public void indexingCompleted() {
 		log.indexingEntitiesCompleted( totalCounter.get() );
+		stageStatistics.logSummary();
 	}
 
 	protected int getStatusMessagePeriod() {
@@ -0,0 +1,56 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.batchindexing.impl;
+
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.batchindexing.MassIndexerStageMonitor;
+
+/**
+ * Resolves the {@link MassIndexerStageMonitor} to notify from the configured
+ * {@link MassIndexerProgressMonitor}, falling back to a no-op implementation.
+ */
+final class StageMonitors {
+
+	private static final MassIndexerStageMonitor NOOP = new NoopStageMonitor();
+
+	private StageMonitors() {
+		//not allowed
+	}
+
+	static MassIndexerStageMonitor of(MassIndexerProgressMonitor monitor) {
+		if ( monitor instanceof MassIndexerStageMonitor ) {
+			return (MassIndexerStageMonitor) monitor;
+		}
+		else {
+			return NOOP;
+		}
+	}
+
+	private static final class NoopStageMonitor implements MassIndexerStageMonitor {
+
+		@Override
+		public void identifiersLoaded(int count, long nanos) {
+		}
+
+		@Override
+		public void identifierQueueSampled(int size) {
+		}
+
+		@Override
+		public void entityBatchLoaded(int count, long nanos) {
+		}
+
+		@Override
+		public void documentBuilt(long nanos) {
+		}
+
+		@Override
+		public void workEnqueued(long nanos) {
+		}
+	}
+
+}
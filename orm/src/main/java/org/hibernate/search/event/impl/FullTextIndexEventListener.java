@@ -127,13 +127,14 @@ public void onPostUpdate(PostUpdateEvent event) {
 
 		final Object entity = event.getEntity();
 		final AbstractDocumentBuilder docBuilder = getDocumentBuilder( entity );
-		if ( docBuilder != null && ( skipDirtyChecks || docBuilder.isDirty(
-				getDirtyPropertyNames(
-						event
-				)
-		) ) ) {
+		if ( docBuilder == null ) {
+			return;
+		}
+		// the dirty properties also limit the @ContainedIn processing to the containers embedding them
+		final String[] dirtyPropertyNames = skipDirtyChecks ? null : getDirtyPropertyNames( event );
+		if ( skipDirtyChecks || docBuilder.isDirty( dirtyPropertyNames ) ) {
 			Serializable id = event.getId();
-			processWork( tenantIdentifier( event ), entity, id, WorkType.UPDATE, event, false );
+			processWork( tenantIdentifier( event ), entity, id, WorkType.UPDATE, event, false, dirtyPropertyNames );
 		}
 	}
 
@@ -232,7 +233,12 @@ public void addSynchronization(EventSource eventSource, Synchronization synchron
 	}
 
 	protected void processWork(String tenantIdentifier, Object entity, Serializable id, WorkType workType, AbstractEvent event, boolean identifierRollbackEnabled) {
-		Work work = new Work( tenantIdentifier, entity, id, workType, identifierRollbackEnabled );
+		processWork( tenantIdentifier, entity, id, workType, event, identifierRollbackEnabled, null );
+	}
+
+	protected void processWork(String tenantIdentifier, Object entity, Serializable id, WorkType workType, AbstractEvent event,
+			boolean identifierRollbackEnabled, String[] dirtyPropertyNames) {
+		Work work = new Work( tenantIdentifier, entity, id, workType, identifierRollbackEnabled, dirtyPropertyNames );
 		final EventSourceTransactionContext transactionContext = new EventSourceTransactionContext( event.getSession() );
 		extendedIntegrator.getWorker().performWork( work, transactionContext );
 	}
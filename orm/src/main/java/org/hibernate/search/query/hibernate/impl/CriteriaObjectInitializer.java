@@ -8,15 +8,23 @@
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.hibernate.Criteria;
+import org.hibernate.FlushMode;
+import org.hibernate.LockOptions;
+import org.hibernate.NonUniqueObjectException;
+import org.hibernate.Session;
 import org.hibernate.annotations.common.reflection.XMember;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Disjunction;
@@ -29,6 +37,7 @@
 import org.hibernate.search.engine.service.spi.ServiceManager;
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.exception.AssertionFailure;
+import org.hibernate.search.exception.SearchException;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
 import org.hibernate.search.spi.InstanceInitializer;
@@ -68,40 +77,144 @@ public void initializeObjects(List<EntityInfo> entityInfos,
 			return;
 		}
 
-		List<Criteria> criterias = buildUpCriteria( entityInfos, objectInitializationContext );
+		Map<Class<?>, EntityInfoIdSpace> infosByIdSpace = groupInfosByIdSpace( entityInfos, objectInitializationContext );
+
+		if ( infosByIdSpace.size() > 1 ) {
+			ServiceManager serviceManager = objectInitializationContext.getExtendedSearchIntegrator().getServiceManager();
+			IdSpaceLoadingExecutor executor = serviceManager.requestService( IdSpaceLoadingExecutor.class );
+			try {
+				if ( executor.isEnabled() ) {
+					loadConcurrently( infosByIdSpace.values(), idToObjectMap, objectInitializationContext, executor );
+					return;
+				}
+			}
+			finally {
+				serviceManager.releaseService( IdSpaceLoadingExecutor.class );
+			}
+		}
+
+		List<Criteria> criterias = buildUpCriteria( infosByIdSpace, objectInitializationContext );
 
 		for ( Criteria criteria : criterias ) {
 			setCriteriaTimeout( criteria, objectInitializationContext.getTimeoutManager() );
 
 			@SuppressWarnings("unchecked")
 			List<Object> queryResultList = criteria.list();
-			InstanceInitializer instanceInitializer = objectInitializationContext.getExtendedSearchIntegrator()
-					.getInstanceInitializer();
-			for ( Object o : queryResultList ) {
-				Class<?> loadedType = instanceInitializer.getClass( o );
-				Object unproxiedObject = instanceInitializer.unproxy( o );
-				DocumentBuilderIndexedEntity documentBuilder = getDocumentBuilder(
-						loadedType,
-						objectInitializationContext.getExtendedSearchIntegrator()
-						);
-				if ( documentBuilder == null ) {
-					// the query result can contain entities which are not indexed. This can for example happen if
-					// the targeted entity type is a superclass with indexed and un-indexed sub classes
-					// entities which don't have a document builder can be ignored (HF)
-					continue;
-				}
-				XMember idProperty = documentBuilder.getIdGetter();
-				Object id = ReflectionHelper.getMemberValue( unproxiedObject, idProperty );
-				EntityInfoLoadKey key = new EntityInfoLoadKey( loadedType, id );
-				Object previousValue = idToObjectMap.put( key, unproxiedObject );
-				if ( previousValue == null ) {
-					throw new AssertionFailure( "An entity got loaded even though it was not part of the EntityInfo list" );
+			addLoadedObjects( queryResultList, idToObjectMap, objectInitializationContext );
+		}
+	}
+
+	private void addLoadedObjects(List<Object> queryResultList,
+			LinkedHashMap<EntityInfoLoadKey, Object> idToObjectMap,
+			ObjectInitializationContext objectInitializationContext) {
+		InstanceInitializer instanceInitializer = objectInitializationContext.getExtendedSearchIntegrator()
+				.getInstanceInitializer();
+		for ( Object o : queryResultList ) {
+			Class<?> loadedType = instanceInitializer.getClass( o );
+			Object unproxiedObject = instanceInitializer.unproxy( o );
+			DocumentBuilderIndexedEntity documentBuilder = getDocumentBuilder(
+					loadedType,
+					objectInitializationContext.getExtendedSearchIntegrator()
+					);
+			if ( documentBuilder == null ) {
+				// the query result can contain entities which are not indexed. This can for example happen if
+				// the targeted entity type is a superclass with indexed and un-indexed sub classes
+				// entities which don't have a document builder can be ignored (HF)
+				continue;
+			}
+			XMember idProperty = documentBuilder.getIdGetter();
+			Object id = ReflectionHelper.getMemberValue( unproxiedObject, idProperty );
+			EntityInfoLoadKey key = new EntityInfoLoadKey( loadedType, id );
+			Object previousValue = idToObjectMap.put( key, unproxiedObject );
+			if ( previousValue == null ) {
+				throw new AssertionFailure( "An entity got loaded even though it was not part of the EntityInfo list" );
+			}
+		}
+	}
+
+	/**
+	 * Loads each id space in a separate, read-only session, running the queries concurrently.
+	 * The loaded entities are then reattached to the session of the query, in the calling thread.
+	 */
+	private void loadConcurrently(Collection<EntityInfoIdSpace> idSpaces,
+			LinkedHashMap<EntityInfoLoadKey, Object> idToObjectMap,
+			ObjectInitializationContext objectInitializationContext,
+			IdSpaceLoadingExecutor executor) {
+		// Cannot use external criteria for fetching entities from different spaces
+		if ( objectInitializationContext.getCriteria() != null ) {
+			log.givenCriteriaObjectCannotBeApplied();
+		}
+
+		final Session session = objectInitializationContext.getSession();
+		final Integer timeoutInSeconds = getCriteriaTimeout( objectInitializationContext.getTimeoutManager() );
+		List<Future<List<Object>>> loadingTasks = new ArrayList<>( idSpaces.size() );
+		try {
+			for ( EntityInfoIdSpace idSpace : idSpaces ) {
+				final String entityName = idSpace.getMostSpecificEntityType().getName();
+				final Criterion idListCriterion = getIdListCriterion( idSpace.getEntityInfos(), objectInitializationContext );
+				loadingTasks.add( executor.submit( () -> loadInSeparateSession( session, entityName, idListCriterion, timeoutInSeconds ) ) );
+			}
+			for ( Future<List<Object>> loadingTask : loadingTasks ) {
+				List<Object> queryResultList = loadingTask.get();
+				for ( ListIterator<Object> iterator = queryResultList.listIterator(); iterator.hasNext(); ) {
+					iterator.set( reattach( session, iterator.next() ) );
 				}
+				addLoadedObjects( queryResultList, idToObjectMap, objectInitializationContext );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SearchException( "Interrupted while loading the entities matching a full-text query", e );
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			throw new SearchException( cause );
+		}
+		finally {
+			for ( Future<List<Object>> loadingTask : loadingTasks ) {
+				loadingTask.cancel( true );
 			}
 		}
 	}
 
-	private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager) {
+	@SuppressWarnings("unchecked")
+	private List<Object> loadInSeparateSession(Session session, String entityName, Criterion idListCriterion, Integer timeoutInSeconds) {
+		Session loadingSession = session.getSessionFactory()
+				.withOptions()
+				.tenantIdentifier( ( (SharedSessionContractImplementor) session ).getTenantIdentifier() )
+				.openSession();
+		try {
+			loadingSession.setHibernateFlushMode( FlushMode.MANUAL );
+			loadingSession.setCacheMode( session.getCacheMode() );
+			loadingSession.setDefaultReadOnly( true );
+			Criteria criteria = new CriteriaImpl( entityName, (SharedSessionContractImplementor) loadingSession )
+					.add( idListCriterion );
+			if ( timeoutInSeconds != null ) {
+				criteria.setTimeout( timeoutInSeconds );
+			}
+			return criteria.list();
+		}
+		finally {
+			loadingSession.close();
+		}
+	}
+
+	private Object reattach(Session session, Object entity) {
+		try {
+			// the entity has just been loaded: reassociate it without hitting the database again
+			session.buildLockRequest( LockOptions.NONE ).lock( entity );
+			return entity;
+		}
+		catch (NonUniqueObjectException e) {
+			// the same entity got loaded in the meantime, e.g. as an association of another one
+			return session.load( e.getEntityName(), e.getIdentifier() );
+		}
+	}
+
+	private Integer getCriteriaTimeout(TimeoutManager timeoutManager) {
 		// not best effort so fail fast
 		if ( timeoutManager.getType() != TimeoutManager.Type.LIMIT ) {
 			Long timeLeftInSecond = timeoutManager.getTimeoutLeftInSeconds();
@@ -109,9 +222,17 @@ private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager
 				if ( timeLeftInSecond == 0 ) {
 					timeoutManager.reactOnQueryTimeoutExceptionWhileExtracting( null );
 				}
-				criteria.setTimeout( timeLeftInSecond.intValue() );
+				return timeLeftInSecond.intValue();
 			}
 		}
+		return null;
+	}
+
+	private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager) {
+		Integer timeoutInSeconds = getCriteriaTimeout( timeoutManager );
+		if ( timeoutInSeconds != null ) {
+			criteria.setTimeout( timeoutInSeconds );
+		}
 	}
 
 	/**
@@ -119,9 +240,7 @@ private void setCriteriaTimeout(Criteria criteria, TimeoutManager timeoutManager
 	 * will contain one criteria object for each id space used by the given infos. A single criteria will be returned in
 	 * case all the entity infos originate from the same id space.
 	 */
-	private List<Criteria> buildUpCriteria(List<EntityInfo> entityInfos, ObjectInitializationContext objectInitializationContext) {
-		Map<Class<?>, EntityInfoIdSpace> infosByIdSpace = groupInfosByIdSpace( entityInfos, objectInitializationContext );
-
+	private List<Criteria> buildUpCriteria(Map<Class<?>, EntityInfoIdSpace> infosByIdSpace, ObjectInitializationContext objectInitializationContext) {
 		// all entities from same id space -> single criteria
 		if ( infosByIdSpace.size() == 1 ) {
 			EntityInfoIdSpace idSpace = infosByIdSpace.values().iterator().next();
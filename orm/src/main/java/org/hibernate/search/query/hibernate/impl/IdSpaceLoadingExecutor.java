@@ -0,0 +1,60 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.query.hibernate.impl;
+
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.service.spi.Service;
+import org.hibernate.search.engine.service.spi.Startable;
+import org.hibernate.search.engine.service.spi.Stoppable;
+import org.hibernate.search.spi.BuildContext;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.Executors;
+
+/**
+ * Holds the bounded thread pool used by {@link CriteriaObjectInitializer} to load
+ * the entities of several id spaces concurrently.
+ *
+ * @see Environment#OBJECT_LOADING_PARALLELISM
+ */
+public class IdSpaceLoadingExecutor implements Service, Startable, Stoppable {
+
+	private volatile ThreadPoolExecutor executor;
+
+	@Override
+	public void start(Properties properties, BuildContext context) {
+		int threads = ConfigurationParseHelper.getIntValue( properties, Environment.OBJECT_LOADING_PARALLELISM, 1 );
+		if ( threads > 1 ) {
+			executor = Executors.newFixedThreadPool( threads, "ObjectLoader" );
+		}
+	}
+
+	@Override
+	public void stop() {
+		ThreadPoolExecutor executor = this.executor;
+		if ( executor != null ) {
+			executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * @return {@code true} if id spaces should be loaded concurrently
+	 */
+	public boolean isEnabled() {
+		return executor != null;
+	}
+
+	public <T> Future<T> submit(Callable<T> loadingTask) {
+		return executor.submit( loadingTask );
+	}
+
+}
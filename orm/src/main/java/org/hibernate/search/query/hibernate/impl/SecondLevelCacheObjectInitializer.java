@@ -7,11 +7,17 @@
 package org.hibernate.search.query.hibernate.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.ObjectNotFoundException;
-
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -19,6 +25,10 @@
 /**
  * Check if the entity is available in the second level cache and load it if there
  * before falling back to the delegate method.
+ * <p>
+ * The cache is only probed for the entity types having a cache region, and only if the
+ * {@code CacheMode} of the session allows reading from it; all the entities not found
+ * in the cache are then loaded at once by the delegate.
  *
  * @author Emmanuel Bernard
  */
@@ -43,16 +53,26 @@ public void initializeObjects(List<EntityInfo> entityInfos, LinkedHashMap<Entity
 			return;
 		}
 
+		final Session session = objectInitializationContext.getSession();
+		if ( !session.getCacheMode().isGetEnabled() ) {
+			// Session.get would skip the cache and load each entity with a separate query
+			if ( traceEnabled ) {
+				log.tracef( "Second level cache reads disabled by the session cache mode, skipping lookup" );
+			}
+			delegate.initializeObjects( entityInfos, idToObjectMap, objectInitializationContext );
+			return;
+		}
+
 		// check the second-level cache
+		final SecondLevelCacheProbe cacheProbe = new SecondLevelCacheProbe( (SharedSessionContractImplementor) session );
 		List<EntityInfo> remainingEntityInfos = new ArrayList<>( entityInfos.size() );
 		for ( EntityInfo entityInfo : entityInfos ) {
-			if ( ObjectLoaderHelper.areDocIdAndEntityIdIdentical( entityInfo, objectInitializationContext.getSession() ) ) {
-				final boolean isIn2LCache = objectInitializationContext.getSession()
-						.getSessionFactory().getCache().containsEntity( entityInfo.getClazz(), entityInfo.getId() );
+			if ( ObjectLoaderHelper.areDocIdAndEntityIdIdentical( entityInfo, session ) ) {
+				final boolean isIn2LCache = cacheProbe.contains( entityInfo );
 				if ( isIn2LCache ) {
 					try {
 						// load the object from the second level cache
-						Object o = objectInitializationContext.getSession().get( entityInfo.getClazz(), entityInfo.getId() );
+						Object o = session.get( entityInfo.getClazz(), entityInfo.getId() );
 						if ( o != null ) {
 							EntityInfoLoadKey key = new EntityInfoLoadKey( entityInfo.getClazz(), entityInfo.getId() );
 							idToObjectMap.put( key, o );
@@ -88,4 +108,45 @@ public void initializeObjects(List<EntityInfo> entityInfos, LinkedHashMap<Entity
 			);
 		}
 	}
+
+	/**
+	 * Checks the presence of entities in the second level cache, resolving the
+	 * cache region of each entity type only once per page of results.
+	 */
+	private static final class SecondLevelCacheProbe {
+
+		private final SharedSessionContractImplementor session;
+		private final SessionFactoryImplementor sessionFactory;
+		private final Map<Class<?>, EntityPersister> cachedPersisters = new HashMap<>();
+
+		private SecondLevelCacheProbe(SharedSessionContractImplementor session) {
+			this.session = session;
+			this.sessionFactory = session.getFactory();
+		}
+
+		boolean contains(EntityInfo entityInfo) {
+			EntityPersister persister = getCachedPersister( entityInfo.getClazz() );
+			if ( persister == null ) {
+				// no cache region for this type: don't bother asking
+				return false;
+			}
+			EntityRegionAccessStrategy cacheAccess = persister.getCacheAccessStrategy();
+			Object cacheKey = cacheAccess.generateCacheKey(
+					entityInfo.getId(), persister, sessionFactory, session.getTenantIdentifier()
+			);
+			return cacheAccess.getRegion().contains( cacheKey );
+		}
+
+		private EntityPersister getCachedPersister(Class<?> entityType) {
+			if ( cachedPersisters.containsKey( entityType ) ) {
+				return cachedPersisters.get( entityType );
+			}
+			EntityPersister persister = sessionFactory.getMetamodel().entityPersister( entityType );
+			if ( !persister.hasCache() ) {
+				persister = null;
+			}
+			cachedPersisters.put( entityType, persister );
+			return persister;
+		}
+	}
 }
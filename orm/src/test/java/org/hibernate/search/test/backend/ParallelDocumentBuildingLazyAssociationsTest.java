@@ -0,0 +1,322 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.FieldBridge;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.bridge.StringBridge;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.search.testsupport.backend.LeakingLocalBackend;
+import org.hibernate.type.Type;
+import org.junit.Test;
+
+/**
+ * Tests that documents built in parallel for a large flush embed lazy associations,
+ * which must be loaded by the thread owning the session, and that the works keep their order.
+ */
+public class ParallelDocumentBuildingLazyAssociationsTest extends SearchTestBase {
+
+	private static final int BOOKS = 100;
+	private static final int AUTHORS = 2;
+	private static final int TAGS = 3;
+
+	private static final Set<String> documentBuildingThreads = ConcurrentHashMap.newKeySet();
+
+	@Test
+	public void testLazyAssociationsLoadedByTheSessionThread() {
+		prepareBooks();
+
+		LeakingLocalBackend.reset();
+		documentBuildingThreads.clear();
+		LoadRecordingInterceptor interceptor = new LoadRecordingInterceptor();
+		Session session = getSessionFactory().withOptions().interceptor( interceptor ).openSession();
+		try {
+			Transaction transaction = session.beginTransaction();
+			@SuppressWarnings("unchecked")
+			List<Book> books = session.createCriteria( Book.class ).list();
+			assertEquals( BOOKS, books.size() );
+			// only the associations loaded while indexing matter
+			interceptor.loadingThreads.clear();
+			for ( Book book : books ) {
+				book.setTitle( "updated" + book.getId() );
+			}
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+
+		assertFalse( "Authors and tags should have been lazily loaded while indexing", interceptor.loadingThreads.isEmpty() );
+		assertEquals( "Lazy associations should only be loaded by the thread owning the session",
+				Collections.singleton( Thread.currentThread().getName() ), new HashSet<String>( interceptor.loadingThreads.values() ) );
+		assertFalse( "Documents should have been built", documentBuildingThreads.isEmpty() );
+		for ( String thread : documentBuildingThreads ) {
+			assertTrue( "Unexpected document building thread " + thread, thread.contains( "Document building" ) );
+		}
+
+		// the ids are small enough to be iterated in ascending order by the work plan
+		List<Serializable> expectedIds = new ArrayList<>();
+		for ( long id = 1; id <= BOOKS; id++ ) {
+			expectedIds.add( id );
+		}
+		assertEquals( "The works should keep the order of the entities", expectedIds, workedIds( LeakingLocalBackend.getLastProcessedQueue() ) );
+
+		assertCount( "title", "updated42", 1 );
+		assertCount( "author.name", "author1", BOOKS / AUTHORS );
+		assertCount( "tags.name", "tag0", BOOKS / TAGS );
+	}
+
+	private void prepareBooks() {
+		Session session = openSession();
+		try {
+			Transaction transaction = session.beginTransaction();
+			List<Author> authors = new ArrayList<>();
+			for ( long id = 0; id < AUTHORS; id++ ) {
+				Author author = new Author( id, "author" + id );
+				session.persist( author );
+				authors.add( author );
+			}
+			List<Tag> tags = new ArrayList<>();
+			for ( long id = 0; id < TAGS; id++ ) {
+				Tag tag = new Tag( id, "tag" + id );
+				session.persist( tag );
+				tags.add( tag );
+			}
+			for ( long id = 1; id <= BOOKS; id++ ) {
+				Book book = new Book( id, "title" + id, authors.get( (int) ( id % AUTHORS ) ) );
+				book.getTags().add( tags.get( (int) ( id % TAGS ) ) );
+				session.persist( book );
+			}
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * @return the ids of the works, consecutive works of the same entity being counted once
+	 */
+	private static List<Serializable> workedIds(List<LuceneWork> works) {
+		List<Serializable> ids = new ArrayList<>();
+		for ( LuceneWork work : works ) {
+			if ( Book.class.equals( work.getEntityClass() )
+					&& ( ids.isEmpty() || !ids.get( ids.size() - 1 ).equals( work.getId() ) ) ) {
+				ids.add( work.getId() );
+			}
+		}
+		return ids;
+	}
+
+	private void assertCount(String field, String value, int expectedCount) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			Transaction transaction = session.beginTransaction();
+			int count = session.createFullTextQuery( new TermQuery( new Term( field, value ) ), Book.class ).getResultSize();
+			assertEquals( field + ":" + value, expectedCount, count );
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Book.class, Author.class, Tag.class };
+	}
+
+	@Override
+	public void configure(Map<String, Object> cfg) {
+		cfg.put( "hibernate.search.default.worker.backend", LeakingLocalBackend.class.getName() );
+		cfg.put( Environment.WORKER_DOCUMENT_BUILDING_THREADS, "4" );
+		cfg.put( Environment.WORKER_DOCUMENT_BUILDING_THRESHOLD, "10" );
+	}
+
+	/**
+	 * Records the threads loading authors and tags.
+	 */
+	private static class LoadRecordingInterceptor extends EmptyInterceptor {
+
+		private final Map<Object, String> loadingThreads = new ConcurrentHashMap<>();
+
+		@Override
+		public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+			if ( !( entity instanceof Book ) ) {
+				loadingThreads.put( entity, Thread.currentThread().getName() );
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Records the threads building the documents of the books.
+	 */
+	public static class ThreadRecordingBridge implements StringBridge {
+
+		@Override
+		public String objectToString(Object object) {
+			documentBuildingThreads.add( Thread.currentThread().getName() );
+			return (String) object;
+		}
+	}
+
+	@Entity
+	@Indexed
+	public static class Book {
+
+		private Long id;
+		private String title;
+		private Author author;
+		private Set<Tag> tags = new HashSet<>();
+
+		public Book() {
+		}
+
+		public Book(Long id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		@Field(analyze = Analyze.NO, bridge = @FieldBridge(impl = ThreadRecordingBridge.class))
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		@IndexedEmbedded
+		public Author getAuthor() {
+			return author;
+		}
+
+		public void setAuthor(Author author) {
+			this.author = author;
+		}
+
+		@ManyToMany
+		@IndexedEmbedded
+		public Set<Tag> getTags() {
+			return tags;
+		}
+
+		public void setTags(Set<Tag> tags) {
+			this.tags = tags;
+		}
+	}
+
+	@Entity
+	public static class Author {
+
+		private Long id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		@Field(analyze = Analyze.NO)
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity
+	public static class Tag {
+
+		private Long id;
+		private String name;
+
+		public Tag() {
+		}
+
+		public Tag(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		@Field(analyze = Analyze.NO)
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.batchindexing;
+
+import java.util.Map;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Session;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.test.SearchTestBase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that {@link org.hibernate.search.MassIndexer#restrictTo(org.hibernate.criterion.Criterion)}
+ * only reindexes the matching entities, updating them rather than adding duplicates.
+ */
+public class MassIndexerRestrictionTest extends SearchTestBase {
+
+	@Test
+	public void testOnlyMatchingEntitiesAreReindexed() throws InterruptedException {
+		Book first = new Book();
+		first.setTitle( "ceylon" );
+		Book second = new Book();
+		second.setTitle( "hibernate" );
+		saveBooks( first, second );
+
+		FullTextSession fullTextSession = Search.getFullTextSession( openSession() );
+		try {
+			fullTextSession.createIndexer( Book.class ).startAndWait();
+			assertEquals( 2, countBooks( fullTextSession, "ceylon" ) + countBooks( fullTextSession, "hibernate" ) );
+
+			renameBooks( "search" );
+
+			fullTextSession.createIndexer( Book.class )
+					.restrictTo( Restrictions.gt( "id", first.getId() ) )
+					.startAndWait();
+
+			// purgeAllOnStart is ignored: the first book is still indexed with its former title
+			assertEquals( 1, countBooks( fullTextSession, "ceylon" ) );
+			assertEquals( 0, countBooks( fullTextSession, "hibernate" ) );
+			// the second book has been updated, not added a second time
+			assertEquals( 1, countBooks( fullTextSession, "search" ) );
+			assertEquals( second.getId(), ( (Book) fullTextSession.createFullTextQuery(
+					new TermQuery( new Term( "title", "search" ) ), Book.class ).uniqueResult() ).getId() );
+		}
+		finally {
+			fullTextSession.close();
+		}
+	}
+
+	private void saveBooks(Book... books) {
+		try ( Session session = openSession() ) {
+			session.beginTransaction();
+			Nation france = new Nation( "France", "FR" );
+			session.save( france );
+			for ( Book book : books ) {
+				book.setFirstPublishedIn( france );
+				session.save( book );
+			}
+			session.getTransaction().commit();
+		}
+	}
+
+	private void renameBooks(String title) {
+		try ( Session session = openSession() ) {
+			session.beginTransaction();
+			for ( Object book : session.createCriteria( Book.class ).list() ) {
+				( (Book) book ).setTitle( title );
+			}
+			session.getTransaction().commit();
+		}
+	}
+
+	private int countBooks(FullTextSession fullTextSession, String titleTerm) {
+		return fullTextSession.createFullTextQuery( new TermQuery( new Term( "title", titleTerm ) ), Book.class )
+				.getResultSize();
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Book.class, Nation.class };
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		// the changes applied to the database must only reach the index through the MassIndexer
+		cfg.put( Environment.INDEXING_STRATEGY, "manual" );
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.embedded.depth;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.ContainedIn;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.IndexedEmbedded;
+import org.hibernate.search.test.SearchTestBase;
+import org.junit.Test;
+
+/**
+ * Verify that moving an embedded entity to another container reindexes the new container,
+ * even when the other changed properties are not included in the container.
+ */
+public class ContainedInBackReferenceTest extends SearchTestBase {
+
+	@Test
+	public void testNewContainerReindexedWhenBackReferenceChanges() {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			Transaction transaction = session.beginTransaction();
+			Owner previousOwner = new Owner( 1L );
+			Owner newOwner = new Owner( 2L );
+			Address address = new Address( 10L, "Paris" );
+			address.owner = previousOwner;
+			previousOwner.addresses.add( address );
+			session.save( previousOwner );
+			session.save( newOwner );
+			session.save( address );
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+		assertOwnersWithCity( "Paris", 1L );
+
+		session = Search.getFullTextSession( openSession() );
+		try {
+			Transaction transaction = session.beginTransaction();
+			Address address = session.load( Address.class, 10L );
+			address.owner = session.load( Owner.class, 2L );
+			// not embedded in the owners
+			address.note = "moved";
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+		assertOwnersWithCity( "Paris", 2L );
+	}
+
+	private void assertOwnersWithCity(String city, Long expectedId) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			Transaction transaction = session.beginTransaction();
+			@SuppressWarnings("unchecked")
+			List<Owner> owners = session.createFullTextQuery( new TermQuery( new Term( "addresses.city", city ) ), Owner.class )
+					.list();
+			boolean found = false;
+			for ( Owner owner : owners ) {
+				found |= expectedId.equals( owner.id );
+			}
+			assertTrue( "Owner " + expectedId + " should embed the address", found );
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Owner.class, Address.class };
+	}
+
+	@Entity
+	@Indexed
+	public static class Owner {
+
+		@Id
+		@DocumentId
+		Long id;
+
+		@OneToMany(mappedBy = "owner")
+		@IndexedEmbedded(includePaths = { "city" })
+		Set<Address> addresses = new HashSet<Address>();
+
+		Owner() {
+		}
+
+		Owner(Long id) {
+			this.id = id;
+		}
+	}
+
+	@Entity
+	public static class Address {
+
+		@Id
+		Long id;
+
+		@Field(analyze = Analyze.NO)
+		String city;
+
+		@Field(analyze = Analyze.NO)
+		String note;
+
+		@ManyToOne
+		@ContainedIn
+		Owner owner;
+
+		Address() {
+		}
+
+		Address(Long id, String city) {
+			this.id = id;
+			this.city = city;
+		}
+	}
+
+}
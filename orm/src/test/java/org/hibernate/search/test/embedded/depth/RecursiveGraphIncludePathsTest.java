@@ -72,6 +72,35 @@ public void testCorrectDepthIndexedWithIncludePath() {
 		assertEquals( 0, countWorksDoneOnPerson( 6L ) );
 	}
 
+	@Test
+	public void testContainersNotReindexedWhenNoEmbeddedPropertyChanged() {
+		prepareSocialGraph();
+
+		LeakingLocalBackend.reset();
+		changeNickname( 5L, "Rach" ); // the nickname of Rachel is not embedded by her friends
+		assertEquals( 1, countWorksDoneOnPerson( 5L ) );
+		for ( long id = 0L; id < 7L; id++ ) {
+			if ( id != 5L ) {
+				assertEquals( 0, countWorksDoneOnPerson( id ) );
+			}
+		}
+		verifyMatchExistsWithName( "nickname", "Rach", 5L );
+		verifyNoMatchExists( "friends.nickname", "Rach" );
+	}
+
+	private void changeNickname(Long id, String newNickname) {
+		FullTextSession fullTextSession = Search.getFullTextSession( openSession() );
+		try {
+			Transaction transaction = fullTextSession.beginTransaction();
+			SocialPerson person = fullTextSession.load( SocialPerson.class, id );
+			person.setNickname( newNickname );
+			transaction.commit();
+		}
+		finally {
+			fullTextSession.close();
+		}
+	}
+
 	/**
 	 * rename a person having id to a new name
 	 */
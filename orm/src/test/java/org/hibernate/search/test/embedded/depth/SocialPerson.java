@@ -35,6 +35,8 @@ public SocialPerson(long id, String name) {
 
 	public String name;
 
+	public String nickname;
+
 	public Set<SocialPerson> friends = new HashSet<SocialPerson>();
 
 	public Set<SocialPerson> friendsReverse = new HashSet<SocialPerson>();
@@ -64,6 +66,15 @@ public void setName(String name) {
 		this.name = name;
 	}
 
+	@Field(analyze = Analyze.NO)
+	public String getNickname() {
+		return nickname;
+	}
+
+	public void setNickname(String nickname) {
+		this.nickname = nickname;
+	}
+
 	@IndexedEmbedded(includePaths = { "name" })
 	@ManyToMany
 	public Set<SocialPerson> getFriends() {
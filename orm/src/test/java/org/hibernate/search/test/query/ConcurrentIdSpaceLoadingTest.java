@@ -0,0 +1,96 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Query;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.test.SearchTestBase;
+import org.hibernate.search.testsupport.TestConstants;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies entities from several id spaces can be loaded concurrently,
+ * and end up managed by the session of the query.
+ */
+public class ConcurrentIdSpaceLoadingTest extends SearchTestBase {
+
+	@Test
+	public void testEntitiesOfAllIdSpacesAreLoadedAndManaged() throws Exception {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Author author = new Author();
+			author.setName( "Moo Cow" );
+			Music music = new Music();
+			music.addAuthor( author );
+			music.setTitle( "The moo moo mooing under the stars" );
+			Book book = new Book();
+			book.setBody( "This is the story of the Moo Cow, who sang the moo moo moo at night" );
+			book.setId( 1 );
+			session.persist( book );
+			session.persist( author );
+			session.persist( music );
+			tx.commit();
+		}
+
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			FullTextSession fullTextSession = Search.getFullTextSession( session );
+			Query luceneQuery = new QueryParser( "title", TestConstants.keywordAnalyzer )
+					.parse( "name:moo OR title:moo OR body:moo" );
+			FullTextQuery fullTextQuery = fullTextSession.createFullTextQuery(
+					luceneQuery,
+					Author.class,
+					Music.class,
+					Book.class
+			);
+			List<?> result = fullTextQuery.list();
+			assertEquals( "Should match the author, music and book", 3, result.size() );
+			for ( Object entity : result ) {
+				assertTrue( "Loaded entities should be managed by the session", session.contains( entity ) );
+			}
+			// lazy collections are reattached along with their owner
+			assertEquals( 1, music( result ).getAuthors().size() );
+			tx.commit();
+		}
+	}
+
+	private static Music music(List<?> result) {
+		for ( Object entity : result ) {
+			if ( entity instanceof Music ) {
+				return (Music) entity;
+			}
+		}
+		throw new AssertionError( "No Music in " + result );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Author.class,
+				Music.class,
+				Book.class
+		};
+	}
+
+	@Override
+	public void configure(Map<String,Object> cfg) {
+		cfg.put( Environment.OBJECT_LOADING_PARALLELISM, "3" );
+	}
+
+}
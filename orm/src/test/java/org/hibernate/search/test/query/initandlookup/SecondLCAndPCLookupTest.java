@@ -12,6 +12,7 @@
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
 import org.fest.assertions.Condition;
+import org.hibernate.CacheMode;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -98,6 +99,40 @@ public void testQueryWith2LCLookup() throws Exception {
 		session.close();
 	}
 
+	@Test
+	public void testQueryWith2LCLookupAndCacheReadsDisabled() throws Exception {
+		Session session = openSession();
+		final Statistics statistics = session.getSessionFactory().getStatistics();
+		statistics.clear();
+		statistics.setStatisticsEnabled( true );
+		setData( session, statistics );
+
+		session.clear();
+		session.setCacheMode( CacheMode.IGNORE );
+
+		Transaction transaction = session.beginTransaction();
+		final FullTextSession fullTextSession = Search.getFullTextSession( session );
+		final QueryBuilder queryBuilder = fullTextSession.getSearchFactory()
+				.buildQueryBuilder()
+				.forEntity( Kernel.class )
+				.get();
+		final Query luceneQuery = queryBuilder.keyword().onField( "product" ).matching( "Polgeiser" ).createQuery();
+		final FullTextQuery fullTextQuery = fullTextSession.createFullTextQuery( luceneQuery, Kernel.class );
+		fullTextQuery.initializeObjectsWith( ObjectLookupMethod.SECOND_LEVEL_CACHE, DatabaseRetrievalMethod.QUERY );
+		List list = fullTextQuery.list();
+		assertThat( list.size() ).isEqualTo( 2 );
+		assertThat( statistics.getSecondLevelCacheHitCount() )
+			.isEqualTo( 0 );
+		assertThat( statistics.getQueryExecutionCount() )
+				.describedAs( "entities should be loaded using a single query rather than one by one" )
+				.isEqualTo( 1 );
+
+		transaction.commit();
+		session.setCacheMode( CacheMode.NORMAL );
+		clearData( session );
+		session.close();
+	}
+
 	@Test
 	public void testQueryWithPCLookup() throws Exception {
 		Session session = openSession();
@@ -6,7 +6,6 @@
  */
 package org.hibernate.search.indexes.serialization.avro.impl;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
@@ -14,10 +13,7 @@
 import java.util.List;
 import java.util.Map;
 
-import org.apache.avro.Protocol;
-import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.util.Utf8;
 import org.hibernate.search.backend.impl.DeleteByQuerySupport;
@@ -38,29 +34,69 @@
 public class AvroDeserializer implements Deserializer {
 
 	private static final Log log = LoggerFactory.make();
+	private static final byte[] NO_BYTES = new byte[0];
+
 	private final KnownProtocols protocols;
+	private final CodecBuffers.Pool bufferPool;
 	private List<Utf8> classReferences;
 
-	public AvroDeserializer(KnownProtocols protocols) {
+	AvroDeserializer(KnownProtocols protocols, CodecBuffers.Pool bufferPool) {
 		this.protocols = protocols;
+		this.bufferPool = bufferPool;
 	}
 
 	@Override
 	public void deserialize(byte[] data, LuceneWorksBuilder hydrator) {
-		final ByteArrayInputStream inputStream = new ByteArrayInputStream( data );
-		final int majorVersion = inputStream.read();
-		final int minorVersion = inputStream.read();
-		final Protocol protocol = protocols.getProtocol( majorVersion, minorVersion );
+		deserialize( ByteBuffer.wrap( data ), hydrator );
+	}
+
+	@Override
+	public void deserialize(ByteBuffer data, LuceneWorksBuilder hydrator) {
+		byte[] payload;
+		int offset;
+		int end;
+		if ( data.hasArray() ) {
+			// decode in place, the buffer often being a view over the network buffer
+			payload = data.array();
+			offset = data.arrayOffset() + data.position();
+			end = offset + data.remaining();
+		}
+		else {
+			payload = new byte[data.remaining()];
+			data.duplicate().get( payload );
+			offset = 0;
+			end = payload.length;
+		}
+
+		final int majorVersion = payload[offset];
+		final int minorVersion = payload[offset + 1];
+		final ProtocolSchemas schemas = protocols.getProtocol( majorVersion, minorVersion );
+
+		offset += 2;
+		if ( KnownProtocols.hasCompressionHeader( majorVersion ) ) {
+			PayloadCompression compression = PayloadCompression.fromId( payload[offset] );
+			offset++;
+			if ( compression != PayloadCompression.NONE ) {
+				payload = PayloadCompression.inflate( payload, offset, end );
+				offset = 0;
+				end = payload.length;
+			}
+		}
 
-		Decoder decoder = DecoderFactory.get().binaryDecoder( inputStream, null );
-		GenericDatumReader<GenericRecord> reader = new GenericDatumReader<>( protocol.getType( "Message" ) );
 		GenericRecord result;
+		final CodecBuffers buffers = bufferPool.acquire();
 		try {
-			result = reader.read( null, decoder );
+			buffers.decoder = DecoderFactory.get().binaryDecoder( payload, offset, end - offset, buffers.decoder );
+			result = schemas.messageReader.read( null, buffers.decoder );
 		}
 		catch (IOException e) {
 			throw log.unableToDeserializeAvroStream( e );
 		}
+		finally {
+			// don't let the pooled decoder retain the message
+			buffers.decoder = DecoderFactory.get().binaryDecoder( NO_BYTES, 0, 0, buffers.decoder );
+			bufferPool.release( buffers );
+		}
 
 		classReferences = asListOfString( result, "classReferences" );
 		final List<GenericRecord> operations = asListOfGenericRecords( result, "operations" );
@@ -380,6 +416,11 @@ private byte[] asByteArray(GenericRecord operation, String field) {
 	}
 
 	private byte[] asByteArray(ByteBuffer buffer) {
+		// Avro reads the bytes in a buffer of their exact size: no need to copy them again
+		if ( buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+				&& buffer.remaining() == buffer.array().length ) {
+			return buffer.array();
+		}
 		byte[] copy = new byte[buffer.remaining()];
 		buffer.get( copy );
 		return copy;
@@ -6,10 +6,15 @@
  */
 package org.hibernate.search.indexes.serialization.avro.impl;
 
+import java.util.Properties;
+
+import org.hibernate.search.engine.service.spi.Startable;
 import org.hibernate.search.indexes.serialization.avro.logging.impl.Log;
 import org.hibernate.search.indexes.serialization.spi.Deserializer;
 import org.hibernate.search.indexes.serialization.spi.SerializationProvider;
 import org.hibernate.search.indexes.serialization.spi.Serializer;
+import org.hibernate.search.spi.BuildContext;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
@@ -34,15 +39,39 @@
  * If message's {@code major version is < current version}, then the
  * implementation is strongly encouraged to parse and process them.
  * It is mandatory if only message's {@code code minor version is < current version}.
+ * <p>
+ * When compression is enabled, messages are written with the major version
+ * {@link KnownProtocols#COMPRESSED_MAJOR_VERSION}, so that nodes not supporting
+ * compression reject them, and a third byte identifies the compression applied
+ * to the payload.
  *
  * @author Emmanuel Bernard &lt;emmanuel@hibernate.org&gt;
  * @author Hardy Ferentschik
  */
-public class AvroSerializationProvider implements SerializationProvider {
+public class AvroSerializationProvider implements SerializationProvider, Startable {
+
+	/**
+	 * The compression applied to the serialized works: {@code none} or {@code deflate}.
+	 * Nodes reading compressed messages must support compression too.
+	 * Defaults to {@code none}.
+	 */
+	public static final String COMPRESSION = "hibernate.search.serialization.avro.compression";
+
+	/**
+	 * The size in bytes under which the serialized works are not compressed,
+	 * even if compression is enabled. Defaults to {@code 1024}.
+	 */
+	public static final String COMPRESSION_THRESHOLD = "hibernate.search.serialization.avro.compression_threshold";
 
 	private static final Log log = LoggerFactory.make( Log.class );
 
+	private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+	private static final int BUFFER_POOL_SIZE = 16;
+
 	private final KnownProtocols protocols;
+	private final CodecBuffers.Pool bufferPool = new CodecBuffers.Pool( BUFFER_POOL_SIZE );
+	private PayloadCompression compression = PayloadCompression.NONE;
+	private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
 
 	public static int getMajorVersion() {
 		return KnownProtocols.MAJOR_VERSION;
@@ -57,14 +86,21 @@ public AvroSerializationProvider() {
 		this.protocols = new KnownProtocols();
 	}
 
+	@Override
+	public void start(Properties properties, BuildContext context) {
+		String compressionName = ConfigurationParseHelper.getString( properties, COMPRESSION, PayloadCompression.NONE.name() );
+		compression = PayloadCompression.fromName( compressionName );
+		compressionThreshold = ConfigurationParseHelper.getIntValue( properties, COMPRESSION_THRESHOLD, DEFAULT_COMPRESSION_THRESHOLD );
+	}
+
 	@Override
 	public Serializer getSerializer() {
-		return new AvroSerializer( protocols.getLatestProtocol() );
+		return new AvroSerializer( protocols.getLatestProtocol(), bufferPool, compression, compressionThreshold );
 	}
 
 	@Override
 	public Deserializer getDeserializer() {
-		return new AvroDeserializer( protocols );
+		return new AvroDeserializer( protocols, bufferPool );
 	}
 
 	@Override
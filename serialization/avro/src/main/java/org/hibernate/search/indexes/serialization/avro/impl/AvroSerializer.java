@@ -7,21 +7,18 @@
 package org.hibernate.search.indexes.serialization.avro.impl;
 
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.avro.Protocol;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
-import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.EncoderFactory;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttributeImpl;
@@ -53,14 +50,22 @@ public class AvroSerializer implements Serializer {
 	private GenericRecord idRecord;
 	private List<GenericRecord> fieldables;
 	private List<GenericRecord> operations;
-	private List<String> classReferences;
+	private final List<String> classReferences;
+	private final Map<String, Integer> classReferenceIndexes;
 	private GenericRecord document;
 
-	private final Protocol protocol;
+	private final ProtocolSchemas schemas;
+	private final CodecBuffers.Pool bufferPool;
+	private final PayloadCompression compression;
+	private final int compressionThreshold;
 
-	public AvroSerializer(Protocol protocol) {
-		this.protocol = protocol;
+	AvroSerializer(ProtocolSchemas schemas, CodecBuffers.Pool bufferPool, PayloadCompression compression, int compressionThreshold) {
+		this.schemas = schemas;
+		this.bufferPool = bufferPool;
+		this.compression = compression;
+		this.compressionThreshold = compressionThreshold;
 		this.classReferences = new ArrayList<>();
+		this.classReferenceIndexes = new HashMap<>();
 	}
 
 	@Override
@@ -70,18 +75,18 @@ public void luceneWorks(List<LuceneWork> works) {
 
 	@Override
 	public void addOptimizeAll() {
-		operations.add( new GenericData.Record( protocol.getType( "OptimizeAll" ) ) );
+		operations.add( new GenericData.Record( schemas.optimizeAll ) );
 	}
 
 	@Override
 	public void addFlush() {
-		operations.add( new GenericData.Record( protocol.getType( "Flush" ) ) );
+		operations.add( new GenericData.Record( schemas.flush ) );
 	}
 
 	@Override
 	public void addPurgeAll(String entityClassName) {
 		int classRef = getClassReference( entityClassName );
-		GenericRecord purgeAll = new GenericData.Record( protocol.getType( "PurgeAll" ) );
+		GenericRecord purgeAll = new GenericData.Record( schemas.purgeAll );
 		purgeAll.put( "class", classRef );
 		operations.add( purgeAll );
 	}
@@ -89,7 +94,7 @@ public void addPurgeAll(String entityClassName) {
 	@Override
 	public void addDeleteByQuery(String entityClassName, DeletionQuery deletionQuery) {
 		int classRef = getClassReference( entityClassName );
-		GenericRecord deleteByQuery = new GenericData.Record( protocol.getType( "DeleteByQuery" ) );
+		GenericRecord deleteByQuery = new GenericData.Record( schemas.deleteByQuery );
 		deleteByQuery.put( "class", classRef );
 		deleteByQuery.put( "key", deletionQuery.getQueryKey() );
 		deleteByQuery.put( "query", Arrays.asList( deletionQuery.serialize() ) );
@@ -97,54 +102,55 @@ public void addDeleteByQuery(String entityClassName, DeletionQuery deletionQuery
 	}
 
 	private int getClassReference(String entityClassName) {
-		int classRef = classReferences.indexOf( entityClassName );
-		if ( classRef == -1 ) {
+		Integer classRef = classReferenceIndexes.get( entityClassName );
+		if ( classRef == null ) {
+			classRef = classReferences.size();
 			classReferences.add( entityClassName );
-			classRef = classReferences.size() - 1;
+			classReferenceIndexes.put( entityClassName, classRef );
 		}
 		return classRef;
 	}
 
 	@Override
 	public void addIdSerializedInJava(byte[] id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", ByteBuffer.wrap( id ) );
 	}
 
 	@Override
 	public void addIdAsInteger(int id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", id );
 	}
 
 	@Override
 	public void addIdAsLong(long id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", id );
 	}
 
 	@Override
 	public void addIdAsFloat(float id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", id );
 	}
 
 	@Override
 	public void addIdAsDouble(double id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", id );
 	}
 
 	@Override
 	public void addIdAsString(String id) {
-		this.idRecord = new GenericData.Record( protocol.getType( "Id" ) );
+		this.idRecord = new GenericData.Record( schemas.id );
 		idRecord.put( "value", id );
 	}
 
 	@Override
 	public void addDelete(String entityClassName) {
 		int classRef = getClassReference( entityClassName );
-		GenericRecord delete = new GenericData.Record( protocol.getType( "Delete" ) );
+		GenericRecord delete = new GenericData.Record( schemas.delete );
 		delete.put( "class", classRef );
 		delete.put( "id", idRecord );
 		operations.add( delete );
@@ -154,7 +160,7 @@ public void addDelete(String entityClassName) {
 	@Override
 	public void addAdd(String entityClassName, Map<String, String> fieldToAnalyzerMap) {
 		int classRef = getClassReference( entityClassName );
-		GenericRecord add = new GenericData.Record( protocol.getType( "Add" ) );
+		GenericRecord add = new GenericData.Record( schemas.add );
 		add.put( "class", classRef );
 		add.put( "id", idRecord );
 		add.put( "document", document );
@@ -167,7 +173,7 @@ public void addAdd(String entityClassName, Map<String, String> fieldToAnalyzerMa
 	@Override
 	public void addUpdate(String entityClassName, Map<String, String> fieldToAnalyzerMap) {
 		int classRef = getClassReference( entityClassName );
-		GenericRecord update = new GenericData.Record( protocol.getType( "Update" ) );
+		GenericRecord update = new GenericData.Record( schemas.update );
 		update.put( "class", classRef );
 		update.put( "id", idRecord );
 		update.put( "document", document );
@@ -180,24 +186,50 @@ public void addUpdate(String entityClassName, Map<String, String> fieldToAnalyze
 
 	@Override
 	public byte[] serialize() {
-		final ByteArrayOutputStream out = new ByteArrayOutputStream();
-		out.write( KnownProtocols.MAJOR_VERSION );
-		out.write( KnownProtocols.LATEST_MINOR_VERSION );
-		Schema msgSchema = protocol.getType( "Message" );
-		GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>( msgSchema );
-		BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder( out, null );
-		GenericRecord message = new GenericData.Record( msgSchema );
-		message.put( "classReferences", classReferences );
-		message.put( "operations", operations );
-		operations = null;
+		final CodecBuffers buffers = bufferPool.acquire();
 		try {
-			writer.write( message, encoder );
-			encoder.flush();
+			final CodecBuffers.ExposedByteArrayOutputStream out = buffers.out;
+			buffers.encoder = EncoderFactory.get().directBinaryEncoder( out, buffers.encoder );
+			GenericRecord message = new GenericData.Record( schemas.message );
+			message.put( "classReferences", classReferences );
+			message.put( "operations", operations );
+			operations = null;
+			schemas.messageWriter.write( message, buffers.encoder );
+			buffers.encoder.flush();
+			return frame( out.getBuffer(), out.size() );
 		}
 		catch (IOException e) {
 			throw log.unableToSerializeInAvro( e );
 		}
-		return out.toByteArray();
+		finally {
+			bufferPool.release( buffers );
+		}
+	}
+
+	/**
+	 * Prepends the protocol version to the payload, compressing it if needed.
+	 */
+	private byte[] frame(byte[] payload, int length) {
+		if ( compression == PayloadCompression.NONE ) {
+			// keep the previous format, so that nodes not supporting compression can read it
+			byte[] result = new byte[length + 2];
+			result[0] = KnownProtocols.MAJOR_VERSION;
+			result[1] = KnownProtocols.LATEST_MINOR_VERSION;
+			System.arraycopy( payload, 0, result, 2, length );
+			return result;
+		}
+		else if ( length < compressionThreshold ) {
+			byte[] result = new byte[length + 3];
+			result[0] = KnownProtocols.COMPRESSED_MAJOR_VERSION;
+			result[1] = KnownProtocols.LATEST_MINOR_VERSION;
+			result[2] = PayloadCompression.NONE.getId();
+			System.arraycopy( payload, 0, result, 3, length );
+			return result;
+		}
+		else {
+			byte[] header = { KnownProtocols.COMPRESSED_MAJOR_VERSION, KnownProtocols.LATEST_MINOR_VERSION, compression.getId() };
+			return PayloadCompression.deflate( header, payload, length );
+		}
 	}
 
 	@Override
@@ -207,13 +239,13 @@ public void fields(List<IndexableField> fields) {
 
 	@Override
 	public void addIntNumericField(int value, LuceneNumericFieldContext context) {
-		GenericRecord numericField = createNumericField( "NumericIntField", context );
+		GenericRecord numericField = createNumericField( schemas.numericIntField, context );
 		numericField.put( "value", value );
 		fieldables.add( numericField );
 	}
 
-	private GenericRecord createNumericField(String schemaName, LuceneNumericFieldContext context) {
-		GenericRecord numericField = new GenericData.Record( protocol.getType( schemaName ) );
+	private GenericRecord createNumericField(Schema schema, LuceneNumericFieldContext context) {
+		GenericRecord numericField = new GenericData.Record( schema );
 		numericField.put( "name", context.getName() );
 		numericField.put( "precisionStep", context.getPrecisionStep() );
 		numericField.put( "store", context.getStore() );
@@ -226,28 +258,28 @@ private GenericRecord createNumericField(String schemaName, LuceneNumericFieldCo
 
 	@Override
 	public void addLongNumericField(long value, LuceneNumericFieldContext context) {
-		GenericRecord numericField = createNumericField( "NumericLongField", context );
+		GenericRecord numericField = createNumericField( schemas.numericLongField, context );
 		numericField.put( "value", value );
 		fieldables.add( numericField );
 	}
 
 	@Override
 	public void addFloatNumericField(float value, LuceneNumericFieldContext context) {
-		GenericRecord numericField = createNumericField( "NumericFloatField", context );
+		GenericRecord numericField = createNumericField( schemas.numericFloatField, context );
 		numericField.put( "value", value );
 		fieldables.add( numericField );
 	}
 
 	@Override
 	public void addDoubleNumericField(double value, LuceneNumericFieldContext context) {
-		GenericRecord numericField = createNumericField( "NumericDoubleField", context );
+		GenericRecord numericField = createNumericField( schemas.numericDoubleField, context );
 		numericField.put( "value", value );
 		fieldables.add( numericField );
 	}
 
 	@Override
 	public void addFieldWithBinaryData(LuceneFieldContext context) {
-		GenericRecord field = createNormalField( "BinaryField", context );
+		GenericRecord field = createNormalField( schemas.binaryField, context );
 		BytesRef binaryValue = context.getBinaryValue();
 		field.put( "value", ByteBuffer.wrap( binaryValue.bytes, binaryValue.offset, binaryValue.length ) );
 		//Following two attributes are meant for serialization format backwards compatibility:
@@ -256,8 +288,8 @@ public void addFieldWithBinaryData(LuceneFieldContext context) {
 		fieldables.add( field );
 	}
 
-	private GenericRecord createNormalField(String schemaName, LuceneFieldContext context) {
-		GenericRecord field = new GenericData.Record( protocol.getType( schemaName ) );
+	private GenericRecord createNormalField(Schema schema, LuceneFieldContext context) {
+		GenericRecord field = new GenericData.Record( schema );
 		field.put( "name", context.getName() );
 		field.put( "boost", context.getBoost() );
 		field.put( "omitNorms", context.isOmitNorms() );
@@ -267,7 +299,7 @@ private GenericRecord createNormalField(String schemaName, LuceneFieldContext co
 
 	@Override
 	public void addFieldWithStringData(LuceneFieldContext context) {
-		GenericRecord field = createNormalField( "StringField", context );
+		GenericRecord field = createNormalField( schemas.stringField, context );
 		field.put( "value", context.getStringValue() );
 		field.put( "store", context.getStore() );
 		field.put( "index", context.getIndex() );
@@ -277,7 +309,7 @@ public void addFieldWithStringData(LuceneFieldContext context) {
 
 	@Override
 	public void addFieldWithTokenStreamData(LuceneFieldContext context) {
-		GenericRecord field = createNormalField( "TokenStreamField", context );
+		GenericRecord field = createNormalField( schemas.tokenStreamField, context );
 		List<List<AttributeImpl>> stream = context.getTokenStream().getStream();
 		List<List<Object>> value = new ArrayList<>( stream.size() );
 		for ( List<AttributeImpl> attrs : stream ) {
@@ -294,44 +326,44 @@ public void addFieldWithTokenStreamData(LuceneFieldContext context) {
 
 	private Object buildAttributeImpl(final AttributeImpl attr) {
 		if ( attr instanceof CharTermAttributeImpl ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "CharTermAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.charTermAttribute );
 			CharTermAttribute charAttr = (CharTermAttribute) attr;
 			record.put( "sequence", charAttr.toString() );
 			return record;
 		}
 		else if ( attr instanceof PayloadAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "PayloadAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.payloadAttribute );
 			PayloadAttribute payloadAttr = (PayloadAttribute) attr;
 			BytesRef payload = payloadAttr.getPayload();
 			record.put( "payload", ByteBuffer.wrap( payload.bytes, payload.offset, payload.length ) );
 			return record;
 		}
 		else if ( attr instanceof KeywordAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "KeywordAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.keywordAttribute );
 			KeywordAttribute narrowedAttr = (KeywordAttribute) attr;
 			record.put( "isKeyword", narrowedAttr.isKeyword() );
 			return record;
 		}
 		else if ( attr instanceof PositionIncrementAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "PositionIncrementAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.positionIncrementAttribute );
 			PositionIncrementAttribute narrowedAttr = (PositionIncrementAttribute) attr;
 			record.put( "positionIncrement", narrowedAttr.getPositionIncrement() );
 			return record;
 		}
 		else if ( attr instanceof FlagsAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "FlagsAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.flagsAttribute );
 			FlagsAttribute narrowedAttr = (FlagsAttribute) attr;
 			record.put( "flags", narrowedAttr.getFlags() );
 			return record;
 		}
 		else if ( attr instanceof TypeAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "TypeAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.typeAttribute );
 			TypeAttribute narrowedAttr = (TypeAttribute) attr;
 			record.put( "type", narrowedAttr.type() );
 			return record;
 		}
 		else if ( attr instanceof OffsetAttribute ) {
-			GenericRecord record = new GenericData.Record( protocol.getType( "OffsetAttribute" ) );
+			GenericRecord record = new GenericData.Record( schemas.offsetAttribute );
 			OffsetAttribute narrowedAttr = (OffsetAttribute) attr;
 			record.put( "startOffset", narrowedAttr.startOffset() );
 			record.put( "endOffset", narrowedAttr.endOffset() );
@@ -347,7 +379,7 @@ else if ( attr instanceof Serializable ) {
 
 	@Override
 	public void addFieldWithSerializableReaderData(LuceneFieldContext context) {
-		GenericRecord field = createNormalField( "ReaderField", context );
+		GenericRecord field = createNormalField( schemas.readerField, context );
 		field.put( "value", ByteBuffer.wrap( context.getReaderValue() ) );
 		field.put( "termVector", context.getTermVector() );
 		fieldables.add( field );
@@ -355,14 +387,14 @@ public void addFieldWithSerializableReaderData(LuceneFieldContext context) {
 
 	@Override
 	public void addFieldWithSerializableFieldable(byte[] fieldable) {
-		GenericRecord customFieldable = new GenericData.Record( protocol.getType( "CustomFieldable" ) );
+		GenericRecord customFieldable = new GenericData.Record( schemas.customFieldable );
 		customFieldable.put( "instance", ByteBuffer.wrap( fieldable ) );
 		fieldables.add( customFieldable );
 	}
 
 	@Override
 	public void addDocValuesFieldWithBinaryValue(LuceneFieldContext context) {
-		GenericRecord record = new GenericData.Record( protocol.getType( "BinaryDocValuesField" ) );
+		GenericRecord record = new GenericData.Record( schemas.binaryDocValuesField );
 		record.put( "name", context.getName() );
 		record.put( "type", context.getDocValuesType() );
 
@@ -375,7 +407,7 @@ public void addDocValuesFieldWithBinaryValue(LuceneFieldContext context) {
 
 	@Override
 	public void addDocValuesFieldWithNumericValue(long value, LuceneFieldContext context) {
-		GenericRecord record = new GenericData.Record( protocol.getType( "NumericDocValuesField" ) );
+		GenericRecord record = new GenericData.Record( schemas.numericDocValuesField );
 		record.put( "name", context.getName() );
 		record.put( "type", context.getDocValuesType() );
 		record.put( "value", value );
@@ -384,7 +416,7 @@ public void addDocValuesFieldWithNumericValue(long value, LuceneFieldContext con
 
 	@Override
 	public void addDocument() {
-		document = new GenericData.Record( protocol.getType( "Document" ) );
+		document = new GenericData.Record( schemas.document );
 		//backwards compatibility: we used to have a boost here in Lucene 3 / Hibernate Search 4.x
 		//With Lucene 3 there was a notion of "Document level boost" which was then dropped.
 		//Using the constant 1f doesn't hurt as it would be multiplied by the field boost,
@@ -0,0 +1,71 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.serialization.avro.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+
+/**
+ * The buffer, encoder and decoder used to (de)serialize a message, which can be reused
+ * across messages to avoid reallocating them each time.
+ * <p>
+ * Instances are NOT threadsafe: they are borrowed from a {@link Pool} for the time
+ * of a single (de)serialization.
+ */
+final class CodecBuffers {
+
+	/**
+	 * Buffers grown beyond this size are not kept for reuse, so that a single
+	 * large message doesn't retain memory forever.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+	final ExposedByteArrayOutputStream out = new ExposedByteArrayOutputStream();
+	BinaryEncoder encoder;
+	BinaryDecoder decoder;
+
+	static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+		ExposedByteArrayOutputStream() {
+			super( 1024 );
+		}
+
+		byte[] getBuffer() {
+			return buf;
+		}
+
+		int capacity() {
+			return buf.length;
+		}
+	}
+
+	static final class Pool {
+
+		private final ArrayBlockingQueue<CodecBuffers> available;
+
+		Pool(int size) {
+			this.available = new ArrayBlockingQueue<>( size );
+		}
+
+		CodecBuffers acquire() {
+			CodecBuffers buffers = available.poll();
+			return buffers == null ? new CodecBuffers() : buffers;
+		}
+
+		void release(CodecBuffers buffers) {
+			if ( buffers.out.capacity() <= MAX_RETAINED_BUFFER_SIZE ) {
+				buffers.out.reset();
+				// dropped if the pool is full
+				available.offer( buffers );
+			}
+		}
+	}
+
+}
@@ -6,7 +6,6 @@
  */
 package org.hibernate.search.indexes.serialization.avro.impl;
 
-import org.apache.avro.Protocol;
 import org.hibernate.search.indexes.serialization.avro.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -30,14 +29,24 @@ public final class KnownProtocols {
 	public static final int MAJOR_VERSION = 1;
 	public static final int LATEST_MINOR_VERSION = 2;
 
+	/**
+	 * Compressed messages are marked with this major version, followed by the minor version
+	 * of the protocol of their payload, then by a byte identifying the {@link PayloadCompression}
+	 * applied to the Avro payload. Nodes of previous versions reject such messages as using
+	 * an incompatible protocol, rather than parsing the compressed bytes.
+	 * Only used when compression is enabled, so that nodes of previous versions can still
+	 * read the messages otherwise.
+	 */
+	public static final int COMPRESSED_MAJOR_VERSION = 2;
+
 	private static final Log log = LoggerFactory.make( Log.class );
-	private volatile Protocol v1_0 = null;
-	private volatile Protocol v1_1 = null;
-	private volatile Protocol v1_2 = null;
+	private volatile ProtocolSchemas v1_0 = null;
+	private volatile ProtocolSchemas v1_1 = null;
+	private volatile ProtocolSchemas v1_2 = null;
 	private volatile boolean warned = false;
 
-	Protocol getProtocol(int majorVersion, int minorVersion) {
-		if ( MAJOR_VERSION != majorVersion ) {
+	ProtocolSchemas getProtocol(int majorVersion, int minorVersion) {
+		if ( MAJOR_VERSION != majorVersion && COMPRESSED_MAJOR_VERSION != majorVersion ) {
 			throw log.incompatibleProtocolVersion(
 					majorVersion,
 					minorVersion,
@@ -63,49 +72,57 @@ else if ( minorVersion == 0 ) {
 		}
 	}
 
-	public Protocol getLatestProtocol() {
+	/**
+	 * @return {@code true} if the version of messages of the given major version is followed
+	 * by a byte identifying the {@link PayloadCompression}
+	 */
+	static boolean hasCompressionHeader(int majorVersion) {
+		return majorVersion == COMPRESSED_MAJOR_VERSION;
+	}
+
+	ProtocolSchemas getLatestProtocol() {
 		return getProtocol( MAJOR_VERSION, LATEST_MINOR_VERSION );
 	}
 
-	private Protocol getV1_0() {
-		Protocol p = v1_0;
+	private ProtocolSchemas getV1_0() {
+		ProtocolSchemas p = v1_0;
 		if ( p == null ) {
 			synchronized (this) {
 				p = v1_0;
 				if ( p != null ) {
 					return p;
 				}
-				p = new ProtocolBuilderV1_0().build();
+				p = new ProtocolSchemas( new ProtocolBuilderV1_0().build() );
 				v1_0 = p;
 			}
 		}
 		return p;
 	}
 
-	private Protocol getV1_1() {
-		Protocol p = v1_1;
+	private ProtocolSchemas getV1_1() {
+		ProtocolSchemas p = v1_1;
 		if ( p == null ) {
 			synchronized (this) {
 				p = v1_1;
 				if ( p != null ) {
 					return p;
 				}
-				p = new ProtocolBuilderV1_1().build();
+				p = new ProtocolSchemas( new ProtocolBuilderV1_1().build() );
 				v1_1 = p;
 			}
 		}
 		return p;
 	}
 
-	private Protocol getV1_2() {
-		Protocol p = v1_2;
+	private ProtocolSchemas getV1_2() {
+		ProtocolSchemas p = v1_2;
 		if ( p == null ) {
 			synchronized (this) {
 				p = v1_2;
 				if ( p != null ) {
 					return p;
 				}
-				p = new ProtocolBuilderV1_2().build();
+				p = new ProtocolSchemas( new ProtocolBuilderV1_2().build() );
 				v1_2 = p;
 			}
 		}
@@ -0,0 +1,130 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.serialization.avro.impl;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.hibernate.search.indexes.serialization.avro.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * The compression applied to the Avro payload of a message, identified by the byte
+ * following the protocol version in messages of major version {@link KnownProtocols#COMPRESSED_MAJOR_VERSION}.
+ * <p>
+ * Compressed payloads are preceded by their uncompressed length, as a big endian int.
+ */
+enum PayloadCompression {
+
+	NONE( (byte) 0 ),
+	DEFLATE( (byte) 1 );
+
+	private static final Log log = LoggerFactory.make( Log.class );
+
+	private final byte id;
+
+	PayloadCompression(byte id) {
+		this.id = id;
+	}
+
+	byte getId() {
+		return id;
+	}
+
+	static PayloadCompression fromId(byte id) {
+		for ( PayloadCompression compression : values() ) {
+			if ( compression.id == id ) {
+				return compression;
+			}
+		}
+		throw log.unknownPayloadCompression( id );
+	}
+
+	/**
+	 * @param name the configured name of the compression, case insensitive
+	 * @return the matching compression
+	 */
+	static PayloadCompression fromName(String name) {
+		try {
+			return valueOf( name.trim().toUpperCase( Locale.ROOT ) );
+		}
+		catch (IllegalArgumentException e) {
+			throw log.unknownPayloadCompressionName( name );
+		}
+	}
+
+	/**
+	 * Appends the compressed form of the given bytes to the header.
+	 *
+	 * @param header the bytes to write before the compressed payload
+	 * @param data the buffer holding the payload
+	 * @param length the length of the payload
+	 * @return a new array holding the header, the uncompressed length and the compressed payload
+	 */
+	static byte[] deflate(byte[] header, byte[] data, int length) {
+		Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+		try {
+			deflater.setInput( data, 0, length );
+			deflater.finish();
+			// incompressible data grows slightly: this bound comes from the zlib documentation
+			byte[] result = new byte[header.length + 4 + length + ( length >> 12 ) + ( length >> 14 ) + ( length >> 25 ) + 13];
+			System.arraycopy( header, 0, result, 0, header.length );
+			int position = header.length;
+			result[position++] = (byte) ( length >>> 24 );
+			result[position++] = (byte) ( length >>> 16 );
+			result[position++] = (byte) ( length >>> 8 );
+			result[position++] = (byte) length;
+			while ( !deflater.finished() ) {
+				if ( position == result.length ) {
+					result = Arrays.copyOf( result, result.length * 2 );
+				}
+				position += deflater.deflate( result, position, result.length - position );
+			}
+			return Arrays.copyOf( result, position );
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * @param data the buffer holding the message
+	 * @param offset the position of the uncompressed length in the buffer
+	 * @param end the position following the last byte of the message in the buffer
+	 * @return the uncompressed payload
+	 */
+	static byte[] inflate(byte[] data, int offset, int end) {
+		int length = ( ( data[offset] & 0xFF ) << 24 )
+				| ( ( data[offset + 1] & 0xFF ) << 16 )
+				| ( ( data[offset + 2] & 0xFF ) << 8 )
+				| ( data[offset + 3] & 0xFF );
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput( data, offset + 4, end - offset - 4 );
+			byte[] result = new byte[length];
+			int position = 0;
+			while ( position < length ) {
+				int inflated = inflater.inflate( result, position, length - position );
+				if ( inflated == 0 && ( inflater.finished() || inflater.needsInput() ) ) {
+					throw log.unableToDecompressPayload( null );
+				}
+				position += inflated;
+			}
+			return result;
+		}
+		catch (DataFormatException e) {
+			throw log.unableToDecompressPayload( e );
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.indexes.serialization.avro.impl;
+
+import org.apache.avro.Protocol;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+/**
+ * The schemas of a protocol revision, resolved once rather than looked up by name
+ * for each serialized element, along with the reader and writer of the messages,
+ * which are safe to share across threads.
+ * <p>
+ * Schemas which don't exist in the revision are {@code null}.
+ */
+final class ProtocolSchemas {
+
+	final Schema message;
+	final Schema optimizeAll;
+	final Schema flush;
+	final Schema purgeAll;
+	final Schema deleteByQuery;
+	final Schema delete;
+	final Schema add;
+	final Schema update;
+	final Schema id;
+	final Schema document;
+	final Schema numericIntField;
+	final Schema numericLongField;
+	final Schema numericFloatField;
+	final Schema numericDoubleField;
+	final Schema binaryField;
+	final Schema stringField;
+	final Schema tokenStreamField;
+	final Schema readerField;
+	final Schema customFieldable;
+	final Schema binaryDocValuesField;
+	final Schema numericDocValuesField;
+	final Schema charTermAttribute;
+	final Schema payloadAttribute;
+	final Schema keywordAttribute;
+	final Schema positionIncrementAttribute;
+	final Schema flagsAttribute;
+	final Schema typeAttribute;
+	final Schema offsetAttribute;
+
+	final GenericDatumWriter<GenericRecord> messageWriter;
+	final GenericDatumReader<GenericRecord> messageReader;
+
+	ProtocolSchemas(Protocol protocol) {
+		this.message = protocol.getType( "Message" );
+		this.optimizeAll = protocol.getType( "OptimizeAll" );
+		this.flush = protocol.getType( "Flush" );
+		this.purgeAll = protocol.getType( "PurgeAll" );
+		this.deleteByQuery = protocol.getType( "DeleteByQuery" );
+		this.delete = protocol.getType( "Delete" );
+		this.add = protocol.getType( "Add" );
+		this.update = protocol.getType( "Update" );
+		this.id = protocol.getType( "Id" );
+		this.document = protocol.getType( "Document" );
+		this.numericIntField = protocol.getType( "NumericIntField" );
+		this.numericLongField = protocol.getType( "NumericLongField" );
+		this.numericFloatField = protocol.getType( "NumericFloatField" );
+		this.numericDoubleField = protocol.getType( "NumericDoubleField" );
+		this.binaryField = protocol.getType( "BinaryField" );
+		this.stringField = protocol.getType( "StringField" );
+		this.tokenStreamField = protocol.getType( "TokenStreamField" );
+		this.readerField = protocol.getType( "ReaderField" );
+		this.customFieldable = protocol.getType( "CustomFieldable" );
+		this.binaryDocValuesField = protocol.getType( "BinaryDocValuesField" );
+		this.numericDocValuesField = protocol.getType( "NumericDocValuesField" );
+		this.charTermAttribute = protocol.getType( "CharTermAttribute" );
+		this.payloadAttribute = protocol.getType( "PayloadAttribute" );
+		this.keywordAttribute = protocol.getType( "KeywordAttribute" );
+		this.positionIncrementAttribute = protocol.getType( "PositionIncrementAttribute" );
+		this.flagsAttribute = protocol.getType( "FlagsAttribute" );
+		this.typeAttribute = protocol.getType( "TypeAttribute" );
+		this.offsetAttribute = protocol.getType( "OffsetAttribute" );
+		this.messageWriter = new GenericDatumWriter<>( message );
+		this.messageReader = new GenericDatumReader<>( message );
+	}
+
+}
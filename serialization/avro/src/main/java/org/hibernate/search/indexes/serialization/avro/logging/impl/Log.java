@@ -9,6 +9,7 @@
 import static org.jboss.logging.Logger.Level.WARN;
 
 import org.hibernate.search.exception.SearchException;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -29,4 +30,13 @@ public interface Log extends org.hibernate.search.util.logging.impl.Log {
 			+ " Some feature might not be propagated. Message version: %1$d.%2$d. Current protocol version: %1$d.%3$d")
 	void unexpectedMinorProtocolVersion(int majorVersion, int minorVersion, int latestKnownMinor);
 
+	@Message(id = AVRO_SERIALIZATION_MESSAGES_START_ID + 3, value = "Unknown compression '%1$d' for a serialized message: was it produced by a more recent version?")
+	SearchException unknownPayloadCompression(byte compressionId);
+
+	@Message(id = AVRO_SERIALIZATION_MESSAGES_START_ID + 4, value = "Unknown compression '%1$s': valid values are 'none' and 'deflate'")
+	SearchException unknownPayloadCompressionName(String name);
+
+	@Message(id = AVRO_SERIALIZATION_MESSAGES_START_ID + 5, value = "Unable to decompress a serialized message")
+	SearchException unableToDecompressPayload(@Cause Exception cause);
+
 }
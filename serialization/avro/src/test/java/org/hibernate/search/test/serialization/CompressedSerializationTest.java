@@ -0,0 +1,135 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.serialization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.service.impl.StandardServiceManager;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.indexes.serialization.avro.impl.AvroSerializationProvider;
+import org.hibernate.search.indexes.serialization.avro.impl.KnownProtocols;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.BuildContextForTest;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests the compression of the serialized works.
+ */
+public class CompressedSerializationTest {
+
+	@Rule
+	public SearchFactoryHolder searchFactoryHolder = new SearchFactoryHolder( RemoteEntity.class );
+
+	@Test
+	public void testLargeMessagesAreCompressed() throws Exception {
+		LuceneWorkSerializer plainSerializer = createSerializer( "none" );
+		LuceneWorkSerializer compressingSerializer = createSerializer( "deflate" );
+		List<LuceneWork> works = createWorks( 50 );
+
+		byte[] plain = plainSerializer.toSerializedModel( works );
+		byte[] compressed = compressingSerializer.toSerializedModel( works );
+
+		assertThat( plain[0] ).isEqualTo( (byte) KnownProtocols.MAJOR_VERSION );
+		assertThat( plain[1] ).isEqualTo( (byte) KnownProtocols.LATEST_MINOR_VERSION );
+		assertThat( compressed[0] ).isEqualTo( (byte) KnownProtocols.COMPRESSED_MAJOR_VERSION );
+		assertThat( compressed[1] ).isEqualTo( (byte) KnownProtocols.LATEST_MINOR_VERSION );
+		assertThat( compressed.length ).isLessThan( plain.length );
+
+		assertRoundTrip( compressingSerializer.toLuceneWorks( compressed ), 50 );
+		// nodes with compression enabled still read uncompressed messages, and conversely
+		assertRoundTrip( compressingSerializer.toLuceneWorks( plain ), 50 );
+		assertRoundTrip( plainSerializer.toLuceneWorks( compressed ), 50 );
+	}
+
+	@Test
+	public void testSmallMessagesAreNotCompressed() throws Exception {
+		LuceneWorkSerializer compressingSerializer = createSerializer( "deflate" );
+		List<LuceneWork> works = createWorks( 1 );
+
+		byte[] serialized = compressingSerializer.toSerializedModel( works );
+
+		assertThat( serialized[0] ).isEqualTo( (byte) KnownProtocols.COMPRESSED_MAJOR_VERSION );
+		assertThat( serialized[2] ).isEqualTo( (byte) 0 );
+		assertRoundTrip( compressingSerializer.toLuceneWorks( serialized ), 1 );
+	}
+
+	@Test
+	public void testFutureMinorVersionsAreParsedWithTheLatestProtocol() throws Exception {
+		for ( String compression : new String[] { "none", "deflate" } ) {
+			LuceneWorkSerializer serializer = createSerializer( compression );
+			byte[] serialized = serializer.toSerializedModel( createWorks( 50 ) );
+			serialized[1] = (byte) ( KnownProtocols.LATEST_MINOR_VERSION + 1 );
+			assertRoundTrip( serializer.toLuceneWorks( serialized ), 50 );
+		}
+	}
+
+	@Test
+	public void testUnknownMajorVersionsAreRejected() throws Exception {
+		LuceneWorkSerializer serializer = createSerializer( "none" );
+		byte[] serialized = serializer.toSerializedModel( createWorks( 1 ) );
+		serialized[0] = (byte) ( KnownProtocols.COMPRESSED_MAJOR_VERSION + 1 );
+		try {
+			serializer.toLuceneWorks( serialized );
+			Assert.fail( "A message of an unknown major protocol version should have been rejected" );
+		}
+		catch (SearchException e) {
+			assertThat( e.getMessage() ).contains( ( KnownProtocols.COMPRESSED_MAJOR_VERSION + 1 ) + "." );
+		}
+	}
+
+	private void assertRoundTrip(List<LuceneWork> copyOfWorks, int expectedSize) {
+		assertThat( copyOfWorks ).hasSize( expectedSize );
+		for ( int i = 0; i < expectedSize; i++ ) {
+			LuceneWork work = copyOfWorks.get( i );
+			assertThat( work.getIdInString() ).isEqualTo( String.valueOf( i ) );
+			assertThat( work.getDocument().get( "description" ) ).isEqualTo( description( i ) );
+		}
+	}
+
+	private List<LuceneWork> createWorks(int count) {
+		List<LuceneWork> works = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ ) {
+			Document document = new Document();
+			document.add( new Field( "description", description( i ), Field.Store.YES, Field.Index.NOT_ANALYZED ) );
+			works.add( new AddLuceneWork( i, String.valueOf( i ), RemoteEntity.class, document ) );
+		}
+		return Collections.unmodifiableList( works );
+	}
+
+	private static String description(int i) {
+		return "A rather repetitive description of the entity number " + i;
+	}
+
+	private LuceneWorkSerializer createSerializer(String compression) {
+		SearchConfigurationForTest searchConfiguration = new SearchConfigurationForTest()
+				.addProperty( AvroSerializationProvider.COMPRESSION, compression )
+				.addProperty( AvroSerializationProvider.COMPRESSION_THRESHOLD, "512" );
+		return new StandardServiceManager(
+				searchConfiguration,
+				new BuildContextForTest( searchConfiguration ) {
+
+					@Override
+					public ExtendedSearchIntegrator getUninitializedSearchIntegrator() {
+						return searchFactoryHolder.getSearchFactory();
+					};
+				}
+		).requestService( LuceneWorkSerializer.class );
+	}
+}
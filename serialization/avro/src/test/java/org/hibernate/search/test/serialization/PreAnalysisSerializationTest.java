@@ -0,0 +1,95 @@
+/*
+ * Hibernate Search, full-text search for your domain model
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.search.test.serialization;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.cfg.Environment;
+import org.hibernate.search.engine.integration.impl.ExtendedSearchIntegrator;
+import org.hibernate.search.engine.service.impl.StandardServiceManager;
+import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
+import org.hibernate.search.testsupport.junit.SearchFactoryHolder;
+import org.hibernate.search.testsupport.setup.BuildContextForTest;
+import org.hibernate.search.testsupport.setup.SearchConfigurationForTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests that analyzed fields are sent as tokens when pre-analysis is enabled,
+ * and that these tokens can be indexed without running the analyzer again.
+ */
+public class PreAnalysisSerializationTest {
+
+	@Rule
+	public SearchFactoryHolder searchFactoryHolder = new SearchFactoryHolder( RemoteEntity.class );
+
+	private LuceneWorkSerializer workSerializer;
+
+	@Before
+	public void setUp() {
+		SearchConfigurationForTest searchConfiguration = new SearchConfigurationForTest()
+				.addProperty( Environment.SERIALIZATION_PRE_ANALYSIS, "true" );
+		workSerializer = new StandardServiceManager(
+				searchConfiguration,
+				new BuildContextForTest( searchConfiguration ) {
+
+					@Override
+					public ExtendedSearchIntegrator getUninitializedSearchIntegrator() {
+						return searchFactoryHolder.getSearchFactory();
+					};
+				}
+		).requestService( LuceneWorkSerializer.class );
+	}
+
+	@Test
+	public void testAnalyzedFieldsAreSentAsTokens() throws Exception {
+		Document document = new Document();
+		document.add( new Field( "name", "The Quick Brown Foxes", Field.Store.YES, Field.Index.ANALYZED ) );
+		List<LuceneWork> works = Collections.<LuceneWork>singletonList( new AddLuceneWork( 1, "1", RemoteEntity.class, document ) );
+
+		List<LuceneWork> copyOfWorks = workSerializer.toLuceneWorks( workSerializer.toSerializedModel( works ) );
+
+		assertThat( copyOfWorks ).hasSize( 1 );
+		Document copy = copyOfWorks.get( 0 ).getDocument();
+		IndexableField[] fields = copy.getFields( "name" );
+		assertThat( fields ).hasSize( 2 );
+		assertThat( copy.get( "name" ) ).isEqualTo( "The Quick Brown Foxes" );
+		assertThat( fields[1].tokenStreamValue() ).isNotNull();
+
+		// the analyzer used for indexing must not matter anymore
+		Directory directory = new RAMDirectory();
+		try ( IndexWriter writer = new IndexWriter( directory, new IndexWriterConfig( new KeywordAnalyzer() ) ) ) {
+			writer.addDocument( copy );
+		}
+		try ( DirectoryReader reader = DirectoryReader.open( directory ) ) {
+			IndexSearcher searcher = new IndexSearcher( reader );
+			assertThat( searcher.count( new TermQuery( new Term( "name", "foxes" ) ) ) ).isEqualTo( 1 );
+			assertThat( searcher.count( new PhraseQuery( "name", "quick", "brown" ) ) ).isEqualTo( 1 );
+			assertThat( searcher.count( new PhraseQuery( "name", "brown", "quick" ) ) ).isEqualTo( 0 );
+			assertThat( searcher.doc( 0 ).get( "name" ) ).isEqualTo( "The Quick Brown Foxes" );
+		}
+	}
+}